@@ -0,0 +1,74 @@
+package com.sharestory.sharestory_backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 토큰 검증 비용: 매번 서명 검증 + 파싱(parse) vs 검증 결과 캐시(cached)
+ * - tokens = 동시에 쓰이는 서로 다른 access token 수 (캐시 크기 50000 초과 시 miss 포함)
+ *
+ * ./gradlew jmh -Pjmh.includes=VerifiedTokenCacheBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class VerifiedTokenCacheBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int tokens;
+
+    private JwtParser parser;
+    private VerifiedTokenCache cache;
+    private String[] accessTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor("benchmark-secret-benchmark-secret-0123456789".getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        cache = new VerifiedTokenCache(new SimpleMeterRegistry(), 50_000, 300);
+
+        Instant now = Instant.now();
+        accessTokens = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            accessTokens[i] = Jwts.builder()
+                    .setSubject(String.valueOf(i + 1))
+                    .claim(JwtService.CLAIM_ROLE, "USER")
+                    .claim(JwtService.CLAIM_NICKNAME, "user" + i)
+                    .claim(JwtService.CLAIM_VERSION, 0)
+                    .setIssuedAt(Date.from(now))
+                    .setExpiration(Date.from(now.plusSeconds(3600)))
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+        }
+    }
+
+    private String next() {
+        return accessTokens[ThreadLocalRandom.current().nextInt(tokens)];
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return parser.parseClaimsJws(next()).getBody();
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return cache.get(next(), t -> parser.parseClaimsJws(t).getBody());
+    }
+}
@@ -0,0 +1,101 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회수 중복 제거 백엔드별 처리량 + Redis 메모리 (localhost:6379 Redis 필요)
+ * - 상품 targets 개, 상품당 조회자 viewers 명 중에서 무작위 조회 (재조회 포함)
+ * - 종료 시 이번 실행이 만든 키의 MEMORY USAGE 합 → 조회 100만 건당 바이트로 출력
+ * - redis-bloom 은 창 단위 공유 비트맵(uv:bloom:*)이라 다른 실행/서비스 키와 섞이지 않는 로컬 Redis 에서 측정
+ *
+ * ./gradlew jmh -Pjmh.includes=UniqueViewTrackerBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(8)
+public class UniqueViewTrackerBenchmark {
+
+    @Param({"redis-hll", "redis-bloom", "local-bloom", "key"})
+    public String backend;
+
+    @Param({"1000"})
+    public int targets;
+
+    @Param({"1000"})
+    public int viewers;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate redis;
+    private UniqueViewTracker tracker;
+    private String scope;
+    private final AtomicLong views = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = new LettuceConnectionFactory("localhost", 6379);
+        factory.afterPropertiesSet();
+        redis = new StringRedisTemplate(factory);
+        redis.afterPropertiesSet();
+
+        // 측정 중 창이 바뀌지 않도록 긴 창 사용
+        long windowSeconds = 3600;
+        tracker = switch (backend) {
+            case "redis-hll" -> new RedisHllViewTracker(redis, windowSeconds);
+            case "redis-bloom" -> new RedisBloomViewTracker(redis, windowSeconds, 10_000_000, 0.01);
+            case "local-bloom" -> new LocalBloomViewTracker(windowSeconds, 10_000_000, 0.01);
+            case "key" -> new KeyPerViewTracker(redis, windowSeconds);
+            default -> throw new IllegalArgumentException("알 수 없는 backend: " + backend);
+        };
+        scope = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        views.set(0);
+    }
+
+    @Benchmark
+    public void firstView(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long targetId = random.nextInt(targets);
+        String viewer = "user:" + random.nextInt(viewers);
+        bh.consume(tracker.firstView(scope, targetId, viewer));
+        views.incrementAndGet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        String pattern = "redis-bloom".equals(backend) ? "uv:bloom:*" : "*" + scope + "*";
+        long[] usage = redis.execute((RedisCallback<long[]>) connection -> {
+            long bytes = 0;
+            long keys = 0;
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+                while (cursor.hasNext()) {
+                    byte[] key = cursor.next();
+                    Object used = connection.execute("MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key);
+                    if (used instanceof Number n) bytes += n.longValue();
+                    connection.keyCommands().del(key);
+                    keys++;
+                }
+            }
+            return new long[]{keys, bytes};
+        });
+
+        long total = Math.max(1, views.get());
+        System.out.printf("%n[BENCH] backend=%s views=%d keys=%d redisBytes=%d (%.0f bytes / 1M views)%n",
+                backend, total, usage[0], usage[1], usage[1] * 1_000_000.0 / total);
+        factory.destroy();
+    }
+}
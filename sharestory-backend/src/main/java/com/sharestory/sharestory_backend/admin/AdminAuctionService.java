@@ -3,6 +3,8 @@ package com.sharestory.sharestory_backend.admin;
 import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
 import com.sharestory.sharestory_backend.repo.AuctionImageRepository;
 import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import com.sharestory.sharestory_backend.service.AuctionBidEngine;
+import com.sharestory.sharestory_backend.service.AuctionDeadlineScheduler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,9 +16,15 @@ public class AdminAuctionService {
     private final AuctionItemRepository auctionItemRepository;
     private final AuctionBidRepository auctionBidRepository;
     private final AuctionImageRepository auctionImageRepository;
+    private final AuctionBidEngine bidEngine;
+    private final AuctionDeadlineScheduler deadlineScheduler;
 
     @Transactional
     public void deleteAuctionCompletely(Long auctionId) {
+        // ✅ 입찰 엔진 대기분 반영 + 신규 입찰 차단
+        bidEngine.fence(auctionId);
+        deadlineScheduler.cancel(auctionId);
+
         // ✅ 존재 여부 확인
         var item = auctionItemRepository.findById(auctionId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 경매 상품을 찾을 수 없습니다."));
@@ -1,9 +1,12 @@
 package com.sharestory.sharestory_backend.admin;
 
+import com.sharestory.sharestory_backend.service.ItemSyncService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +18,7 @@ import java.util.Map;
 public class AdminItemController {
 
     private final AdminItemService adminItemService;
+    private final ItemSyncService itemSyncService;
 
     @DeleteMapping("/{itemId}/force-delete")
     public ResponseEntity<?> forceDeleteItem(@PathVariable Long itemId) {
@@ -25,5 +29,15 @@ public class AdminItemController {
             return ResponseEntity.internalServerError().body(Map.of("success", false, "message", e.getMessage()));
         }
     }
-}
 
+    // 검색 인덱스 무중단 재구축 (items_vN 적재 후 alias 교체)
+    @PostMapping("/reindex")
+    public ResponseEntity<?> reindex() {
+        if (itemSyncService.isRunning()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("success", false, "message", "이미 재색인이 진행 중입니다."));
+        }
+        itemSyncService.rebuildAsync();
+        return ResponseEntity.accepted().body(Map.of("success", true, "message", "검색 인덱스 재구축을 시작했습니다."));
+    }
+}
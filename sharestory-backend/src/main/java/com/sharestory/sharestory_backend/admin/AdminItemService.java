@@ -3,9 +3,11 @@ package com.sharestory.sharestory_backend.admin;
 import com.sharestory.sharestory_backend.domain.ChatRoom;
 import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.repo.ChatMessageRepository;
+import com.sharestory.sharestory_backend.repo.ChatReadMarkRepository;
 import com.sharestory.sharestory_backend.repo.ChatReadRepository;
 import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
 import com.sharestory.sharestory_backend.repo.ItemRepository;
+import com.sharestory.sharestory_backend.service.ChatLookupCache;
 import com.sharestory.sharestory_backend.service.S3Service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,8 @@ public class AdminItemService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ChatReadRepository chatReadRepository;
+    private final ChatReadMarkRepository readMarkRepository;
+    private final ChatLookupCache chatLookupCache;
     private final S3Service s3Service;
 
     @Transactional
@@ -43,8 +47,12 @@ public class AdminItemService {
                 chatMessageRepository.deleteAllByRoom_Id(room.getId());
             }
 
+            // ✅ 읽음 워터마크 삭제
+            readMarkRepository.deleteAllByRoomId(room.getId());
+
             // ✅ 채팅방 삭제
             chatRoomRepository.delete(room);
+            chatLookupCache.evictRoom(room.getId());
         }
 
         // ✅ 이미지 S3에서 삭제
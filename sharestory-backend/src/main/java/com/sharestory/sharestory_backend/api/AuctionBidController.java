@@ -5,6 +5,7 @@ import com.sharestory.sharestory_backend.domain.AuctionItem;
 import com.sharestory.sharestory_backend.dto.AuctionItemResponseDto;
 import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
 import com.sharestory.sharestory_backend.security.CustomUserDetails;
+import com.sharestory.sharestory_backend.service.AuctionBidEngine;
 import com.sharestory.sharestory_backend.service.AuctionBidService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ public class AuctionBidController {
 
     private final AuctionBidRepository bidRepository;
     private final AuctionBidService auctionBidService;
+    private final AuctionBidEngine auctionBidEngine;
 
     @GetMapping("/{auctionId}/bids")
     public List<AuctionBid> getBidsByAuction(@PathVariable Long auctionId) {
@@ -36,7 +38,9 @@ public class AuctionBidController {
         int bidPrice = body.get("price");
 
         try {
-            AuctionItem updated = auctionBidService.placeBid(auctionId, user.getId(), bidPrice);
+            AuctionItem updated = auctionBidEngine.isEnabled()
+                    ? auctionBidService.placeBidSequenced(auctionId, user.getId(), bidPrice)
+                    : auctionBidService.placeBid(auctionId, user.getId(), bidPrice);
             return ResponseEntity.ok(AuctionItemResponseDto.from(updated, user.getId()));
 
         } catch (IllegalArgumentException | IllegalStateException e) {
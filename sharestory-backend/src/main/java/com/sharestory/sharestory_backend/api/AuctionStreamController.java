@@ -0,0 +1,25 @@
+package com.sharestory.sharestory_backend.api;
+
+import com.sharestory.sharestory_backend.dto.AuctionPriceMessage;
+import com.sharestory.sharestory_backend.service.AuctionPriceStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class AuctionStreamController {
+
+    private final AuctionPriceStream auctionPriceStream;
+
+    /**
+     * 📸 경매 시세 스냅샷 (SUBSCRIBE /pub/auction/{id} → 구독한 세션에만 1회 응답)
+     * 이후 변경분은 /sub/auction/{id} 구독으로 수신
+     */
+    @SubscribeMapping("/auction/{auctionId}")
+    public AuctionPriceMessage snapshot(@DestinationVariable Long auctionId) {
+        return auctionPriceStream.snapshot(auctionId)
+                .orElseThrow(() -> new IllegalArgumentException("경매를 찾을 수 없습니다."));
+    }
+}
@@ -1,19 +1,15 @@
 package com.sharestory.sharestory_backend.api;
 
 import com.sharestory.sharestory_backend.domain.ChatMessage;
-import com.sharestory.sharestory_backend.domain.ChatRoom;
-import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.dto.ChatMessageDto;
 import com.sharestory.sharestory_backend.dto.ChatReadDto;
 import com.sharestory.sharestory_backend.dto.ChatRoomDto;
-import com.sharestory.sharestory_backend.repo.ChatReadRepository;
-import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
-import com.sharestory.sharestory_backend.repo.UserRepository;
+import com.sharestory.sharestory_backend.dto.SliceResponse;
 import com.sharestory.sharestory_backend.security.CustomUserDetails;
+import com.sharestory.sharestory_backend.service.ChatIngestPipeline;
+import com.sharestory.sharestory_backend.service.ChatLookupCache;
 import com.sharestory.sharestory_backend.service.ChatService;
-import com.sharestory.sharestory_backend.service.FcmService;
 import com.sharestory.sharestory_backend.service.S3Service;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,13 +31,18 @@ public class ChatController {
 
     private final S3Service s3Service;
     private final ChatService chatService;
+    private final ChatIngestPipeline chatIngestPipeline;
+    private final ChatLookupCache chatLookupCache;
     private final SimpMessagingTemplate messagingTemplate;
-    private final ChatReadRepository chatReadRepository;
-    private final FcmService fcmService;
-    private final UserRepository userRepository;
 
     @MessageMapping("/message")
     public void message(ChatMessageDto dto) {
+        // ✅ 수신 파이프라인: 방별 순서 큐 → 묶음 저장 → 브로드캐스트/FCM
+        if (chatIngestPipeline.isEnabled()) {
+            chatIngestPipeline.submit(dto);
+            return;
+        }
+
         // 1️⃣ DB 저장 (+ FCM 전송 포함)
         ChatMessage saved = chatService.saveMessage(dto);
 
@@ -53,9 +53,9 @@ public class ChatController {
         );
 
         // 3️⃣ 글로벌 알림 (STOMP)
-        ChatRoom room = chatService.findRoom(dto.getRoomId());
-        Long sellerId = room.getSellerId();
-        Long buyerId = room.getBuyerId();
+        ChatLookupCache.RoomMembers room = chatLookupCache.requireRoom(dto.getRoomId());
+        Long sellerId = room.sellerId();
+        Long buyerId = room.buyerId();
         ChatMessageDto payload = ChatMessageDto.from(saved);
 
         if (!dto.getSenderId().equals(sellerId)) {
@@ -90,6 +90,17 @@ public class ChatController {
         return chatService.getMessages(roomId, user.getId());
     }
 
+    // 채팅방 메시지 페이지 조회: GET /room/{roomId}/messages?limit=30&before={가장 오래된 메시지 id}
+    @GetMapping(value = "/room/{roomId}/messages", params = "limit")
+    public SliceResponse<ChatMessageDto> getMessagePage(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long before,
+            @RequestParam int limit,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        return chatService.getMessagesBefore(roomId, user.getId(), before, limit);
+    }
+
     /**
      * 채팅방 상품 정보 조회
      */
@@ -142,19 +153,18 @@ public class ChatController {
 
     @MessageMapping("/read")
     public void read(ChatReadDto dto) {
-        // DB 업데이트
-        chatService.markMessagesAsRead(dto.getRoomId(), dto.getUserId());
-
-        // ✅ 읽힌 메시지 ID들 가져오기
-        List<Long> readIds = chatService.getReadMessageIds(dto.getRoomId(), dto.getUserId());
+        // 워터마크 전진 + 이번에 읽힌 메시지 ID들
+        List<Long> readIds = chatService.markMessagesAsRead(dto.getRoomId(), dto.getUserId());
+        if (readIds.isEmpty()) return;
 
-        // 상대방에게 브로드캐스트
+        // 상대방에게 브로드캐스트 (lastReadMessageId 이하 내 메시지는 모두 읽음)
         messagingTemplate.convertAndSend(
                 "/sub/chat/room/" + dto.getRoomId() + "/read",
                 Map.of(
                         "roomId", dto.getRoomId(),
                         "userId", dto.getUserId(),
-                        "readIds", readIds
+                        "readIds", readIds,
+                        "lastReadMessageId", readIds.get(readIds.size() - 1)
                 )
         );
 
@@ -7,7 +7,7 @@ import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.dto.*;
 import com.sharestory.sharestory_backend.security.CustomUserDetails;
-import com.sharestory.sharestory_backend.service.ItemSearchService;
+import com.sharestory.sharestory_backend.service.ItemSuggestService;
 import com.sharestory.sharestory_backend.service.ItemService;
 import com.sharestory.sharestory_backend.service.OrderService;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +31,7 @@ public class ItemController {
 
     private final ItemService itemService;
     private final ObjectMapper objectMapper;
-    private final ItemSearchService itemSearchService;
+    private final ItemSuggestService itemSuggestService;
     private final OrderService orderService;
 
     @PostMapping(value = "/registerItem", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -161,7 +161,7 @@ public class ItemController {
     }
 
     @GetMapping("/items/autocomplete")
-    public ResponseEntity<List<ItemSummaryDto>> autocomplete(
+    public ResponseEntity<List<ItemSuggestDto>> autocomplete(
             @RequestParam String keyword,
             @RequestParam(required = false) Double lat,
             @RequestParam(required = false) Double lon,
@@ -170,10 +170,10 @@ public class ItemController {
     ) throws IOException {
         if (user != null) {
             // ✅ 로그인 사용자 → 위치 포함 자동완성
-            return ResponseEntity.ok(itemSearchService.autocomplete(keyword, lat, lon, distance));
+            return ResponseEntity.ok(itemSuggestService.suggest(keyword, lat, lon, distance));
         } else {
             // ✅ 비로그인 사용자 → 키워드만 자동완성 (위도/경도 무시)
-            return ResponseEntity.ok(itemSearchService.autocomplete(keyword, null, null, null));
+            return ResponseEntity.ok(itemSuggestService.suggest(keyword, null, null, null));
         }
     }
 
@@ -3,7 +3,9 @@ package com.sharestory.sharestory_backend.api;
 
 import com.sharestory.sharestory_backend.dto.ItemDetailResponse;
 import com.sharestory.sharestory_backend.dto.ItemSummaryDto;
+import com.sharestory.sharestory_backend.dto.SliceResponse;
 import com.sharestory.sharestory_backend.security.CustomUserDetails;
+import com.sharestory.sharestory_backend.service.ItemFeedService;
 import com.sharestory.sharestory_backend.service.ItemQueryService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -19,26 +21,27 @@ import java.util.List;
 public class ItemQueryController {
 
     private final ItemQueryService itemQueryService;
+    private final ItemFeedService itemFeedService;
 
     // 최신 등록 상품
     // GET /api/items/sorted/latest?size=60
     @GetMapping("/items/sorted/latest")
     public List<ItemSummaryDto> latest(@RequestParam(defaultValue = "60") int size) {
-        return itemQueryService.getLatest(size);
+        return itemFeedService.getFeed(ItemFeedService.Feed.LATEST, size);
     }
 
     // 관심이 많은 상품
     // GET /api/items/sorted/favorites?size=60
     @GetMapping("/items/sorted/favorites")
     public List<ItemSummaryDto> favorites(@RequestParam(defaultValue = "60") int size) {
-        return itemQueryService.getFavorites(size);
+        return itemFeedService.getFeed(ItemFeedService.Feed.FAVORITES, size);
     }
 
     // 많이 본 상품
     // GET /api/items/sorted/views?size=60
     @GetMapping("/items/sorted/views")
     public List<ItemSummaryDto> views(@RequestParam(defaultValue = "60") int size) {
-        return itemQueryService.getViews(size);
+        return itemFeedService.getFeed(ItemFeedService.Feed.VIEWS, size);
     }
 
     // 전체 상품 (페이지네이션)
@@ -48,9 +51,40 @@ public class ItemQueryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "120") int size
     ) {
+        if (page == 0) return itemFeedService.getFeed(ItemFeedService.Feed.LATEST, size);
         return itemQueryService.getAll(page, size);
     }
 
+    /* ===== 커서 기반 (cursor 파라미터가 있으면 Slice 응답, 빈 값 = 첫 페이지) ===== */
+
+    // GET /api/items/sorted/latest?cursor=&size=60
+    @GetMapping(value = "/items/sorted/latest", params = "cursor")
+    public SliceResponse<ItemSummaryDto> latestSlice(@RequestParam String cursor,
+                                                     @RequestParam(defaultValue = "60") int size) {
+        return itemQueryService.getLatestSlice(cursor, size);
+    }
+
+    // GET /api/items/sorted/favorites?cursor=&size=60
+    @GetMapping(value = "/items/sorted/favorites", params = "cursor")
+    public SliceResponse<ItemSummaryDto> favoritesSlice(@RequestParam String cursor,
+                                                        @RequestParam(defaultValue = "60") int size) {
+        return itemQueryService.getFavoritesSlice(cursor, size);
+    }
+
+    // GET /api/items/sorted/views?cursor=&size=60
+    @GetMapping(value = "/items/sorted/views", params = "cursor")
+    public SliceResponse<ItemSummaryDto> viewsSlice(@RequestParam String cursor,
+                                                    @RequestParam(defaultValue = "60") int size) {
+        return itemQueryService.getViewsSlice(cursor, size);
+    }
+
+    // GET /api/allItems?cursor=&size=120 (최신순)
+    @GetMapping(value = "/allItems", params = "cursor")
+    public SliceResponse<ItemSummaryDto> allSlice(@RequestParam String cursor,
+                                                  @RequestParam(defaultValue = "120") int size) {
+        return itemQueryService.getLatestSlice(cursor, size);
+    }
+
     @GetMapping("/items/{id}")
     public ResponseEntity<ItemDetailResponse> getItem(
             @PathVariable Long id,
@@ -1,5 +1,6 @@
 package com.sharestory.sharestory_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -20,4 +21,66 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /** 기동 후 전체 재색인을 구동하는 단일 스레드 (기동 경로와 분리) */
+    @org.springframework.context.annotation.Bean(name = "itemSyncExecutor")
+    public Executor itemSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("ItemSync-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** ES _bulk 요청 전송용 (동시 요청 수 = parallelism) */
+    @org.springframework.context.annotation.Bean(name = "searchBulkExecutor")
+    public Executor searchBulkExecutor(@Value("${app.search.reindex.parallelism:2}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism);
+        executor.setThreadNamePrefix("SearchBulk-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** 검색 인덱스 아웃박스 처리 (단일 스레드 → 상품별 반영 순서 보장) */
+    @org.springframework.context.annotation.Bean(name = "searchOutboxExecutor")
+    public Executor searchOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("SearchOutbox-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** 홈 피드 재구축 / 상품 변경 반영 (요청 스레드와 분리) */
+    @org.springframework.context.annotation.Bean(name = "feedExecutor")
+    public Executor feedExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("ItemFeed-");
+        executor.initialize();
+        return executor;
+    }
+
+    /** 경매 종료 / 결제 마감 처리 (타이밍 휠 드라이버 스레드와 분리) */
+    @org.springframework.context.annotation.Bean(name = "auctionDeadlineExecutor")
+    public Executor auctionDeadlineExecutor(@Value("${app.auction.deadline.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("AuctionDeadline-");
+        // 가득 차면 거절 → AuctionDeadlineScheduler 가 TaskRejectedException 을 받아 재시도 예약 (휠 스레드에서 실행하지 않음)
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
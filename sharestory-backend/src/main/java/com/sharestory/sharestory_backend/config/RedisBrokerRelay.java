@@ -0,0 +1,126 @@
+package com.sharestory.sharestory_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 다중 인스턴스 STOMP 브로커 중계 (app.ws.broker=redis)
+ * - 각 노드는 기존처럼 SimpleBroker 로 자기 세션에 전달
+ * - brokerChannel 로 나가는 /sub, /user 메시지를 Redis 채널에 PUBLISH → 다른 노드가 받아 자기 brokerChannel 에 재주입
+ * - /user/{id}/... 는 변환 전 그대로 중계 → 각 노드의 UserDestinationMessageHandler 가 자기 세션으로 해석
+ *   (해석된 /queue/...-user{session} 는 노드 로컬이므로 중계하지 않음)
+ * - 수신은 전용 단일 스레드 컨테이너(wsRelayListenerContainer) → 발행 순서대로 재주입
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.ws.broker", havingValue = "redis")
+public class RedisBrokerRelay implements ChannelInterceptor, MessageListener {
+
+    private static final String RELAYED_HEADER = "x-relayed";
+
+    /** 노드 간 전달 단위 (payload 는 이미 변환된 byte[] → base64) */
+    record Envelope(String origin, String destination, String contentType, String payload) {}
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final MessageChannel brokerChannel;
+    private final String channel;
+    private final List<String> prefixes;
+
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter failedCounter;
+
+    public RedisBrokerRelay(StringRedisTemplate redis,
+                            ObjectMapper objectMapper,
+                            @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                            @Qualifier("wsRelayListenerContainer") RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.ws.relay.channel:ws:broker}") String channel,
+                            @Value("${app.ws.relay.prefixes:/sub/,/user/}") List<String> prefixes) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.brokerChannel = brokerChannel;
+        this.channel = channel;
+        this.prefixes = prefixes;
+        this.publishedCounter = meterRegistry.counter("ws.relay", "result", "published");
+        this.receivedCounter = meterRegistry.counter("ws.relay", "result", "received");
+        this.failedCounter = meterRegistry.counter("ws.relay", "result", "failed");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        log.info("[WS RELAY] Redis 브로커 중계 활성화: channel={}, node={}", channel, nodeId);
+    }
+
+    /** 📤 로컬 전송 → 다른 노드로 PUBLISH (로컬 전달은 그대로 진행) */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel ch) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE) return message;
+        if (accessor.getHeader(RELAYED_HEADER) != null) return message;
+
+        String destination = accessor.getDestination();
+        if (destination == null || prefixes.stream().noneMatch(destination::startsWith)) return message;
+        if (!(message.getPayload() instanceof byte[] payload)) return message;
+
+        try {
+            MimeType contentType = accessor.getContentType();
+            Envelope envelope = new Envelope(nodeId, destination,
+                    contentType != null ? contentType.toString() : null,
+                    Base64.getEncoder().encodeToString(payload));
+            redis.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+            publishedCounter.increment();
+        } catch (Exception e) {
+            // 다른 노드 전달만 실패, 로컬 구독자에게는 전달됨
+            failedCounter.increment();
+            log.warn("[WS RELAY] PUBLISH 실패 ({}): {}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    /** 📥 다른 노드 메시지 → 로컬 brokerChannel 재주입 */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message redisMessage, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(redisMessage.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (nodeId.equals(envelope.origin())) return;
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(envelope.destination());
+            if (envelope.contentType() != null) accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+            accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+            accessor.setLeaveMutable(true);
+
+            brokerChannel.send(MessageBuilder.createMessage(
+                    Base64.getDecoder().decode(envelope.payload()), accessor.getMessageHeaders()));
+            receivedCounter.increment();
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.warn("[WS RELAY] 수신 메시지 처리 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.sharestory.sharestory_backend.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
@@ -19,4 +26,52 @@ public class RedisConfig {
         template.setValueSerializer(new StringRedisSerializer());
         return template;
     }
+
+    // Redis pub/sub 구독 (캐시 무효화, 경매 마감 타이머 명령 등)
+    // 단일 스레드로 수신 순서대로 처리 (기본 SimpleAsyncTaskExecutor 는 메시지마다 새 스레드 → 순서 보장 없음)
+    @Bean
+    @Primary
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       @Qualifier("redisListenerExecutor") Executor executor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        return container;
+    }
+
+    /**
+     * STOMP 브로커 중계 전용 구독 (app.ws.broker=redis, RedisBrokerRelay)
+     * - 단일 스레드로 수신 순서대로 brokerChannel 에 재주입 → 다른 노드 구독자도 발행 순서대로 받음
+     * - 공용 컨테이너와 분리 → 캐시 무효화 / 마감 명령이 채팅 중계량에 밀리지 않음
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.ws.broker", havingValue = "redis")
+    public RedisMessageListenerContainer wsRelayListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                  @Qualifier("wsRelayExecutor") Executor executor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(executor);
+        return container;
+    }
+
+    // 큐 제한 없음 (거절하면 메시지 유실, CallerRuns 는 순서가 깨짐)
+    @Bean(name = "redisListenerExecutor")
+    public ThreadPoolTaskExecutor redisListenerExecutor() {
+        return singleThread("RedisListener-");
+    }
+
+    @Bean(name = "wsRelayExecutor")
+    @ConditionalOnProperty(name = "app.ws.broker", havingValue = "redis")
+    public ThreadPoolTaskExecutor wsRelayExecutor() {
+        return singleThread("WsRelay-");
+    }
+
+    private static ThreadPoolTaskExecutor singleThread(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix(prefix);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
 }
@@ -1,7 +1,10 @@
 package com.sharestory.sharestory_backend.config;
 
+import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.security.JwtService;
+import com.sharestory.sharestory_backend.security.PrincipalCache;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -20,9 +23,11 @@ import java.util.Collections;
 public class StompAuthInterceptor implements ChannelInterceptor {
 
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
 
-    public StompAuthInterceptor(JwtService jwtService) {
+    public StompAuthInterceptor(JwtService jwtService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -44,12 +49,16 @@ public class StompAuthInterceptor implements ChannelInterceptor {
                     throw new AccessDeniedException("401 Unauthorized");
                 }
 
-                if (!jwtService.validateToken(token)) {
-                    log.warn("❌ CONNECT 토큰 검증 실패 → 401");
+                // ✅ 검증 + userId 추출을 한 번에 (핸드셰이크에서 검증한 결과가 캐시돼 있으면 재사용)
+                var claims = jwtService.verify(token);
+                Long userId = Long.valueOf(claims.getSubject());
+
+                // ✅ HTTP 필터와 동일하게 폐기된 토큰(ver 불일치) 거부
+                User user = principalCache.get(userId).orElse(null);
+                if (user == null || jwtService.getTokenVersion(claims) != user.getTokenVersion()) {
+                    log.warn("❌ CONNECT 폐기된 토큰 / 없는 사용자 → 401 (userId={})", userId);
                     throw new AccessDeniedException("401 Unauthorized");
                 }
-
-                Long userId = jwtService.getUserIdFromToken(token); // ✅ 토큰에서 userId 추출
                 accessor.setUser(new UsernamePasswordAuthenticationToken(
                         userId.toString(), null, Collections.emptyList()
                 ));
@@ -72,9 +81,14 @@ public class StompAuthInterceptor implements ChannelInterceptor {
                 throw new AccessDeniedException("401 Unauthorized");
             }
 
+        } catch (AccessDeniedException e) {
+            throw e;
         } catch (ExpiredJwtException e) {
             log.warn("❌ JWT 만료됨 → 401");
             throw new AccessDeniedException("401 Unauthorized");
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("❌ CONNECT 토큰 검증 실패 → 401: {}", e.getMessage());
+            throw new AccessDeniedException("401 Unauthorized");
         } catch (Exception e) {
             log.error("❌ STOMP 인증 처리 중 오류: {}", e.getMessage(), e);
             throw new AccessDeniedException("401 Unauthorized");
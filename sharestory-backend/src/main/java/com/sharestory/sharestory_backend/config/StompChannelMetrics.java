@@ -0,0 +1,58 @@
+package com.sharestory.sharestory_backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * STOMP 채널(inbound/outbound) 처리 지표
+ * - ws.channel.handle{channel, handler} : 핸들러 처리 시간 (executor 스레드에서 측정 → 대기 시간 제외)
+ * - ws.channel.active{channel}          : 처리 중인 핸들러 수
+ * 큐 적체(ws.channel.queue)는 WebSocketConfig 에서 스레드 풀 큐 크기로 등록
+ */
+class StompChannelMetrics implements ExecutorChannelInterceptor {
+
+    private final String channel;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger active = new AtomicInteger();
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    StompChannelMetrics(String channel, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ws.channel.active", active, AtomicInteger::get)
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel ch, MessageHandler handler) {
+        active.incrementAndGet();
+        startedAt.set(System.nanoTime());
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel ch, MessageHandler handler, Exception ex) {
+        Long start = startedAt.get();
+        startedAt.remove();
+        active.decrementAndGet();
+        if (start == null) return;
+
+        timers.computeIfAbsent(handler.getClass(), type -> Timer.builder("ws.channel.handle")
+                        .tag("channel", channel)
+                        .tag("handler", type.getSimpleName())
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,30 +1,80 @@
 package com.sharestory.sharestory_backend.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 채널 executor: platform(스레드 풀) / virtual(가상 스레드, 동시 실행 수 제한)
+    @Value("${app.ws.inbound.executor:platform}")
+    private String inboundExecutor;
+    @Value("${app.ws.inbound.pool-size:16}")
+    private int inboundPoolSize;
+    @Value("${app.ws.inbound.queue-capacity:2000}")
+    private int inboundQueueCapacity;
+    @Value("${app.ws.inbound.virtual-concurrency-limit:1000}")
+    private int inboundVirtualLimit;
+
+    @Value("${app.ws.outbound.executor:platform}")
+    private String outboundExecutor;
+    @Value("${app.ws.outbound.pool-size:8}")
+    private int outboundPoolSize;
+    @Value("${app.ws.outbound.queue-capacity:2000}")
+    private int outboundQueueCapacity;
+    @Value("${app.ws.outbound.virtual-concurrency-limit:1000}")
+    private int outboundVirtualLimit;
+
+    // 세션 단위 전송 제한 (느린 클라이언트가 outbound 스레드를 붙잡지 않도록)
+    @Value("${app.ws.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${app.ws.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${app.ws.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
 
+    // 세션별 수신/발행 순서 보장 (executor 병렬 처리 시 채팅 순서 유지)
+    @Value("${app.ws.preserve-order:true}")
+    private boolean preserveOrder;
 
     private final StompAuthInterceptor stompAuthInterceptor;
     private final HttpHandshakeInterceptor httpHandshakeInterceptor;
+    /** app.ws.broker=redis 일 때만 존재 (simple: 단일 노드 메모리 브로커) */
+    private final ObjectProvider<RedisBrokerRelay> brokerRelay;
+    private final MeterRegistry meterRegistry;
 
     public WebSocketConfig(StompAuthInterceptor stompAuthInterceptor,
-                           HttpHandshakeInterceptor httpHandshakeInterceptor) {
+                           HttpHandshakeInterceptor httpHandshakeInterceptor,
+                           ObjectProvider<RedisBrokerRelay> brokerRelay,
+                           MeterRegistry meterRegistry) {
         this.stompAuthInterceptor = stompAuthInterceptor;
         this.httpHandshakeInterceptor = httpHandshakeInterceptor;
+        this.brokerRelay = brokerRelay;
+        this.meterRegistry = meterRegistry;
     }
 
     // 클라이언트에서 연결할 엔드포인트
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.setPreserveReceiveOrder(preserveOrder);
         registry.addEndpoint("/ws-connect")
                 .addInterceptors(httpHandshakeInterceptor)
                 .setAllowedOriginPatterns("*")
@@ -37,11 +87,67 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.setApplicationDestinationPrefixes("/pub");
         registry.enableSimpleBroker("/sub", "/queue");
         registry.setUserDestinationPrefix("/user");
+        registry.setPreservePublishOrder(preserveOrder);
+
+        // ✅ 다중 노드: brokerChannel 로 나가는 메시지를 Redis pub/sub 으로 다른 노드에 중계
+        brokerRelay.ifAvailable(relay -> registry.configureBrokerChannel().interceptors(relay));
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // ✅ 모든 STOMP 메시지(SEND, SUBSCRIBE 등)에 대해 JWT 검사 실행
-        registration.interceptors(stompAuthInterceptor);
+        registration.interceptors(stompAuthInterceptor, new StompChannelMetrics("inbound", meterRegistry));
+        // ✅ @MessageMapping 핸들러(DB 저장, FCM 등 블로킹 작업)가 실행되는 executor
+        registration.executor(wsInboundExecutor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new StompChannelMetrics("outbound", meterRegistry));
+        registration.executor(wsOutboundExecutor());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    /** inbound 채널 executor (빈으로 등록 → 종료 시 shutdown) */
+    @Bean(name = "wsInboundExecutor")
+    public Executor wsInboundExecutor() {
+        return channelExecutor("inbound", inboundExecutor, inboundPoolSize, inboundQueueCapacity, inboundVirtualLimit);
+    }
+
+    /** outbound 채널 executor (빈으로 등록 → 종료 시 shutdown) */
+    @Bean(name = "wsOutboundExecutor")
+    public Executor wsOutboundExecutor() {
+        return channelExecutor("outbound", outboundExecutor, outboundPoolSize, outboundQueueCapacity, outboundVirtualLimit);
+    }
+
+    private Executor channelExecutor(String channel, String mode, int poolSize, int queueCapacity, int virtualLimit) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ws-" + channel + "-vt-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualLimit);   // 초과 시 전송 스레드에서 대기 (back-pressure)
+            log.info("[WS] {} 채널 executor: 가상 스레드 (동시 {}개)", channel, virtualLimit);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("ws-" + channel + "-");
+        // 큐가 차면 프레임을 버리지 않고 전송 스레드에서 직접 실행 (back-pressure)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        Gauge.builder("ws.channel.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .tag("channel", channel)
+                .register(meterRegistry);
+        log.info("[WS] {} 채널 executor: 스레드 풀 {}개, 큐 {}", channel, poolSize, queueCapacity);
+        return executor;
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.sharestory.sharestory_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 입찰 엔진 포인트 선차감 기록 (차감과 같은 트랜잭션에 저장)
+ * - 입찰이 DB 에 저장될 때(AuctionBidWriter) 또는 거절/실패로 환불될 때 같은 트랜잭션에서 삭제
+ * - 삭제되지 않고 오래 남은 행 = 차감 후 저장 전에 중단된 입찰 → AuctionBidReconciler 가 환불
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "auction_bid_reservation",
+        indexes = @Index(name = "idx_auction_bid_reservation_created", columnList = "created_at"))
+public class AuctionBidReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auction_item_id", nullable = false)
+    private Long auctionItemId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // 입찰 금액
+    @Column(name = "bid_price", nullable = false)
+    private int bidPrice;
+
+    // 실제 차감액 (입찰 금액 - 본인 기존 입찰금)
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.sharestory.sharestory_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 경매 입찰금 환불 기록 (경매, 사용자)당 1행 = 정산 멱등 키
+ * - 환불 포인트 반영과 같은 트랜잭션에서 기록 → 중단 후 다시 정산해도 이미 환불된 사용자는 건너뜀
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "auction_refund",
+        uniqueConstraints = @UniqueConstraint(name = "uk_auction_refund_auction_user", columnNames = {"auction_item_id", "user_id"}))
+public class AuctionRefund {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auction_item_id", nullable = false)
+    private Long auctionItemId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -7,6 +7,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 채팅 기록 페이지 조회: 방별 (created_at, id) 역순 커서
+        @Index(name = "idx_chat_message_room_created_id", columnList = "room_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,37 @@
+package com.sharestory.sharestory_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 읽음 워터마크 (방, 사용자)당 1행
+ * - lastReadMessageId 이하 메시지는 모두 읽은 것으로 간주
+ * - 메시지마다 읽음 행을 만들던 chat_read 를 대체
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "chat_read_mark",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_read_mark_room_user", columnNames = {"room_id", "user_id"}))
+public class ChatReadMark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
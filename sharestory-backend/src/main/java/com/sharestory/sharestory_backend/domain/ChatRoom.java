@@ -8,6 +8,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // 채팅 목록: 내가 구매자/판매자인 방
+        @Index(name = "idx_chat_room_buyer", columnList = "buyerId, updatedAt"),
+        @Index(name = "idx_chat_room_seller", columnList = "sellerId, updatedAt")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +37,30 @@ public class ChatRoom {
 
     private LocalDateTime updatedAt;
 
+    // ✅ 목록 표시용 마지막 메시지 (메시지 저장 시 함께 갱신 → 목록 조회 시 메시지 테이블 조회 없음)
+    private Long lastMessageId;
+
+    @Column(length = 100)
+    private String lastMessagePreview;
+
+    private LocalDateTime lastMessageAt;
+
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ChatMessage> messages = new ArrayList<>();
-}
\ No newline at end of file
+
+    public static final int PREVIEW_LENGTH = 100;
+
+    /** 새 메시지 반영: 마지막 메시지 요약 + 갱신 시각 */
+    public void updateLastMessage(ChatMessage message) {
+        this.lastMessageId = message.getId();
+        this.lastMessagePreview = previewOf(message.getContent());
+        this.lastMessageAt = message.getCreatedAt();
+        this.updatedAt = message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now();
+    }
+
+    public static String previewOf(String content) {
+        return (content != null && content.length() > PREVIEW_LENGTH)
+                ? content.substring(0, PREVIEW_LENGTH)
+                : content;
+    }
+}
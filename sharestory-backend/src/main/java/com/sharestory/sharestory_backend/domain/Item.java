@@ -3,6 +3,7 @@ package com.sharestory.sharestory_backend.domain;
 import com.sharestory.sharestory_backend.dto.ItemStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDateTime;
@@ -10,7 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        // 목록 keyset 페이징 (정렬값, id) — 역방향 인덱스 스캔 후 size+1 건에서 중단
+        @Index(name = "idx_items_created_id", columnList = "created_date, id"),
+        @Index(name = "idx_items_favorite_id", columnList = "favorite_count, id"),
+        @Index(name = "idx_items_view_id", columnList = "view_count, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,6 +61,7 @@ public class Item {
     // ✅ 다중 이미지 매핑
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("sortOrder ASC")
+    @BatchSize(size = 100)     // 목록/재색인 시 이미지 N+1 방지
     @Builder.Default
     private List<ItemImage> images = new ArrayList<>();
 
@@ -62,7 +69,8 @@ public class Item {
 
     private Long userId;       // 등록자 ID (User FK 예정)
 
-    @Column(name = "favorite_count")
+    @Builder.Default
+    @Column(name = "favorite_count", nullable = false)
     private Integer favoriteCount = 0;
 
     @Builder.Default
@@ -29,4 +29,7 @@ public class ItemDoc {
     private Integer favoriteCount;
     private Integer viewCount;
     private Integer chatRoomCount;
+
+    // 검색 결과 카드 표시용 (색인하지 않고 _source 에만 저장)
+    private DealInfo dealInfo;
 }
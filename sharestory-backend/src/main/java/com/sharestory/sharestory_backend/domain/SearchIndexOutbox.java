@@ -0,0 +1,45 @@
+package com.sharestory.sharestory_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 인덱스 반영 대기열 (트랜잭션 아웃박스)
+ * - 상품 변경과 같은 트랜잭션에서 저장되고, 커밋 후 워커가 ES 로 전송한 뒤 삭제
+ */
+@Entity
+@Table(name = "search_index_outbox",
+        indexes = @Index(name = "idx_outbox_next_attempt", columnList = "next_attempt_at, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Op op;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 재시도 시각 (실패 시 backoff 만큼 뒤로 밀림)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    public enum Op { INDEX, DELETE }
+}
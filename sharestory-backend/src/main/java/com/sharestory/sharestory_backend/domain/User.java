@@ -69,4 +69,8 @@ public class User {
 
     @Column(nullable = false)
     private int points = 0;
+
+    // 토큰 버전 (증가시키면 이전에 발급된 access token 이 모두 무효화됨)
+    @Column(nullable = false)
+    private int tokenVersion = 0;
 }
@@ -0,0 +1,19 @@
+package com.sharestory.sharestory_backend.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/** 📈 경매 실시간 시세 (/sub/auction/{id}, 구독 시 스냅샷) */
+@Getter
+@Builder(toBuilder = true)
+public class AuctionPriceMessage {
+    private Long auctionId;
+    private int currentPrice;
+    private int bidCount;
+    private String leaderNickname;
+    private AuctionStatus status;
+    private LocalDateTime endDateTime;
+    private long remainingMs;   // 전송 시점 기준 남은 시간 (종료 시 0)
+}
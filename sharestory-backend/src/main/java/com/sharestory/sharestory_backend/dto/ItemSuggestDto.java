@@ -0,0 +1,13 @@
+package com.sharestory.sharestory_backend.dto;
+
+import lombok.*;
+
+// 자동완성 드롭다운 전용 (id/제목/가격/썸네일만)
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ItemSuggestDto {
+    private Long id;
+    private String title;
+    private Integer price;
+    private String imageUrl;
+}
@@ -0,0 +1,20 @@
+package com.sharestory.sharestory_backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 커서 기반 목록 응답 (전체 건수 없음)
+ * - nextCursor 를 다음 요청의 cursor 파라미터로 전달, hasNext=false 면 마지막 페이지
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
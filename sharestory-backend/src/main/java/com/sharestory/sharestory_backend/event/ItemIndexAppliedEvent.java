@@ -0,0 +1,15 @@
+package com.sharestory.sharestory_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.Set;
+
+/** 아웃박스 워커가 ES 반영을 마친 뒤 발행 (검색 캐시 무효화용) */
+@Getter
+@AllArgsConstructor
+public class ItemIndexAppliedEvent {
+    private final Map<Long, String> indexedTitles; // 인덱싱된 상품 id → 제목
+    private final Set<Long> deletedIds;
+}
@@ -0,0 +1,12 @@
+package com.sharestory.sharestory_backend.event;
+
+import com.sharestory.sharestory_backend.domain.SearchIndexOutbox;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemIndexEvent {
+    private final Long itemId;
+    private final SearchIndexOutbox.Op op;
+}
@@ -1,7 +1,9 @@
 package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.AuctionBid;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,6 +19,11 @@ public interface AuctionBidRepository extends JpaRepository<AuctionBid, Long> {
 
     Optional<AuctionBid> findByAuctionItemIdAndUserId(Long auctionItemId, Long userId);
 
+    // 🔒 입찰 엔진 저장용 (잠금 읽기 → 다른 인스턴스가 방금 커밋한 행도 보임)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AuctionBid b WHERE b.auctionItemId = :auctionId AND b.userId = :userId")
+    Optional<AuctionBid> findForUpdate(@Param("auctionId") Long auctionId, @Param("userId") Long userId);
+
     Optional<AuctionBid> findTopByAuctionItemIdOrderByBidPriceDesc(Long auctionItemId);
 
     List<AuctionBid> findByAuctionItemId(Long auctionItemId);
@@ -0,0 +1,22 @@
+package com.sharestory.sharestory_backend.repo;
+
+import com.sharestory.sharestory_backend.domain.AuctionBidReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuctionBidReservationRepository extends JpaRepository<AuctionBidReservation, Long> {
+
+    // 선차감 기록 확정 삭제 (1 이면 이 트랜잭션이 처리 권한을 가짐, 0 이면 이미 저장/환불됨)
+    @Modifying
+    @Query("DELETE FROM AuctionBidReservation r WHERE r.id = :id")
+    int release(@Param("id") Long id);
+
+    // ⏰ 저장되지 않고 남은 선차감 (오래된 순)
+    List<AuctionBidReservation> findByCreatedAtBeforeOrderByIdAsc(LocalDateTime before, Pageable pageable);
+}
@@ -41,4 +41,39 @@ public interface AuctionItemRepository extends JpaRepository<AuctionItem, Long>
     List<AuctionItem> findByStatusAndPaymentDeadlineBeforeAndPenaltyAppliedFalse(
             AuctionStatus status, LocalDateTime deadline);
 
+    // ⏰ 기동 시 타이밍 휠 적재용 (id, 종료 시각)
+    @Query("SELECT a.id, a.endDateTime FROM AuctionItem a WHERE a.status = :status AND a.endDateTime IS NOT NULL")
+    List<Object[]> findEndDeadlines(@Param("status") AuctionStatus status);
+
+    // ⏰ 기동 시 타이밍 휠 적재용 (id, 결제 마감 시각)
+    @Query("""
+        SELECT a.id, a.paymentDeadline
+        FROM AuctionItem a
+        WHERE a.status = :status AND a.penaltyApplied = false AND a.paymentDeadline IS NOT NULL
+    """)
+    List<Object[]> findPaymentDeadlines(@Param("status") AuctionStatus status);
+
+    // ⏳ 마감 임박 입찰 연장 (입찰 엔진이 수락 즉시 반영, 더 이른 시각으로는 되돌리지 않음)
+    @Modifying
+    @Query("""
+        UPDATE AuctionItem a
+        SET a.endDateTime = :endAt
+        WHERE a.id = :id AND a.status = com.sharestory.sharestory_backend.dto.AuctionStatus.ONGOING
+          AND a.endDateTime < :endAt
+    """)
+    int extendEnd(@Param("id") Long id, @Param("endAt") LocalDateTime endAt);
+
+    // 💸 입찰 반영 (입찰 엔진이 순서대로 반영, 더 높은 현재가 / 더 늦은 종료 시각은 덮어쓰지 않음)
+    // 진행 중인 경매만 반영 → 0 이면 종료/즉시구매 이후 도착한 입찰 (호출 쪽에서 환불)
+    @Modifying
+    @Query("""
+        UPDATE AuctionItem a
+        SET a.currentPrice = CASE WHEN a.currentPrice < :price THEN :price ELSE a.currentPrice END,
+            a.bidCount = a.bidCount + :count,
+            a.endDateTime = CASE WHEN a.endDateTime < :endAt THEN :endAt ELSE a.endDateTime END
+        WHERE a.id = :id AND a.status = com.sharestory.sharestory_backend.dto.AuctionStatus.ONGOING
+    """)
+    int applyBids(@Param("id") Long id, @Param("price") int price, @Param("count") int count,
+                  @Param("endAt") LocalDateTime endAt);
+
 }
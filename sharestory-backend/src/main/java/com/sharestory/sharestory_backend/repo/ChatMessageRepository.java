@@ -2,35 +2,19 @@ package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.ChatMessage;
 import com.sharestory.sharestory_backend.domain.ChatRoom;
-import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByRoom_IdOrderByCreatedAtAsc(Long roomId);
 
-    // 전체 합계 (모든 방의 안읽은 메시지 개수)
-    @Query("SELECT COUNT(m) FROM ChatMessage m " +
-            "WHERE m.senderId <> :userId " +
-            "AND NOT EXISTS (" +
-            "   SELECT 1 FROM ChatRead r " +
-            "   WHERE r.message = m AND r.userId = :userId AND r.read = true" +
-            ")")
-    int countUnreadMessages(@Param("userId") Long userId);
-
-    // 특정 방의 안읽은 메시지 개수
-    @Query("SELECT COUNT(m) FROM ChatMessage m " +
-            "WHERE m.room.id = :roomId " +
-            "AND m.senderId <> :userId " +
-            "AND NOT EXISTS (" +
-            "   SELECT 1 FROM ChatRead r " +
-            "   WHERE r.message = m AND r.userId = :userId AND r.read = true" +
-            ")")
-    int countUnreadMessagesByRoom(@Param("roomId") Long roomId, @Param("userId") Long userId);
-
     void deleteAllByRoomId(Long roomId);
 
     Optional<ChatMessage> findTopByRoomOrderByCreatedAtDesc(ChatRoom room);
@@ -38,4 +22,56 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @Query("select m.id from ChatMessage m where m.room.id = :roomId")
     List<Long> findIdsByRoomId(@Param("roomId") Long roomId);
     void deleteAllByRoom_Id(Long roomId);
+
+    // 채팅 기록 최신 페이지 (room_id, created_at, id 인덱스 역순)
+    @Query("select m from ChatMessage m where m.room.id = :roomId " +
+            "order by m.createdAt desc, m.id desc")
+    Slice<ChatMessage> findLatestSlice(@Param("roomId") Long roomId, Pageable pageable);
+
+    // 커서 메시지 (createdAt, id) 이전 페이지
+    @Query("select m from ChatMessage m where m.room.id = :roomId " +
+            "and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id)) " +
+            "order by m.createdAt desc, m.id desc")
+    Slice<ChatMessage> findSliceBefore(@Param("roomId") Long roomId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("select max(m.id) from ChatMessage m where m.room.id = :roomId")
+    Long findMaxIdByRoomId(@Param("roomId") Long roomId);
+
+    // 읽음 워터마크 구간 (afterId, uptoId] 에서 상대가 보낸 메시지 = 이번에 읽힌 메시지
+    @Query("select m.id from ChatMessage m " +
+            "where m.room.id = :roomId and m.senderId <> :readerId " +
+            "and m.id > :afterId and m.id <= :uptoId " +
+            "order by m.id")
+    List<Long> findIdsReadBetween(@Param("roomId") Long roomId,
+                                  @Param("readerId") Long readerId,
+                                  @Param("afterId") Long afterId,
+                                  @Param("uptoId") Long uptoId);
+
+    // 방별 안읽은 메시지 수: 내 워터마크 이후 상대(시스템 포함)가 보낸 메시지
+    @Query("select r.id, count(m) from ChatMessage m join m.room r " +
+            "left join ChatReadMark k on k.roomId = r.id and k.userId = :userId " +
+            "where (r.buyerId = :userId or r.sellerId = :userId) " +
+            "and m.senderId <> :userId " +
+            "and m.id > coalesce(k.lastReadMessageId, 0) " +
+            "group by r.id")
+    List<Object[]> countUnreadGroupByRoom(@Param("userId") Long userId);
+
+    // 전체 (구매자, 방)별 안읽은 메시지 수 (안읽은 수 카운터 재계산용)
+    @Query("select r.buyerId, r.id, count(m) from ChatMessage m join m.room r " +
+            "left join ChatReadMark k on k.roomId = r.id and k.userId = r.buyerId " +
+            "where m.senderId <> r.buyerId " +
+            "and m.id > coalesce(k.lastReadMessageId, 0) " +
+            "group by r.buyerId, r.id")
+    List<Object[]> countAllUnreadForBuyers();
+
+    // 전체 (판매자, 방)별 안읽은 메시지 수
+    @Query("select r.sellerId, r.id, count(m) from ChatMessage m join m.room r " +
+            "left join ChatReadMark k on k.roomId = r.id and k.userId = r.sellerId " +
+            "where m.senderId <> r.sellerId " +
+            "and m.id > coalesce(k.lastReadMessageId, 0) " +
+            "group by r.sellerId, r.id")
+    List<Object[]> countAllUnreadForSellers();
 }
\ No newline at end of file
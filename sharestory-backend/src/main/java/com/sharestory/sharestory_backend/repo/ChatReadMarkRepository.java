@@ -0,0 +1,40 @@
+package com.sharestory.sharestory_backend.repo;
+
+import com.sharestory.sharestory_backend.domain.ChatReadMark;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ChatReadMarkRepository extends JpaRepository<ChatReadMark, Long> {
+
+    @Query("select k.lastReadMessageId from ChatReadMark k where k.roomId = :roomId and k.userId = :userId")
+    Optional<Long> findLastReadMessageId(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    // 워터마크 전진 (행 1개 upsert, 뒤로 가지 않음)
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_mark (room_id, user_id, last_read_message_id, updated_at) " +
+            "VALUES (:roomId, :userId, :messageId, NOW(6)) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "  last_read_message_id = GREATEST(last_read_message_id, VALUES(last_read_message_id)), " +
+            "  updated_at = VALUES(updated_at)", nativeQuery = true)
+    int advance(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    // chat_read → 워터마크 이관 (이미 워터마크가 있는 (방, 사용자)는 건너뜀)
+    // 첫 안읽은 메시지 직전까지를 읽음으로, 안읽은 기록이 없으면 받은 메시지 중 최대 id 까지
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO chat_read_mark (room_id, user_id, last_read_message_id, updated_at) " +
+            "SELECT m.room_id, cr.user_id, " +
+            "       COALESCE(MIN(CASE WHEN cr.is_read = 0 THEN m.id END) - 1, MAX(m.id)), " +
+            "       COALESCE(MAX(cr.read_at), NOW(6)) " +
+            "FROM chat_read cr JOIN chat_message m ON m.id = cr.message_id " +
+            "WHERE cr.user_id IS NOT NULL " +
+            "GROUP BY m.room_id, cr.user_id", nativeQuery = true)
+    int migrateFromChatRead();
+
+    @Modifying
+    @Query("delete from ChatReadMark k where k.roomId = :roomId")
+    void deleteAllByRoomId(@Param("roomId") Long roomId);
+}
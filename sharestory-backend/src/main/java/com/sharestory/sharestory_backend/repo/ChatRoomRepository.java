@@ -2,7 +2,11 @@ package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,51 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     List<ChatRoom> findByItem_Id(Long itemId);
     List<ChatRoom> findByAuctionItem_Id(Long auctionItemId);
 
-}
\ No newline at end of file
+    /** 채팅 목록 한 줄 (방 + 상품/경매 요약 + 상대 닉네임 + 마지막 메시지) */
+    interface InboxRow {
+        Long getRoomId();
+        LocalDateTime getUpdatedAt();
+        String getLastMessagePreview();
+        String getItemTitle();
+        String getItemImageUrl();
+        Integer getItemPrice();
+        String getAuctionTitle();
+        String getAuctionImageUrl();
+        Integer getAuctionPrice();
+        String getPartnerName();
+    }
+
+    // 채팅 목록: 방/상품/상대 닉네임을 한 번에 (방마다 추가 조회 없음)
+    @Query("select r.id as roomId, r.updatedAt as updatedAt, r.lastMessagePreview as lastMessagePreview, " +
+            "i.title as itemTitle, i.imageUrl as itemImageUrl, i.price as itemPrice, " +
+            "a.title as auctionTitle, a.mainImageUrl as auctionImageUrl, a.currentPrice as auctionPrice, " +
+            "u.nickname as partnerName " +
+            "from ChatRoom r " +
+            "left join r.item i " +
+            "left join r.auctionItem a " +
+            "left join User u on u.id = (case when r.buyerId = :userId then r.sellerId else r.buyerId end) " +
+            "where r.buyerId = :userId or r.sellerId = :userId " +
+            "order by r.updatedAt desc")
+    List<InboxRow> findInbox(@Param("userId") Long userId);
+
+    // 새 메시지 반영 (엔티티 조회 없이, 더 최신 메시지가 있으면 건너뜀)
+    @Modifying
+    @Query("update ChatRoom r set r.lastMessageId = :messageId, r.lastMessagePreview = :preview, " +
+            "r.lastMessageAt = :at, r.updatedAt = :at " +
+            "where r.id = :roomId and (r.lastMessageId is null or r.lastMessageId < :messageId)")
+    int updateLastMessage(@Param("roomId") Long roomId,
+                          @Param("messageId") Long messageId,
+                          @Param("preview") String preview,
+                          @Param("at") LocalDateTime at);
+
+    // 마지막 메시지 컬럼 백필 (기존 방: 방별 최대 id 메시지)
+    @Modifying
+    @Query(value = "UPDATE chat_room r " +
+            "JOIN (SELECT room_id, MAX(id) AS last_id FROM chat_message GROUP BY room_id) x ON x.room_id = r.id " +
+            "JOIN chat_message m ON m.id = x.last_id " +
+            "SET r.last_message_id = m.id, " +
+            "    r.last_message_preview = LEFT(m.content, " + ChatRoom.PREVIEW_LENGTH + "), " +
+            "    r.last_message_at = m.created_at " +
+            "WHERE r.last_message_id IS NULL", nativeQuery = true)
+    int backfillLastMessage();
+}
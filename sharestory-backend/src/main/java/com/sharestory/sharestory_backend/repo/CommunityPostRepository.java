@@ -2,12 +2,13 @@ package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.CommunityPost;
 import com.sharestory.sharestory_backend.domain.User;
-import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommunityPostRepository extends JpaRepository<CommunityPost, Long> {
@@ -21,9 +22,10 @@ public interface CommunityPostRepository extends JpaRepository<CommunityPost, Lo
     @EntityGraph(attributePaths = "author")
     List<CommunityPost> findAll();
 
+    /** 조회수 write-behind 반영 (같은 증가량끼리 묶어서 한 번에) */
     @Modifying
-    @Query("UPDATE CommunityPost p SET p.viewCount = p.viewCount + 1 WHERE p.id = :postId")
-    void incrementViewCount(@Param("postId") Long postId);
+    @Query("UPDATE CommunityPost p SET p.viewCount = p.viewCount + :delta WHERE p.id IN :ids")
+    int addViewCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
 
 
     List<CommunityPost> findByAuthor(User author);
@@ -2,10 +2,23 @@ package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.FcmToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface FcmTokenRepository extends JpaRepository<FcmToken, Long> {
     Optional<FcmToken> findByUserId(Long userId);
     void deleteByToken(String token);
+
+    /** 전송 묶음의 수신자 토큰 일괄 조회 */
+    List<FcmToken> findByUserIdIn(Collection<Long> userIds);
+
+    /** 무효 토큰 일괄 삭제 */
+    @Modifying
+    @Query("DELETE FROM FcmToken t WHERE t.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
 }
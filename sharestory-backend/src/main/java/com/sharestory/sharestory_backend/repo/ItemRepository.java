@@ -4,6 +4,7 @@ import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.dto.ItemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -20,15 +22,59 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Page<Item> findByStatus(ItemStatus status, Pageable pageable);
     Page<Item> findByStatusIn(List<ItemStatus> statuses, Pageable pageable);
+    // offset 페이징이지만 count 쿼리 없이 (구버전 page 파라미터 호환용)
+    Slice<Item> findSliceByStatusIn(Collection<ItemStatus> statuses, Pageable pageable);
+
+    /* ===== 목록 keyset 페이징: (정렬값, id) 커서 / Slice → count 쿼리 없음 ===== */
+
+    @Query("select i from Item i where i.status in :statuses order by i.createdDate desc, i.id desc")
+    Slice<Item> findLatestSlice(@Param("statuses") Collection<ItemStatus> statuses, Pageable pageable);
+
+    @Query("select i from Item i where i.status in :statuses " +
+            "and (i.createdDate < :createdDate or (i.createdDate = :createdDate and i.id < :id)) " +
+            "order by i.createdDate desc, i.id desc")
+    Slice<Item> findLatestSliceAfter(@Param("statuses") Collection<ItemStatus> statuses,
+                                     @Param("createdDate") LocalDateTime createdDate,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    @Query("select i from Item i where i.status in :statuses order by i.favoriteCount desc, i.id desc")
+    Slice<Item> findFavoritesSlice(@Param("statuses") Collection<ItemStatus> statuses, Pageable pageable);
+
+    @Query("select i from Item i where i.status in :statuses " +
+            "and (i.favoriteCount < :count or (i.favoriteCount = :count and i.id < :id)) " +
+            "order by i.favoriteCount desc, i.id desc")
+    Slice<Item> findFavoritesSliceAfter(@Param("statuses") Collection<ItemStatus> statuses,
+                                        @Param("count") Integer count,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    @Query("select i from Item i where i.status in :statuses order by i.viewCount desc, i.id desc")
+    Slice<Item> findViewsSlice(@Param("statuses") Collection<ItemStatus> statuses, Pageable pageable);
+
+    @Query("select i from Item i where i.status in :statuses " +
+            "and (i.viewCount < :count or (i.viewCount = :count and i.id < :id)) " +
+            "order by i.viewCount desc, i.id desc")
+    Slice<Item> findViewsSliceAfter(@Param("statuses") Collection<ItemStatus> statuses,
+                                    @Param("count") Integer count,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
     @EntityGraph(attributePaths = {"images"})
     Optional<Item> findWithImagesById(Long id);
 
+    // 조회수 write-behind 반영 (같은 증가량끼리 묶어서 한 번에)
     @Modifying
-    @Query("update Item i set i.viewCount = i.viewCount + 1 where i.id = :id")
-    void incrementViewCount(@Param("id") Long id);
+    @Query("update Item i set i.viewCount = i.viewCount + :delta where i.id in :ids")
+    int addViewCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
 
     List<Item> findByUserId(Long userId);
 
+    // 재색인용 keyset 페이징 (검색 노출 상태만, id > lastId, count 쿼리 없음)
+    List<Item> findByIdGreaterThanAndStatusInOrderByIdAsc(Long lastId, Collection<ItemStatus> statuses, Pageable pageable);
+
+    long countByStatusIn(Collection<ItemStatus> statuses);
+
     List<Item> findByBuyerIdAndStatusIn(Long buyerId, Collection<ItemStatus> statuses);
 
     // 로그인한 유저가 구매자로 참여 중인 안전거래
@@ -4,7 +4,10 @@ import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.domain.Order;
 import com.sharestory.sharestory_backend.dto.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +17,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByStatusAndAuctionItemIdNotNull(OrderStatus status);
     Optional<Order> findByItem_Id(Long itemId);
     boolean existsByItem_Id(Long itemId);
+
+    // 목록 카드 안전거래 여부 일괄 확인 (상품별 exists 쿼리 대체)
+    @Query("select o.item.id from Order o where o.item.id in :itemIds")
+    List<Long> findItemIdsWithOrder(@Param("itemIds") Collection<Long> itemIds);
     Optional<Order> findByAuctionItemId(Long auctionItemId);
     Optional<Order> findByAuctionItem_Id(Long auctionItemId);
 
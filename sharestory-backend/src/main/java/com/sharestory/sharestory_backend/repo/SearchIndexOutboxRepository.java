@@ -0,0 +1,18 @@
+package com.sharestory.sharestory_backend.repo;
+
+import com.sharestory.sharestory_backend.domain.SearchIndexOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SearchIndexOutboxRepository extends JpaRepository<SearchIndexOutbox, Long> {
+
+    // 처리 시각이 도래한 이벤트 (오래된 순)
+    List<SearchIndexOutbox> findByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime now, Pageable pageable);
+
+    // 가장 오래된 미처리 이벤트 (lag 측정용)
+    Optional<SearchIndexOutbox> findTopByOrderByIdAsc();
+}
@@ -2,10 +2,31 @@ package com.sharestory.sharestory_backend.repo;
 
 import com.sharestory.sharestory_backend.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
     Optional<User> findByEmail(String email);
+
+    /** 토큰 버전 +1 → 기존 access token 무효화 */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId);
+
+    /** 포인트 차감 (잔액이 부족하면 0 건) */
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points - :amount WHERE u.id = :userId AND u.points >= :amount")
+    int debitPoints(@Param("userId") Long userId, @Param("amount") int amount);
+
+    /** 포인트 적립 */
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points + :amount WHERE u.id = :userId")
+    int creditPoints(@Param("userId") Long userId, @Param("amount") int amount);
+
+    @Query("SELECT u.points FROM User u WHERE u.id = :userId")
+    Optional<Integer> findPointsById(@Param("userId") Long userId);
 }
\ No newline at end of file
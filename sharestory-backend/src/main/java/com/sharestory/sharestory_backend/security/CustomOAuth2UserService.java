@@ -2,6 +2,7 @@ package com.sharestory.sharestory_backend.security;
 
 import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.repo.UserRepository;
+import com.sharestory.sharestory_backend.service.ChatLookupCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
@@ -16,6 +17,8 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
+    private final ChatLookupCache chatLookupCache;
+    private final PrincipalCache principalCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -47,10 +50,17 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
         // ✅ 공통 정보 업데이트
         if (info.email() != null) entity.setEmail(info.email());
+        boolean nicknameChanged = entity.getId() != null && info.nickname() != null
+                && !info.nickname().equals(entity.getNickname());
         if (info.nickname() != null) entity.setNickname(info.nickname());
         entity.setLastLoginAt(Instant.now());
         userRepository.save(entity);
 
+        // ✅ 닉네임 변경 → 채팅/경매 닉네임 캐시 무효화
+        if (nicknameChanged) chatLookupCache.evictUser(entity.getId());
+        // ✅ 로그인 시 사용자 정보 갱신 → 인증 사용자 캐시 무효화
+        principalCache.evict(entity.getId());
+
         // ✅ CustomUserDetails 반환 (OAuth2User + UserDetails 겸용)
         return new CustomUserDetails(entity, attrs);
     }
@@ -1,6 +1,7 @@
 package com.sharestory.sharestory_backend.security;
 
 import com.sharestory.sharestory_backend.domain.User;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,7 +9,9 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Getter
 public class CustomUserDetails implements UserDetails, OAuth2User {
@@ -23,13 +26,26 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
     private final Map<String, Object> attributes;
     private final User user;
 
+    // 토큰 클레임 기반일 때 전체 User 가 필요하면 지연 조회
+    @Getter(AccessLevel.NONE)
+    private final Supplier<User> userLoader;
+
     // User 엔티티 기반 생성자
     public CustomUserDetails(User user) {
-        this(user, Map.of(
-                "userId", user.getId(),
-                "role", user.getRole(),
-                "nickname", user.getNickname()
-        ));
+        this(user, attributesOf(user.getId(), user.getRole(), user.getNickname()));
+    }
+
+    // 토큰 클레임 기반 생성자 (DB 조회 없음, getUser() 는 userLoader 로 지연 조회)
+    public CustomUserDetails(Long id, String role, String nickname, Supplier<User> userLoader) {
+        this.id = id;
+        this.email = null;
+        this.nickname = nickname;
+        this.role = role;
+        this.provider = null;
+        this.providerId = null;
+        this.attributes = attributesOf(id, role, nickname);
+        this.user = null;
+        this.userLoader = userLoader;
     }
 
 
@@ -43,10 +59,21 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
         this.providerId = user.getProviderId();
         this.attributes = attributes != null ? attributes : Collections.emptyMap();
         this.user = user;
+        this.userLoader = null;
     }
 
     public User getUser() {
-        return this.user;
+        if (this.user != null || this.userLoader == null) return this.user;
+        return this.userLoader.get();
+    }
+
+    // Map.of 는 null 값을 허용하지 않음 (닉네임 미설정 사용자)
+    private static Map<String, Object> attributesOf(Long id, String role, String nickname) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("userId", id);
+        attributes.put("role", role);
+        attributes.put("nickname", nickname);
+        return attributes;
     }
 
     @Override
@@ -56,7 +83,8 @@ public class CustomUserDetails implements UserDetails, OAuth2User {
 
     @Override
     public String getUsername() {
-        return email != null ? email : provider + "_" + providerId;
+        if (email != null) return email;
+        return provider != null ? provider + "_" + providerId : String.valueOf(id);
     }
 
     // 소셜 로그인은 비밀번호 불필요 → 빈 문자열 반환
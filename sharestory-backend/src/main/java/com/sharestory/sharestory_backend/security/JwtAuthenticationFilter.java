@@ -1,15 +1,15 @@
 package com.sharestory.sharestory_backend.security;
 
 import com.sharestory.sharestory_backend.domain.User;
-import com.sharestory.sharestory_backend.repo.UserRepository;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,14 +19,28 @@ import java.io.IOException;
 
 
 
+/**
+ * access token 인증 필터
+ * - stateless(기본): role / nickname 클레임으로 principal 생성, 전체 User 는 getUser() 호출 시에만 캐시에서 조회
+ * - db: 캐시된 User 엔티티로 principal 생성 (이전 방식)
+ * - 두 모드 모두 ver 클레임과 사용자 토큰 버전을 비교해 폐기된 토큰 거부 (사용자 조회는 PrincipalCache TTL 동안 재사용)
+ */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private final JwtService jwt;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final boolean stateless;
+
+    public JwtAuthenticationFilter(JwtService jwt,
+                                   PrincipalCache principalCache,
+                                   @Value("${app.jwt.auth-mode:stateless}") String authMode) {
+        this.jwt = jwt;
+        this.principalCache = principalCache;
+        this.stateless = !"db".equalsIgnoreCase(authMode);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -52,19 +66,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (StringUtils.hasText(token)) {
             try {
-                var claims = jwt.parse(token).getBody();
+                var claims = jwt.verify(token);
                 Long userId = Long.valueOf(claims.getSubject());
 
-                User userEntity = userRepository.findById(userId)
+                User userEntity = principalCache.get(userId)
                         .orElseThrow(() -> new RuntimeException("User not found: " + userId));
-
-                CustomUserDetails userDetails = new CustomUserDetails(userEntity);
-
-                var auth = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+                if (jwt.getTokenVersion(claims) != userEntity.getTokenVersion()) {
+                    throw new RuntimeException("revoked token: " + userId);
+                }
+
+                Authentication auth;
+                if (stateless) {
+                    auth = jwt.getAuthentication(claims, () -> principalCache.require(userId));
+                } else {
+                    CustomUserDetails userDetails = new CustomUserDetails(userEntity);
+                    auth = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+                }
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
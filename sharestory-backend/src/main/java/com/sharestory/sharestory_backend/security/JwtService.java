@@ -15,27 +15,46 @@ import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 @Slf4j
 @Component
 public class JwtService {
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NICKNAME = "nickname";
+    public static final String CLAIM_VERSION = "ver";
+
     private final SecretKey key;
+    // 파서는 불변/스레드 안전 → 한 번만 생성해 재사용
+    private final JwtParser parser;
+    // 검증 완료 토큰 → Claims (필터 / STOMP / 토큰 갱신 공용)
+    private final VerifiedTokenCache verifiedTokens;
     private final long accessExpSec;
     private final long refreshExpSec;
 
     public JwtService(@Value("${app.jwt.secret}") String secret,
                       @Value("${app.jwt.access-exp-seconds}") long accessExpSec,
-                      @Value("${app.jwt.refresh-exp-seconds}") long refreshExpSec) {
+                      @Value("${app.jwt.refresh-exp-seconds}") long refreshExpSec,
+                      VerifiedTokenCache verifiedTokens) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = verifiedTokens;
         this.accessExpSec = accessExpSec;
         this.refreshExpSec = refreshExpSec;
     }
 
-    public String createAccessToken(Long userId, String role) {
+    // access token 에 role / nickname / 토큰 버전을 담아 요청마다 DB 조회 없이 인증
+    public String createAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, user.getRole());
+        if (user.getNickname() != null) claims.put(CLAIM_NICKNAME, user.getNickname());
+        claims.put(CLAIM_VERSION, user.getTokenVersion());
+
         Instant now = Instant.now();
         return Jwts.builder()
-                .setSubject(String.valueOf(userId))
-                .addClaims(Map.of("role", role))
+                .setSubject(String.valueOf(user.getId()))
+                .addClaims(claims)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusSeconds(accessExpSec)))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -53,14 +72,21 @@ public class JwtService {
                 .compact();
     }
 
-    public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+    // ✅ 서명/만료 검증 후 Claims 반환 (검증 결과는 토큰 exp 까지 캐시, 실패 시 JwtException)
+    public Claims verify(String token) {
+        return verifiedTokens.get(token, t -> parser.parseClaimsJws(t).getBody());
+    }
+
+    // ✅ 토큰 버전 (ver 클레임이 없는 이전 토큰은 0)
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        return version != null ? version : 0;
     }
 
     // ✅ 토큰 유효성 검사 (상세 로그 포함)
     public boolean validateToken(String token) {
         try {
-            parse(token); // 유효하면 그냥 통과
+            verify(token); // 유효하면 그냥 통과
             return true;
         } catch (ExpiredJwtException e) {
             log.warn("❌ JWT 만료: {}", e.getMessage());
@@ -75,7 +101,7 @@ public class JwtService {
     // ✅ 토큰에서 userId 추출 (StompAuthInterceptor용)
     public Long getUserIdFromToken(String token) {
         try {
-            Claims claims = parse(token).getBody();
+            Claims claims = verify(token);
             String subject = claims.getSubject();
             if (subject == null) {
                 log.warn("⚠️ JWT에 subject(userId)가 없습니다.");
@@ -88,21 +114,13 @@ public class JwtService {
         }
     }
 
-    // ✅ StompAuthInterceptor / JwtAuthenticationFilter 에서 사용할 Authentication 반환
-    public Authentication getAuthentication(String token) {
-        Claims claims = parse(token).getBody();
-
+    // ✅ 클레임만으로 Authentication 생성 (DB 조회 없음, 전체 User 는 userLoader 로 지연 조회)
+    public Authentication getAuthentication(Claims claims, Supplier<User> userLoader) {
         Long userId = Long.valueOf(claims.getSubject());
-        String role = claims.get("role", String.class);
-        String nickname = claims.get("nickname", String.class); // 필요하다면 nickname도 넣기
-
-        // DB를 안 거치고 최소한의 정보만 담은 User 객체 생성
-        User tempUser = new User();
-        tempUser.setId(userId);
-        tempUser.setRole(role);
-        tempUser.setNickname(nickname);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        String nickname = claims.get(CLAIM_NICKNAME, String.class);
 
-        CustomUserDetails userDetails = new CustomUserDetails(tempUser);
+        CustomUserDetails userDetails = new CustomUserDetails(userId, role, nickname, userLoader);
 
         return new UsernamePasswordAuthenticationToken(
                 userDetails,              // principal
@@ -49,10 +49,9 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
         // ✅ CustomUserDetails 로 캐스팅
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long userId = userDetails.getId();
-        String role = userDetails.getRole();
 
-        // 토큰 발급
-        String access = jwt.createAccessToken(userId, role);
+        // 토큰 발급 (role / nickname / 토큰 버전 클레임 포함)
+        String access = jwt.createAccessToken(userDetails.getUser());
         String refresh = jwt.createRefreshToken(userId);
 
         // RefreshToken 저장 또는 갱신
@@ -0,0 +1,119 @@
+package com.sharestory.sharestory_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sharestory.sharestory_backend.domain.User;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 인증 사용자 캐시 (인스턴스 로컬 Caffeine, 짧은 TTL)
+ * - 요청마다 users 조회 대신 userId → User 스냅샷을 TTL 동안 재사용 (읽기 전용으로만 사용)
+ * - 토큰 버전(ver 클레임) 확인과 전체 User 가 필요한 엔드포인트(getUser())에서 사용
+ * - 토큰 폐기/정보 변경 시 커밋 후 로컬 + 다른 인스턴스(cache:auth:evict 채널)에서 무효화
+ */
+@Slf4j
+@Component
+public class PrincipalCache implements MessageListener {
+
+    private static final String EVICT_CHANNEL = "cache:auth:evict";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redis;
+    private final Cache<Long, User> users;
+
+    public PrincipalCache(UserRepository userRepository,
+                          StringRedisTemplate redis,
+                          RedisMessageListenerContainer listenerContainer,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.jwt.principal-cache.size:20000}") long size,
+                          @Value("${app.jwt.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.redis = redis;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "auth.principal");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /** 사용자 스냅샷 (없는 사용자는 캐시하지 않음) */
+    public Optional<User> get(Long userId) {
+        if (userId == null) return Optional.empty();
+        User cached = users.getIfPresent(userId);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(u -> users.put(userId, u));
+        return loaded;
+    }
+
+    /** 사용자 스냅샷 (없으면 예외) */
+    public User require(Long userId) {
+        return get(userId).orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    }
+
+    /** 🔒 토큰 폐기: 토큰 버전 +1 → 이미 발급된 access token 은 다음 요청부터 거부 */
+    @Transactional
+    public void revoke(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        evict(userId);
+        log.info("[AUTH] 토큰 폐기: userId={}", userId);
+    }
+
+    /** ✏️ 사용자 정보 변경 → 커밋 후 무효화 */
+    public void evict(Long userId) {
+        afterCommit(() -> {
+            users.invalidate(userId);
+            try {
+                redis.convertAndSend(EVICT_CHANNEL, String.valueOf(userId));
+            } catch (DataAccessException e) {
+                // 다른 인스턴스는 TTL 로 만료
+                log.warn("[AUTH] 무효화 전파 실패 (userId={}): {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            users.invalidate(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("[AUTH] 잘못된 무효화 메시지 무시: {}", body);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
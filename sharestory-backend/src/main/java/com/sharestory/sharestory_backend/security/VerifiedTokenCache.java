@@ -0,0 +1,94 @@
+package com.sharestory.sharestory_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * 검증 완료 토큰 캐시 (SHA-256(token) → Claims)
+ * - 같은 토큰의 서명 검증(HMAC) + base64/JSON 파싱을 요청마다 반복하지 않도록 결과 재사용
+ * - 항목 수명은 min(max-ttl, 토큰 exp) → 만료된 토큰은 캐시에서도 통과하지 못함
+ * - 검증 실패는 캐시하지 않음 (원문 토큰 대신 digest 만 보관)
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Claims> verified;
+    private final long maxTtlNanos;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${app.jwt.verified-cache.size:50000}") long size,
+                              @Value("${app.jwt.verified-cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return ttlNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return ttlNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "auth.token.verified");
+    }
+
+    /** 캐시에 있으면 Claims 반환, 없으면 verifier 로 검증 후 저장 (verifier 예외는 그대로 전파) */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        String key = digest(token);
+        Claims cached = verified.getIfPresent(key);
+        if (cached != null) {
+            // exp 직후 아직 정리되지 않은 항목 → 다시 검증해 ExpiredJwtException 이 나도록
+            if (!isExpired(cached)) return cached;
+            verified.invalidate(key);
+        }
+
+        Claims claims = verifier.apply(token);
+        verified.put(key, claims);
+        return claims;
+    }
+
+    private long ttlNanos(Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) return maxTtlNanos;
+        long remaining = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+        return Math.max(0, Math.min(maxTtlNanos, remaining));
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.getTime() <= System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
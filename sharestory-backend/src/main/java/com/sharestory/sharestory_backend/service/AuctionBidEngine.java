@@ -0,0 +1,377 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.domain.AuctionBidReservation;
+import com.sharestory.sharestory_backend.domain.AuctionItem;
+import com.sharestory.sharestory_backend.dto.AuctionStatus;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import com.sharestory.sharestory_backend.repo.AuctionBidReservationRepository;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * 경매 입찰 엔진 (경매별 공유 호가창, AuctionBookStore)
+ * - 호가창(현재가 / 입찰 단위 / 최고 입찰자 / 입찰자별 입찰가)은 Redis 에 두고 모든 인스턴스가 공유
+ * - 입찰 흐름
+ *   1) 검증만 먼저 (종료, 판매자 본인, 최소가, 즉시구매가) → 대부분의 거절은 DB 접근 없이 끝남
+ *   2) 포인트 선차감: UPDATE ... WHERE points >= 차감액 1회 + 선차감 기록(auction_bid_reservation) 을 한 트랜잭션으로
+ *      (경매 row lock 없음, 저장 전에 중단돼도 AuctionBidReconciler 가 기록 기준으로 환불)
+ *   3) Lua 스크립트로 재검증 + 본인 기존 입찰가 compare-and-set 후 수락 → AuctionBidWriter 큐에 적재
+ *   4) 거절되면 선차감 기록 삭제 + 환불 (한 트랜잭션)
+ * - 저장(포인트 내역, AuctionBid, 경매 현재가)은 AuctionBidWriter 가 비동기 처리, 저장 대기분은 호가창 pending 에 기록
+ * - 호가창은 첫 입찰 시 AuctionItem + AuctionBid 로 복구 (재시작 후에도 동일)
+ * - 경매 종료/즉시구매 처리 전 fence() 로 신규 입찰을 막고 저장 대기분을 모두 반영한 뒤 DB 기준으로 처리
+ */
+@Slf4j
+@Component
+public class AuctionBidEngine {
+
+    /** 입찰 결과 (수락 시점의 호가창 상태) */
+    public record BidResult(Long auctionId, int currentPrice, int bidCount, Long leaderId,
+                            String leaderName, LocalDateTime endAt, boolean extended) {}
+
+    private final AuctionItemRepository auctionItemRepository;
+    private final AuctionBidRepository auctionBidRepository;
+    private final UserRepository userRepository;
+    private final AuctionBidReservationRepository reservationRepository;
+    private final ChatLookupCache lookupCache;
+    private final AuctionBidWriter writer;
+    private final AuctionBookStore store;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+
+    private final boolean enabled;
+    private final long drainTimeoutMs;
+    private final boolean softCloseEnabled;
+    private final long softCloseWindowSeconds;
+    private final long softCloseExtendSeconds;
+
+    private final Timer acceptTimer;
+    private final Counter rejectedCounter;
+
+    public AuctionBidEngine(AuctionItemRepository auctionItemRepository,
+                            AuctionBidRepository auctionBidRepository,
+                            UserRepository userRepository,
+                            AuctionBidReservationRepository reservationRepository,
+                            ChatLookupCache lookupCache,
+                            AuctionBidWriter writer,
+                            AuctionBookStore store,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.auction.engine.enabled:true}") boolean enabled,
+                            @Value("${app.auction.engine.drain-timeout-ms:5000}") long drainTimeoutMs,
+                            @Value("${app.auction.soft-close.enabled:false}") boolean softCloseEnabled,
+                            @Value("${app.auction.soft-close.window-seconds:30}") long softCloseWindowSeconds,
+                            @Value("${app.auction.soft-close.extend-seconds:30}") long softCloseExtendSeconds) {
+        this.auctionItemRepository = auctionItemRepository;
+        this.auctionBidRepository = auctionBidRepository;
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.lookupCache = lookupCache;
+        this.writer = writer;
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.softCloseEnabled = softCloseEnabled;
+        this.softCloseWindowSeconds = softCloseWindowSeconds;
+        this.softCloseExtendSeconds = softCloseExtendSeconds;
+
+        this.acceptTimer = meterRegistry.timer("auction.engine.accept");
+        this.rejectedCounter = meterRegistry.counter("auction.engine.rejected");
+
+        writer.onFailure(this::onPersistFailed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ⏳ 마감 임박 입찰 시 연장된 종료 시각 (app.auction.soft-close)
+     * - 종료 window-seconds 이내 입찰이면 종료 시각 + extend-seconds, 아니면 null
+     * - 기존 row lock 입찰 경로도 같은 규칙 사용 (호가창은 같은 규칙을 Lua 스크립트 안에서 적용)
+     */
+    public LocalDateTime softCloseEnd(LocalDateTime endAt, LocalDateTime now) {
+        if (!softCloseEnabled || endAt == null || !endAt.isAfter(now)) return null;
+        if (endAt.isAfter(now.plusSeconds(softCloseWindowSeconds))) return null;
+        return endAt.plusSeconds(softCloseExtendSeconds);
+    }
+
+    /** 💸 입찰 (검증 실패는 IllegalArgumentException / IllegalStateException) */
+    public BidResult placeBid(Long auctionId, Long userId, int bidPrice) {
+        long startedAt = System.nanoTime();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                BidResult result = tryPlace(auctionId, userId, bidPrice);
+                if (result != null) {
+                    acceptTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+                    return result;
+                }
+                // 호가창이 없거나 교체됨 → 적재 후 한 번만 재시도
+                if (attempt > 0) throw new IllegalStateException("입찰 처리 중 경매 상태가 변경되었습니다. 다시 시도해주세요.");
+                load(auctionId);
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    /** 수락 시 결과, 호가창이 없어 적재가 필요하면 null */
+    private BidResult tryPlace(Long auctionId, Long userId, int bidPrice) {
+        AuctionBookStore.Outcome check = store.check(auctionId, userId, bidPrice, System.currentTimeMillis());
+        if (check.status() == AuctionBookStore.Status.MISSING) return null;
+        raise(check);
+
+        int previousBid = check.previousBid();
+        int amount = bidPrice - previousBid;
+        String bidderName = lookupCache.nickname(userId, null);
+        Reservation reservation = reserve(auctionId, userId, bidPrice, amount);
+
+        boolean accepted = false;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            String token = String.valueOf(reservation.id());
+            AuctionBookStore.Outcome outcome = store.accept(auctionId, userId, bidPrice, previousBid,
+                    toEpochMs(now),
+                    softCloseEnabled ? TimeUnit.SECONDS.toMillis(softCloseWindowSeconds) : 0,
+                    TimeUnit.SECONDS.toMillis(softCloseExtendSeconds),
+                    token);
+            if (outcome.status() == AuctionBookStore.Status.MISSING) return null;
+            raise(outcome);
+            accepted = true; // 호가창 반영 완료 → 이후 저장 실패는 writer 의 failureHandler 가 환불
+
+            LocalDateTime endAt = toDateTime(outcome.endAtMs());
+            if (outcome.extended()) persistEnd(auctionId, endAt);
+            List<Long> outbid = outcome.bidders().stream().filter(id -> !id.equals(userId)).toList();
+            writer.submit(new AuctionBidWriter.AcceptedBid(
+                    reservation.id(), auctionId, outcome.detail(), userId,
+                    bidderName, bidPrice, previousBid, reservation.balanceAfter(),
+                    now, endAt, outbid));
+            return new BidResult(auctionId, bidPrice, outcome.bidCount(), userId,
+                    bidderName, endAt, outcome.extended());
+        } finally {
+            if (!accepted) refund(reservation.id(), userId, amount);
+        }
+    }
+
+    /**
+     * ⏳ 연장된 종료 시각을 바로 DB 에 반영 (경매 행 UPDATE, 비동기 저장을 기다리지 않음)
+     * - 호가창이 만료/재적재돼도 연장이 유지됨 (종료 판단은 호가창 closeIfDue 가 원자적으로 처리)
+     */
+    private void persistEnd(Long auctionId, LocalDateTime endAt) {
+        try {
+            tx.executeWithoutResult(status -> auctionItemRepository.extendEnd(auctionId, endAt));
+        } catch (Exception e) {
+            // 호가창에는 이미 반영됨, DB 는 writer 의 applyBids 가 다시 반영
+            log.warn("⚠️ [AUCTION ENGINE] 종료 시각 연장 반영 실패 (auctionId={}): {}", auctionId, e.getMessage());
+        }
+    }
+
+    /** 거절 사유별 예외 (기존 placeBid 와 같은 메시지) */
+    private void raise(AuctionBookStore.Outcome outcome) {
+        switch (outcome.status()) {
+            case OK -> { }
+            case CLOSED, ENDED, MISSING -> throw new IllegalStateException("이미 종료된 경매입니다.");
+            case SELF -> throw new IllegalStateException("자신의 상품에는 입찰할 수 없습니다.");
+            case TOO_LOW -> throw new IllegalArgumentException("입찰 금액은 최소 " + outcome.detail() + "원 이상이어야 합니다.");
+            case OVER_IMMEDIATE -> throw new IllegalStateException(
+                    String.format("입찰 금액이 즉시구매가(%,d원)를 초과합니다. 즉시구매를 이용해주세요.",
+                            Integer.parseInt(outcome.detail())));
+            case CONFLICT -> throw new IllegalStateException("동시에 진행 중인 입찰이 있습니다. 다시 시도해주세요.");
+        }
+    }
+
+    /** 선차감 결과 (id = 선차감 기록 id = 호가창 저장 대기 토큰) */
+    private record Reservation(Long id, int balanceAfter) {}
+
+    /** 포인트 선차감 + 선차감 기록 (한 트랜잭션) */
+    private Reservation reserve(Long auctionId, Long userId, int bidPrice, int amount) {
+        Reservation reservation = tx.execute(status -> {
+            if (userRepository.debitPoints(userId, amount) != 1) return null;
+            AuctionBidReservation saved = reservationRepository.save(AuctionBidReservation.builder()
+                    .auctionItemId(auctionId)
+                    .userId(userId)
+                    .bidPrice(bidPrice)
+                    .amount(amount)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return new Reservation(saved.getId(), userRepository.findPointsById(userId).orElse(0));
+        });
+        if (reservation == null) throw new IllegalStateException("보유 포인트가 부족합니다.");
+        return reservation;
+    }
+
+    /** 선차감 환불 (기록이 남아 있을 때만 → 저장/환불이 겹쳐도 한 번만) */
+    private void refund(Long reservationId, Long userId, int amount) {
+        try {
+            tx.executeWithoutResult(status -> {
+                if (reservationRepository.release(reservationId) == 1) userRepository.creditPoints(userId, amount);
+            });
+        } catch (Exception e) {
+            // 기록이 남아 있으므로 AuctionBidReconciler 가 나중에 환불
+            log.error("❌ [AUCTION ENGINE] 선차감 포인트 환불 실패 (reservationId={}, userId={}, amount={}): {}",
+                    reservationId, userId, amount, e.getMessage());
+        }
+    }
+
+    /**
+     * 🔄 AuctionItem + AuctionBid 로 호가창 복구
+     * - 저장 대기 입찰이 모두 반영된 뒤에 DB 조회 (저장 실패로 버려진 호가창을 다시 적재할 때 수락된 입찰 누락 방지)
+     * - 세대를 DB 조회보다 먼저 읽음 → 그 사이 evict 됐으면 (종료/즉시구매 커밋 등) 다시 읽음
+     */
+    private void load(Long auctionId) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            awaitPersisted(auctionId);
+            String generation = store.generation(auctionId);
+            AuctionBookStore.Snapshot snapshot = readOnlyTx.execute(status -> snapshot(auctionId));
+            if (store.init(auctionId, generation, snapshot)) {
+                log.debug("[AUCTION ENGINE] 호가창 적재: auctionId={}, 현재가={}, 입찰자 {}명",
+                        auctionId, snapshot.currentPrice(), snapshot.bids().size());
+                return;
+            }
+        }
+        throw new IllegalStateException("입찰 처리 중 경매 상태가 변경되었습니다. 다시 시도해주세요.");
+    }
+
+    private AuctionBookStore.Snapshot snapshot(Long auctionId) {
+        AuctionItem item = auctionItemRepository.findById(auctionId)
+                .orElseThrow(() -> new IllegalArgumentException("경매를 찾을 수 없습니다."));
+
+        Map<Long, Integer> bids = new HashMap<>();
+        AuctionBid top = null;
+        for (AuctionBid bid : auctionBidRepository.findByAuctionItemId(auctionId)) {
+            bids.merge(bid.getUserId(), bid.getBidPrice(), Math::max);
+            if (top == null || bid.getBidPrice() > top.getBidPrice()) top = bid;
+        }
+        return new AuctionBookStore.Snapshot(
+                item.getTitle(),
+                item.getSellerId(),
+                item.getBidUnit(),
+                item.getImmediatePrice(),
+                top != null ? Math.max(item.getCurrentPrice(), top.getBidPrice()) : item.getCurrentPrice(),
+                item.getBidCount(),
+                top != null ? top.getUserId() : null,
+                item.getEndDateTime() != null ? toEpochMs(item.getEndDateTime()) : 0,
+                item.getStatus() != null && item.getStatus() != AuctionStatus.ONGOING,
+                bids);
+    }
+
+    /**
+     * 🚧 경매 종료/즉시구매 처리 전 호출
+     * - 호가창을 닫아 (없으면 닫힌 자리표시) 모든 인스턴스의 신규 입찰을 막고
+     *   저장 대기 중인 입찰이 모두 DB 에 반영될 때까지 대기
+     * - 트랜잭션 종료(커밋/롤백) 후 호가창을 버려 다음 입찰은 DB 기준으로 다시 적재
+     *   (대기 시간 초과 등으로 롤백되면 닫았던 호가창을 다시 엶)
+     * - 호출 트랜잭션의 첫 조회보다 먼저 불러야 반영된 입찰이 보임 (MySQL 일관 읽기 스냅샷)
+     */
+    public void fence(Long auctionId) {
+        AuctionBookStore.CloseOutcome closed = store.close(auctionId, -1);
+        releaseAfterCompletion(auctionId, closed.wasOpen());
+        awaitPersisted(auctionId);
+    }
+
+    /**
+     * ⏰ 경매 종료 처리 전 호출 (AuctionScheduler.closeAuction)
+     * - 호가창 기준 종료 시각이 지났을 때만 닫음 (연장 확인과 닫기가 Lua 스크립트 1회 → 어느 인스턴스에서 불러도
+     *   그 직전에 수락된 연장 입찰을 놓치지 않고, 닫은 뒤에는 연장 입찰이 수락되지 않음)
+     * - 닫았으면 fence 와 동일하게 저장 대기분 반영까지 대기 후 null, 아직이면 호가창 기준 종료 시각
+     */
+    public LocalDateTime closeIfDue(Long auctionId) {
+        AuctionBookStore.CloseOutcome closed = store.close(auctionId, System.currentTimeMillis());
+        if (!closed.due()) return toDateTime(closed.endAtMs());
+        releaseAfterCompletion(auctionId, closed.wasOpen());
+        awaitPersisted(auctionId);
+        return null;
+    }
+
+    /**
+     * 트랜잭션 종료 후 호가창 정리
+     * - 커밋: 버림 → 다음 입찰은 DB 기준으로 다시 적재 (종료된 경매면 닫힌 호가창으로 적재)
+     * - 롤백: 이 트랜잭션이 닫은 호가창이면 그대로 다시 열기 (저장 대기 중인 입찰이 있어도 현재가 유지)
+     */
+    private void releaseAfterCompletion(Long auctionId, boolean reopenOnRollback) {
+        afterCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_ROLLED_BACK && reopenOnRollback) store.reopen(auctionId);
+            else store.evict(auctionId);
+        });
+    }
+
+    /**
+     * 저장 대기 입찰이 모두 반영될 때까지 대기
+     * - 시간 초과 시 예외 → 호출 트랜잭션 롤백 (종료 처리는 AuctionDeadlineScheduler 재시도, 즉시구매는 다시 요청)
+     *   대기분을 빼고 정산하면 늦게 저장된 입찰이 환불 없이 남음
+     */
+    private void awaitPersisted(Long auctionId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs);
+        long pending;
+        while ((pending = store.pending(auctionId)) > 0) {
+            if (System.nanoTime() > deadline) {
+                log.warn("⚠️ [AUCTION ENGINE] 입찰 저장 대기 시간 초과 (auctionId={}, 대기 {}건)", auctionId, pending);
+                throw new IllegalStateException("입찰 반영이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("입찰 반영 대기 중 중단되었습니다.", e);
+            }
+        }
+    }
+
+    /**
+     * 저장 실패/거절 입찰: 선차감 포인트 환불 (이미 처리됐으면 생략) + 호가창 버림
+     * - 실패한 입찰이 현재가/최고 입찰자로 남아 있을 수 있음 → 다음 입찰은 DB 기준으로 다시 적재
+     * - 종료 처리 중 닫힌 호가창은 남겨 둠 (롤백돼도 다시 열지 않고 삭제)
+     */
+    private void onPersistFailed(AuctionBidWriter.AcceptedBid bid) {
+        refund(bid.reservationId(), bid.userId(), bid.reserved());
+        try {
+            store.discard(bid.auctionId());
+        } catch (Exception e) {
+            log.warn("⚠️ [AUCTION ENGINE] 호가창 제거 실패 (auctionId={}): {}", bid.auctionId(), e.getMessage());
+        }
+    }
+
+    private static long toEpochMs(LocalDateTime at) {
+        return at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private void afterCompletion(IntConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status);
+                }
+            });
+        } else {
+            action.accept(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
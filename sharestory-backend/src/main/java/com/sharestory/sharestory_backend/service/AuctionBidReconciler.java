@@ -0,0 +1,95 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBidReservation;
+import com.sharestory.sharestory_backend.repo.AuctionBidReservationRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🔄 입찰 엔진 선차감 정리 (기동 직후 1회 + 주기적으로)
+ * - reservation-timeout 이 지나도록 남은 선차감 기록 = 포인트 차감 후 입찰 저장 전에 중단된 입찰
+ *   (프로세스 종료, 저장 큐 유실, 환불 트랜잭션 실패 등)
+ * - 기록 삭제 + 포인트 환불을 한 트랜잭션으로 → 뒤늦게 저장하려는 writer 와 겹쳐도 한쪽만 처리
+ *   (writer 는 기록 삭제에 실패하면 해당 입찰을 저장하지 않음)
+ * - 환불 후 호가창 저장 대기 토큰 제거 (해당 경매의 fence 대기 해제) + 호가창 버림 (다음 입찰은 DB 기준으로 다시 적재)
+ * - 여러 인스턴스가 동시에 돌아도 기록 삭제가 1건만 성공하므로 별도 락 없음
+ */
+@Slf4j
+@Component
+public class AuctionBidReconciler {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final AuctionBidReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+    private final AuctionBookStore store;
+    private final TransactionTemplate tx;
+    private final long timeoutSeconds;
+
+    private final Counter refundedCounter;
+
+    public AuctionBidReconciler(AuctionBidReservationRepository reservationRepository,
+                                UserRepository userRepository,
+                                AuctionBookStore store,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.auction.engine.reservation-timeout-seconds:120}") long timeoutSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.userRepository = userRepository;
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.timeoutSeconds = timeoutSeconds;
+        this.refundedCounter = meterRegistry.counter("auction.engine.reservation.refunded");
+    }
+
+    @Scheduled(fixedDelayString = "${app.auction.engine.reconcile-interval-ms:60000}",
+            initialDelayString = "${app.auction.engine.reconcile-initial-delay-ms:0}")
+    public void reconcile() {
+        try {
+            int refunded = 0;
+            List<AuctionBidReservation> stale;
+            do {
+                LocalDateTime before = LocalDateTime.now().minusSeconds(timeoutSeconds);
+                stale = reservationRepository.findByCreatedAtBeforeOrderByIdAsc(before, PageRequest.of(0, PAGE_SIZE));
+                for (AuctionBidReservation reservation : stale) {
+                    if (refund(reservation)) refunded++;
+                }
+            } while (stale.size() == PAGE_SIZE);
+
+            if (refunded > 0) log.warn("💰 [AUCTION ENGINE] 저장되지 않은 입찰 선차감 환불: {}건", refunded);
+        } catch (Exception e) {
+            log.error("[AUCTION ENGINE] 선차감 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean refund(AuctionBidReservation r) {
+        Boolean refunded = tx.execute(status -> {
+            if (reservationRepository.release(r.getId()) != 1) return false;
+            userRepository.creditPoints(r.getUserId(), r.getAmount());
+            return true;
+        });
+        if (!Boolean.TRUE.equals(refunded)) return false;
+
+        refundedCounter.increment();
+        log.warn("[AUCTION ENGINE] 선차감 환불: reservationId={}, auctionId={}, userId={}, amount={}",
+                r.getId(), r.getAuctionItemId(), r.getUserId(), r.getAmount());
+        try {
+            store.persisted(r.getAuctionItemId(), List.of(String.valueOf(r.getId())));
+            store.discard(r.getAuctionItemId());
+        } catch (Exception e) {
+            log.warn("⚠️ [AUCTION ENGINE] 호가창 정리 실패 (auctionId={}): {}", r.getAuctionItemId(), e.getMessage());
+        }
+        return true;
+    }
+}
@@ -26,7 +26,30 @@ public class AuctionBidService {
     private final PointHistoryRepository pointHistoryRepository;
     private final NotificationService notificationService;
     private final OrderService orderService;
+    private final AuctionBidEngine bidEngine;
+    private final AuctionDeadlineScheduler deadlineScheduler;
+    private final AuctionPriceStream priceStream;
+    private final AuctionSettlementService settlementService;
+
+    /**
+     * 💸 입찰 (입찰 엔진: 인스턴스 공용 Redis 호가창에서 수락/거절, 저장은 비동기)
+     * - 응답은 DB 의 경매 정보에 수락 시점 현재가/입찰 수/종료 시각을 덮어쓴 값 (트랜잭션 밖 → 저장되지 않음)
+     * - 마감 임박 입찰로 종료 시각이 연장되면 종료 타이머를 새 시각으로 교체
+     */
+    public AuctionItem placeBidSequenced(Long auctionId, Long userId, int bidPrice) {
+        AuctionBidEngine.BidResult result = bidEngine.placeBid(auctionId, userId, bidPrice);
+        if (result.extended()) deadlineScheduler.scheduleEnd(auctionId, result.endAt());
+        priceStream.onBid(auctionId, result.currentPrice(), result.bidCount(), result.leaderName(), result.endAt());
+
+        AuctionItem item = auctionItemRepository.findById(auctionId)
+                .orElseThrow(() -> new IllegalArgumentException("경매를 찾을 수 없습니다."));
+        item.setCurrentPrice(Math.max(item.getCurrentPrice(), result.currentPrice()));
+        item.setBidCount(Math.max(item.getBidCount(), result.bidCount()));
+        if (result.endAt() != null && result.endAt().isAfter(item.getEndDateTime())) item.setEndDateTime(result.endAt());
+        return item;
+    }
 
+    /** 💸 입찰 (경매 row lock 방식, app.auction.engine.enabled=false 일 때) */
     @Transactional
     public AuctionItem placeBid(Long auctionId, Long userId, int bidPrice) {
 
@@ -149,11 +172,22 @@ public class AuctionBidService {
         item.setCurrentPrice(bidPrice);
         item.setBidCount(item.getBidCount() + 1);
 
+        //마감 임박 입찰 → 종료 시각 연장 (경매 row lock 안이라 종료 처리/즉시구매와 겹치지 않음)
+        LocalDateTime extendedEnd = bidEngine.softCloseEnd(item.getEndDateTime(), LocalDateTime.now());
+        if (extendedEnd != null) {
+            item.setEndDateTime(extendedEnd);
+            deadlineScheduler.scheduleEnd(item.getId(), extendedEnd);
+        }
+        priceStream.onChange(item, user.getNickname()); // 📈 커밋 후 시세 반영
+
         return auctionItemRepository.save(item);
     }
 
     @Transactional
     public AuctionItem buyNow(Long auctionId, Long buyerId) {
+        // 입찰 엔진 대기분 반영 + 신규 입찰 차단 (첫 조회 전에 호출해야 반영분이 보임)
+        bidEngine.fence(auctionId);
+
         AuctionItem item = auctionItemRepository.findByIdForUpdate(auctionId)
                 .orElseThrow(() -> new IllegalArgumentException("경매를 찾을 수 없습니다."));
 
@@ -196,38 +230,11 @@ public class AuctionBidService {
                     }
                 });
 
-        //기존 입찰자 환불 처리
-        List<AuctionBid> existingBids = auctionBidRepository.findByAuctionItemId(item.getId());
-        for (AuctionBid prevBid : existingBids) {
-            if (!prevBid.getUserId().equals(buyerId)) { // 즉시구매자 제외
-                userRepository.findById(prevBid.getUserId()).ifPresent(prevUser -> {
-                    int refundAmount = prevBid.getBidPrice();
-                    int newBalance = prevUser.getPoints() + refundAmount;
-                    prevUser.setPoints(newBalance);
-                    userRepository.save(prevUser);
-
-                    pointHistoryRepository.save(PointHistory.builder()
-                            .user(prevUser)
-                            .amount(refundAmount)
-                            .balance(newBalance)
-                            .type("AUCTION_REFUND")
-                            .description(String.format("[%s] 경매 즉시구매로 기존 입찰금 환불", item.getTitle()))
-                            .build());
-
-                    //알림 전송
-                    try {
-                        notificationService.sendNotification(
-                                prevUser,
-                                "AUCTION_REFUND",
-                                String.format("[%s] 경매가 즉시구매로 종료되어 입찰금이 환불되었습니다.", item.getTitle()),
-                                item.getId()
-                        );
-                    } catch (Exception e) {
-                        System.err.println("⚠️ 알림 전송 실패: " + e.getMessage());
-                    }
-                });
-            }
-        }
+        //기존 입찰자 일괄 환불 (알림은 커밋 후 일괄 전송)
+        settlementService.refundLosers(item.getId(), buyerId,
+                String.format("[%s] 경매 즉시구매로 기존 입찰금 환불", item.getTitle()),
+                "AUCTION_REFUND",
+                String.format("[%s] 경매가 즉시구매로 종료되어 입찰금이 환불되었습니다.", item.getTitle()));
 
         //포인트 차감 및 히스토리 기록
         int newBalance = buyer.getPoints() - item.getImmediatePrice();
@@ -259,6 +266,8 @@ public class AuctionBidService {
         item.setBidCount(item.getBidCount() + 1);
         item.setStatus(com.sharestory.sharestory_backend.dto.AuctionStatus.TRADE_PENDING);
         auctionItemRepository.save(item);
+        deadlineScheduler.cancel(auctionId); // ⏰ 커밋 후 종료 타이머 취소
+        priceStream.onChange(item, buyer.getNickname()); // 📈 커밋 후 종료 시세 반영
 
         // 🕒 낙찰 후 결제 제한시간 5분 설정
         item.setPaymentDeadline(LocalDateTime.now().plusMinutes(3));
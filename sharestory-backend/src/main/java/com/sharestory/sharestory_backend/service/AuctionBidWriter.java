@@ -0,0 +1,336 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.domain.PointHistory;
+import com.sharestory.sharestory_backend.domain.User;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import com.sharestory.sharestory_backend.repo.AuctionBidReservationRepository;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import com.sharestory.sharestory_backend.repo.PointHistoryRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 입찰 엔진이 수락한 입찰의 비동기 저장 (AuctionBidEngine 전용)
+ * - 경매 id 해시로 레인(단일 워커 + bounded 큐) 고정 → 이 인스턴스가 수락한 입찰은 수락 순서대로 저장
+ * - 워커는 쌓인 입찰을 묶어 한 트랜잭션으로 저장
+ *   (선차감 기록 삭제 / 포인트 내역 / AuctionBid upsert / 경매별 현재가·입찰수·종료 시각 UPDATE 1회)
+ *   다른 인스턴스의 저장과 순서가 섞여도 입찰가·현재가·종료 시각은 더 큰 값만 남음
+ * - 커밋 후 경매별로 마지막 입찰 기준 상위 입찰 알림 1회, 호가창 pending 에서 토큰 제거 (fence 대기 해제)
+ * - 개별 저장까지 실패했거나 경매가 이미 진행 중이 아닌 입찰은 failureHandler 로 넘김 (포인트 환불 + 호가창 버림)
+ */
+@Slf4j
+@Component
+public class AuctionBidWriter {
+
+    /** 수락된 입찰 (reservationId = 선차감 기록 id, 호가창 pending 의 저장 대기 토큰) */
+    public record AcceptedBid(Long reservationId,
+                              Long auctionId,
+                              String title,
+                              Long userId,
+                              String bidderName,
+                              int bidPrice,
+                              int previousBid,
+                              int balanceAfter,
+                              LocalDateTime acceptedAt,
+                              LocalDateTime endAt,
+                              List<Long> outbidUserIds) {
+
+        /** 이번 입찰로 실제 차감된 포인트 (이전 본인 입찰금 환불분 제외) */
+        public int reserved() {
+            return bidPrice - previousBid;
+        }
+
+        public String token() {
+            return String.valueOf(reservationId);
+        }
+    }
+
+    private final AuctionItemRepository auctionItemRepository;
+    private final AuctionBidRepository auctionBidRepository;
+    private final UserRepository userRepository;
+    private final AuctionBidReservationRepository reservationRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final NotificationService notificationService;
+    private final AuctionBookStore store;
+    private final TransactionTemplate tx;
+
+    private final int batchSize;
+    private final List<BlockingQueue<AcceptedBid>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+    private volatile Consumer<AcceptedBid> failureHandler = bid -> {};
+
+    private final DistributionSummary batchSummary;
+    private final Timer persistTimer;
+    private final Counter failedCounter;
+    private final Counter inlineCounter;
+
+    public AuctionBidWriter(AuctionItemRepository auctionItemRepository,
+                            AuctionBidRepository auctionBidRepository,
+                            UserRepository userRepository,
+                            AuctionBidReservationRepository reservationRepository,
+                            PointHistoryRepository pointHistoryRepository,
+                            NotificationService notificationService,
+                            AuctionBookStore store,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.auction.engine.writer-lanes:2}") int laneCount,
+                            @Value("${app.auction.engine.queue-capacity:5000}") int queueCapacity,
+                            @Value("${app.auction.engine.batch-size:200}") int batchSize) {
+        this.auctionItemRepository = auctionItemRepository;
+        this.auctionBidRepository = auctionBidRepository;
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.notificationService = notificationService;
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+
+        for (int i = 0; i < Math.max(1, laneCount); i++) {
+            lanes.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+
+        Gauge.builder("auction.bid.writer.queue", lanes, l -> l.stream().mapToInt(BlockingQueue::size).sum())
+                .register(meterRegistry);
+        this.batchSummary = meterRegistry.summary("auction.bid.writer.batch");
+        this.persistTimer = meterRegistry.timer("auction.bid.writer.persist");
+        this.failedCounter = meterRegistry.counter("auction.bid.writer.failed");
+        this.inlineCounter = meterRegistry.counter("auction.bid.writer.inline");
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < lanes.size(); i++) {
+            BlockingQueue<AcceptedBid> queue = lanes.get(i);
+            workers.add(Thread.ofPlatform()
+                    .name("AuctionBidWriter-" + i)
+                    .daemon(true)
+                    .start(() -> runLane(queue)));
+        }
+        log.info("[AUCTION ENGINE] 입찰 저장 워커 시작: 레인 {}개, 배치 {}건", lanes.size(), batchSize);
+    }
+
+    /** 종료 시 큐에 남은 입찰까지 저장 후 정지 */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void onFailure(Consumer<AcceptedBid> handler) {
+        this.failureHandler = handler;
+    }
+
+    /**
+     * 📥 저장 대기열에 추가
+     * - 호가창에서 이미 수락된 입찰이라 버릴 수 없음 → 큐가 가득 차면 호출 스레드에서 바로 저장 (backpressure)
+     */
+    void submit(AcceptedBid bid) {
+        if (lanes.get(Math.floorMod(bid.auctionId().hashCode(), lanes.size())).offer(bid)) return;
+        inlineCounter.increment();
+        process(List.of(bid));
+    }
+
+    private void runLane(BlockingQueue<AcceptedBid> queue) {
+        List<AcceptedBid> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AcceptedBid first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[AUCTION ENGINE] 입찰 저장 배치 처리 실패: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<AcceptedBid> batch) {
+        long startedAt = System.nanoTime();
+        List<AcceptedBid> persisted;
+        List<AcceptedBid> rejected = new ArrayList<>();
+        try {
+            rejected.addAll(tx.execute(status -> persist(batch)));
+            persisted = new ArrayList<>(batch);
+            persisted.removeAll(rejected);
+        } catch (Exception e) {
+            // 한 건 때문에 전체가 실패하지 않도록 개별 저장으로 재시도 (순서 유지)
+            log.warn("[AUCTION ENGINE] 입찰 배치 저장 실패 ({}건) → 개별 저장: {}", batch.size(), e.getMessage());
+            persisted = new ArrayList<>();
+            for (AcceptedBid bid : batch) {
+                try {
+                    if (tx.execute(status -> persist(List.of(bid))).isEmpty()) persisted.add(bid);
+                    else rejected.add(bid);
+                } catch (Exception ex) {
+                    failedCounter.increment();
+                    log.error("[AUCTION ENGINE] 입찰 저장 실패 (auctionId={}, userId={}, price={}): {}",
+                            bid.auctionId(), bid.userId(), bid.bidPrice(), ex.getMessage());
+                    failureHandler.accept(bid);
+                }
+            }
+        }
+        persistTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        batchSummary.record(batch.size());
+
+        // 이미 종료/즉시구매된 경매에 늦게 도착했거나 선차감이 이미 환불된 입찰 → 저장하지 않음 (환불 + 호가창 버림)
+        for (AcceptedBid bid : rejected) {
+            failedCounter.increment();
+            log.warn("[AUCTION ENGINE] 저장하지 않은 입찰 (auctionId={}, userId={}, price={})",
+                    bid.auctionId(), bid.userId(), bid.bidPrice());
+            failureHandler.accept(bid);
+        }
+
+        // 저장 대기 토큰 제거 (실패 건도 처리 완료로 간주 → drain 대기 해제)
+        markPersisted(batch);
+
+        if (!persisted.isEmpty()) notifyOutbid(persisted);
+    }
+
+    /**
+     * 저장 → 반영하지 않은 입찰 목록 반환
+     * - 선차감 기록이 이미 없음 (AuctionBidReconciler 가 환불함) → 건너뜀
+     * - 경매가 진행 중이 아님 → 같은 트랜잭션에서 선차감 환불
+     */
+    private List<AcceptedBid> persist(List<AcceptedBid> batch) {
+        List<AcceptedBid> rejected = new ArrayList<>();
+        Map<Long, List<AcceptedBid>> byAuction = new LinkedHashMap<>();
+        for (AcceptedBid bid : batch) {
+            if (reservationRepository.release(bid.reservationId()) == 1) {
+                byAuction.computeIfAbsent(bid.auctionId(), k -> new ArrayList<>()).add(bid);
+            } else {
+                rejected.add(bid);
+            }
+        }
+
+        List<PointHistory> histories = new ArrayList<>();
+        byAuction.forEach((auctionId, bids) -> {
+            // 경매 행 UPDATE 를 먼저 → 행 잠금으로 같은 경매의 다른 인스턴스 저장과 직렬화 (AuctionBid upsert 중복 방지)
+            int maxPrice = bids.stream().mapToInt(AcceptedBid::bidPrice).max().orElse(0);
+            LocalDateTime maxEnd = bids.stream().map(AcceptedBid::endAt).filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder()).orElse(null);
+            if (auctionItemRepository.applyBids(auctionId, maxPrice, bids.size(), maxEnd) == 0) {
+                bids.forEach(bid -> userRepository.creditPoints(bid.userId(), bid.reserved()));
+                rejected.addAll(bids);
+                return;
+            }
+
+            for (AcceptedBid bid : bids) {
+                User userRef = userRepository.getReferenceById(bid.userId());
+                if (bid.previousBid() > 0) {
+                    histories.add(PointHistory.builder()
+                            .user(userRef)
+                            .amount(bid.previousBid())
+                            .balance(bid.balanceAfter() + bid.bidPrice())
+                            .type("AUCTION_REFUND")
+                            .description(String.format("[%s] 이전 입찰금 환불 (재입찰)", bid.title()))
+                            .build());
+                }
+                histories.add(PointHistory.builder()
+                        .user(userRef)
+                        .amount(-bid.bidPrice())
+                        .balance(bid.balanceAfter())
+                        .type("AUCTION_BID")
+                        .description(String.format("[%s] 경매 입찰 참여", bid.title()))
+                        .build());
+
+                AuctionBid entity = auctionBidRepository.findForUpdate(bid.auctionId(), bid.userId())
+                        .orElseGet(() -> AuctionBid.builder()
+                                .auctionItemId(bid.auctionId())
+                                .userId(bid.userId())
+                                .bidderName(bid.bidderName())
+                                .build());
+                // 다른 인스턴스가 더 높은 재입찰을 먼저 저장했으면 낮은 값으로 덮어쓰지 않음
+                if (entity.getId() == null || entity.getBidPrice() < bid.bidPrice()) {
+                    entity.setBidPrice(bid.bidPrice());
+                    entity.setCreatedAt(bid.acceptedAt());
+                    auctionBidRepository.save(entity);
+                }
+            }
+        });
+        pointHistoryRepository.saveAll(histories);
+        return rejected;
+    }
+
+    private void markPersisted(List<AcceptedBid> batch) {
+        Map<Long, List<String>> tokens = new LinkedHashMap<>();
+        for (AcceptedBid bid : batch) {
+            tokens.computeIfAbsent(bid.auctionId(), k -> new ArrayList<>()).add(bid.token());
+        }
+        tokens.forEach((auctionId, list) -> {
+            try {
+                store.persisted(auctionId, list);
+            } catch (Exception e) {
+                log.warn("⚠️ [AUCTION ENGINE] 저장 대기 토큰 제거 실패 (auctionId={}): {}", auctionId, e.getMessage());
+            }
+        });
+    }
+
+    /** 📢 경매별 마지막 입찰 기준으로 밀려난 입찰자에게 1회 알림 */
+    private void notifyOutbid(List<AcceptedBid> persisted) {
+        Map<Long, AcceptedBid> lastByAuction = new LinkedHashMap<>();
+        Map<Long, Set<Long>> outbidByAuction = new HashMap<>();
+        for (AcceptedBid bid : persisted) {
+            lastByAuction.put(bid.auctionId(), bid);
+            outbidByAuction.computeIfAbsent(bid.auctionId(), k -> new LinkedHashSet<>()).addAll(bid.outbidUserIds());
+        }
+
+        Set<Long> userIds = outbidByAuction.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        if (userIds.isEmpty()) return;
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+
+        lastByAuction.forEach((auctionId, last) -> {
+            String alertMessage = String.format(
+                    "📢 [%s] 경매에서 %s님이 %s원으로 새로운 최고가를 달성했습니다.",
+                    last.title(),
+                    last.bidderName(),
+                    String.format("%,d", last.bidPrice())
+            );
+            for (Long userId : outbidByAuction.get(auctionId)) {
+                if (userId.equals(last.userId())) continue;
+                User user = users.get(userId);
+                if (user == null) continue;
+                try {
+                    notificationService.sendNotification(user, "AUCTION_BID_OUTBID", alertMessage, auctionId);
+                } catch (Exception e) {
+                    log.warn("⚠️ [AUCTION ENGINE] 상위 입찰 알림 실패 (userId={}): {}", userId, e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,284 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 경매 호가창 저장소 (Redis, 모든 인스턴스 공유)
+ * - auction:book:{id}         HASH  현재가 / 입찰 수 / 최고 입찰자 / 판매자 / 입찰 단위 / 즉시구매가 / 종료 시각(ms) / closed
+ * - auction:book:{id}:bids    HASH  userId → 본인 입찰가
+ * - auction:book:{id}:pending ZSET  수락됐지만 아직 DB 에 저장되지 않은 입찰 토큰 (score = 수락 시각)
+ * - auction:book:{id}:gen     세대 번호 (evict 마다 증가 → evict 이전에 읽은 DB 값으로 다시 채우지 않음)
+ * - 검증 + 수락(현재가/최고 입찰자 compare-and-set, 마감 임박 연장)은 Lua 스크립트 1회로 원자 처리
+ *   → 인스턴스가 여러 대여도 경매별 수락 순서가 하나로 정해짐
+ * - 키는 {id} 해시 태그로 묶어 Redis Cluster 에서도 같은 슬롯
+ */
+@Component
+public class AuctionBookStore {
+
+    /** 검증/수락 결과 코드 (OK 외에는 거절 사유) */
+    public enum Status { OK, MISSING, CLOSED, ENDED, SELF, TOO_LOW, OVER_IMMEDIATE, CONFLICT }
+
+    /**
+     * 검증/수락 결과
+     * - previousBid: 본인 기존 입찰가, detail: 최소 입찰가 / 즉시구매가 / 경매 제목 (상태별)
+     * - bidCount / endAtMs / extended / bidders 는 수락(OK) 시에만 채워짐
+     */
+    public record Outcome(Status status, int previousBid, String detail,
+                          int bidCount, long endAtMs, boolean extended, List<Long> bidders) {
+
+        static Outcome of(Status status, String detail) {
+            return new Outcome(status, 0, detail, 0, 0, false, List.of());
+        }
+    }
+
+    /** 호가창 초기값 (DB 기준, immediatePrice 없으면 null) */
+    public record Snapshot(String title, Long sellerId, int bidUnit, Integer immediatePrice,
+                           int currentPrice, int bidCount, Long leaderId, long endAtMs, boolean closed,
+                           Map<Long, Integer> bids) {}
+
+    /** 종료 처리 결과 (due=false 면 종료 시각 전이라 닫지 않음, wasOpen: 이번 호출이 열린 호가창을 닫음) */
+    public record CloseOutcome(boolean due, long endAtMs, long pending, boolean wasOpen) {}
+
+    // 세대가 같고 호가창이 없을 때만 적재 (0: 세대 변경 → 다시 읽어야 함)
+    private static final RedisScript<Long> INIT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[3]) or '0') ~= ARGV[1] then return 0 end
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 1 end
+            redis.call('DEL', KEYS[2])
+            redis.call('HSET', KEYS[1], 'title', ARGV[2], 'seller', ARGV[3], 'unit', ARGV[4], 'immediate', ARGV[5],
+                    'price', ARGV[6], 'count', ARGV[7], 'leader', ARGV[8], 'endAt', ARGV[9], 'closed', ARGV[10])
+            redis.call('EXPIRE', KEYS[1], ARGV[11])
+            if #ARGV > 11 then
+                for i = 12, #ARGV, 2 do redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1]) end
+                redis.call('EXPIRE', KEYS[2], ARGV[11])
+            end
+            return 1
+            """, Long.class);
+
+    // 검증 (ARGV[8] = '1' 이면 검증만) → 본인 기존 입찰가 compare-and-set → 수락
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BID = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {'MISSING'} end
+            local b = redis.call('HMGET', KEYS[1], 'closed', 'price', 'seller', 'unit', 'immediate', 'endAt', 'title')
+            if b[1] == '1' or not b[2] then return {'CLOSED'} end
+            local now = tonumber(ARGV[4])
+            local endAt = tonumber(b[6])
+            if endAt < now then return {'ENDED'} end
+            if b[3] == ARGV[1] then return {'SELF'} end
+            local bid = tonumber(ARGV[2])
+            local minBid = tonumber(b[2]) + tonumber(b[4])
+            if bid < minBid then return {'TOO_LOW', tostring(minBid)} end
+            if b[5] ~= '' and bid >= tonumber(b[5]) then return {'OVER_IMMEDIATE', b[5]} end
+            local prev = redis.call('HGET', KEYS[2], ARGV[1]) or '0'
+            if ARGV[8] == '1' then return {'OK', prev, b[7]} end
+            if prev ~= ARGV[3] then return {'CONFLICT'} end
+
+            local extended = '0'
+            local window = tonumber(ARGV[5])
+            if window > 0 and endAt > now and endAt <= now + window then
+                endAt = endAt + tonumber(ARGV[6])
+                extended = '1'
+            end
+            local bidders = redis.call('HKEYS', KEYS[2])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+            local count = redis.call('HINCRBY', KEYS[1], 'count', 1)
+            redis.call('HSET', KEYS[1], 'price', ARGV[2], 'leader', ARGV[1], 'endAt', tostring(endAt))
+            redis.call('ZADD', KEYS[3], now, ARGV[7])
+            for i = 1, 3 do redis.call('EXPIRE', KEYS[i], ARGV[9]) end
+
+            local result = {'OK', prev, b[7], tostring(count), tostring(endAt), extended}
+            for i = 1, #bidders do result[#result + 1] = bidders[i] end
+            return result
+            """, List.class);
+
+    // 종료 시각이 지났으면(ARGV[1] < 0 이면 무조건) 닫기, 호가창이 없으면 닫힌 자리표시만 둠
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLOSE = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[1])
+            local b = redis.call('HMGET', KEYS[1], 'closed', 'endAt')
+            if now >= 0 and b[1] ~= '1' and b[2] and tonumber(b[2]) > now then return {'0', b[2], '0', '0'} end
+            local wasOpen = (b[1] ~= '1' and b[2]) and '1' or '0'
+            redis.call('HSET', KEYS[1], 'closed', '1')
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return {'1', b[2] or '0', tostring(redis.call('ZCARD', KEYS[2])), wasOpen}
+            """, List.class);
+
+    // 닫았던 호가창 다시 열기 (닫힌 자리표시였거나 닫힌 동안 버려졌으면 세대 증가 + 삭제)
+    private static final RedisScript<Long> REOPEN = new DefaultRedisScript<>("""
+            local b = redis.call('HMGET', KEYS[1], 'price', 'stale')
+            if b[1] and b[2] ~= '1' then
+                redis.call('HSET', KEYS[1], 'closed', '0')
+                return 1
+            end
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 0
+            """, Long.class);
+
+    // 세대 증가 + 호가창 삭제 (다음 입찰 시 DB 에서 다시 적재)
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    // 열린 호가창만 삭제, 닫힌 호가창은 종료 처리 중이므로 남기고 표시만 (롤백으로 다시 열 때 삭제)
+    private static final RedisScript<Long> DISCARD = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'closed') == '1' then
+                redis.call('HSET', KEYS[1], 'stale', '1')
+                return 0
+            end
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final long ttlSeconds;
+
+    public AuctionBookStore(StringRedisTemplate redis,
+                            @Value("${app.auction.engine.book-ttl-seconds:86400}") long ttlSeconds) {
+        this.redis = redis;
+        this.ttlSeconds = Math.max(60, ttlSeconds);
+    }
+
+    /** 현재 세대 (적재 전 DB 조회보다 먼저 읽어야 함) */
+    public String generation(Long auctionId) {
+        String gen = redis.opsForValue().get(key(auctionId) + ":gen");
+        return gen != null ? gen : "0";
+    }
+
+    /** 호가창 적재 (이미 있으면 그대로 true, 세대가 바뀌었으면 false → 다시 읽어서 재시도) */
+    public boolean init(Long auctionId, String generation, Snapshot s) {
+        List<String> args = new ArrayList<>(List.of(
+                generation,
+                s.title() != null ? s.title() : "",
+                String.valueOf(s.sellerId()),
+                String.valueOf(s.bidUnit()),
+                s.immediatePrice() != null ? String.valueOf(s.immediatePrice()) : "",
+                String.valueOf(s.currentPrice()),
+                String.valueOf(s.bidCount()),
+                s.leaderId() != null ? String.valueOf(s.leaderId()) : "",
+                String.valueOf(s.endAtMs()),
+                s.closed() ? "1" : "0",
+                String.valueOf(ttlSeconds)));
+        s.bids().forEach((userId, price) -> {
+            args.add(String.valueOf(userId));
+            args.add(String.valueOf(price));
+        });
+        Long ok = redis.execute(INIT, List.of(key(auctionId), bidsKey(auctionId), key(auctionId) + ":gen"), args.toArray());
+        return ok != null && ok == 1L;
+    }
+
+    /** 검증만 (상태 변경 없음, OK 면 본인 기존 입찰가 + 경매 제목) */
+    public Outcome check(Long auctionId, Long userId, int bidPrice, long nowMs) {
+        return bid(auctionId, userId, bidPrice, 0, nowMs, 0, 0, "", true);
+    }
+
+    /**
+     * 수락 (검증 + 본인 기존 입찰가가 previousBid 일 때만 반영)
+     * - 종료 windowMs 이내 입찰이면 종료 시각 + extendMs (windowMs = 0 이면 연장 없음)
+     * - token 은 DB 저장 완료 시 persisted() 로 제거
+     */
+    public Outcome accept(Long auctionId, Long userId, int bidPrice, int previousBid, long nowMs,
+                          long windowMs, long extendMs, String token) {
+        return bid(auctionId, userId, bidPrice, previousBid, nowMs, windowMs, extendMs, token, false);
+    }
+
+    private Outcome bid(Long auctionId, Long userId, int bidPrice, int previousBid, long nowMs,
+                        long windowMs, long extendMs, String token, boolean dryRun) {
+        List<?> raw = redis.execute(BID, List.of(key(auctionId), bidsKey(auctionId), pendingKey(auctionId)),
+                String.valueOf(userId), String.valueOf(bidPrice), String.valueOf(previousBid),
+                String.valueOf(nowMs), String.valueOf(windowMs), String.valueOf(extendMs),
+                token, dryRun ? "1" : "0", String.valueOf(ttlSeconds));
+        if (raw == null || raw.isEmpty()) throw new IllegalStateException("호가창 응답이 없습니다.");
+
+        Status status = Status.valueOf(String.valueOf(raw.get(0)));
+        if (status != Status.OK) {
+            return Outcome.of(status, raw.size() > 1 ? String.valueOf(raw.get(1)) : null);
+        }
+        int prev = Integer.parseInt(String.valueOf(raw.get(1)));
+        String title = String.valueOf(raw.get(2));
+        if (dryRun) return new Outcome(Status.OK, prev, title, 0, 0, false, List.of());
+
+        List<Long> bidders = new ArrayList<>();
+        for (int i = 6; i < raw.size(); i++) bidders.add(Long.valueOf(String.valueOf(raw.get(i))));
+        return new Outcome(Status.OK, prev, title,
+                Integer.parseInt(String.valueOf(raw.get(3))),
+                Long.parseLong(String.valueOf(raw.get(4))),
+                "1".equals(String.valueOf(raw.get(5))),
+                bidders);
+    }
+
+    /**
+     * 닫기 (이후 입찰은 CLOSED 로 거절)
+     * - nowMs >= 0 이면 종료 시각이 지났을 때만 닫음, 음수면 무조건
+     * - 호가창이 없어도 닫힌 자리표시를 남김 → 닫는 동안 DB 에서 다시 적재돼 수락되는 입찰 없음
+     */
+    public CloseOutcome close(Long auctionId, long nowMs) {
+        List<?> raw = redis.execute(CLOSE, List.of(key(auctionId), pendingKey(auctionId)),
+                String.valueOf(nowMs), String.valueOf(ttlSeconds));
+        if (raw == null || raw.size() < 4) throw new IllegalStateException("호가창 응답이 없습니다.");
+        return new CloseOutcome("1".equals(String.valueOf(raw.get(0))),
+                Long.parseLong(String.valueOf(raw.get(1))),
+                Long.parseLong(String.valueOf(raw.get(2))),
+                "1".equals(String.valueOf(raw.get(3))));
+    }
+
+    /** 닫은 호가창 다시 열기 (종료/즉시구매 트랜잭션 롤백 시, 저장 대기분이 반영된 상태 그대로 유지) */
+    public void reopen(Long auctionId) {
+        redis.execute(REOPEN, List.of(key(auctionId), bidsKey(auctionId), key(auctionId) + ":gen"),
+                String.valueOf(ttlSeconds));
+    }
+
+    /** 저장 대기 입찰 수 */
+    public long pending(Long auctionId) {
+        Long size = redis.opsForZSet().zCard(pendingKey(auctionId));
+        return size != null ? size : 0;
+    }
+
+    /** DB 저장(또는 실패 처리) 완료된 입찰 토큰 제거 */
+    public void persisted(Long auctionId, Collection<String> tokens) {
+        if (tokens.isEmpty()) return;
+        redis.opsForZSet().remove(pendingKey(auctionId), tokens.toArray());
+    }
+
+    /** 호가창 제거 (다음 입찰 시 DB 에서 다시 적재) */
+    public void evict(Long auctionId) {
+        redis.execute(EVICT, List.of(key(auctionId), bidsKey(auctionId), key(auctionId) + ":gen"),
+                String.valueOf(ttlSeconds));
+    }
+
+    /**
+     * 저장 실패한 입찰이 반영된 호가창 버리기 (다음 입찰 시 DB 에서 다시 적재)
+     * - 닫힌 호가창은 종료/즉시구매 처리 중 → 지우면 DB 에서 다시 열려 입찰이 수락되므로 남겨 둠
+     *   (커밋되면 evict, 롤백되면 reopen 이 버린 것으로 보고 삭제)
+     */
+    public void discard(Long auctionId) {
+        redis.execute(DISCARD, List.of(key(auctionId), bidsKey(auctionId), key(auctionId) + ":gen"),
+                String.valueOf(ttlSeconds));
+    }
+
+    private static String key(Long auctionId) {
+        return "auction:book:{" + auctionId + "}";
+    }
+
+    private static String bidsKey(Long auctionId) {
+        return key(auctionId) + ":bids";
+    }
+
+    private static String pendingKey(Long auctionId) {
+        return key(auctionId) + ":pending";
+    }
+}
@@ -0,0 +1,310 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.dto.AuctionStatus;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ⏰ 경매 마감 스케줄러 (10초 폴링 대신 계층형 타이밍 휠)
+ * - 경매 종료 / 결제 마감 시각을 경매별로 등록 → 시각이 되면 해당 경매만 처리 (대기 중 DB 조회 없음)
+ * - 드라이버 스레드가 tick-ms 마다 휠을 진행, 만료 항목은 auctionDeadlineExecutor 에서 처리
+ * - 등록/취소는 커밋 후 로컬 반영 + auction:deadline 채널로 다른 인스턴스에 전파 (모든 인스턴스가 같은 휠 보유)
+ * - 처리 전 Redis SET NX 로 선점 → 한 인스턴스만 처리, 처리 자체도 행 잠금 + 상태 재확인으로 멱등
+ * - 선점하지 못한 인스턴스는 선점 만료 시각에 확인 예약 → 선점한 인스턴스가 처리 중 죽었으면 대신 처리
+ * - 기동 시 진행 중 경매 종료 시각 / 미결제 낙찰 결제 마감을 DB 에서 다시 적재
+ */
+@Slf4j
+@Component
+public class AuctionDeadlineScheduler implements MessageListener {
+
+    private static final String CHANNEL = "auction:deadline";
+    private static final String CLAIM_PREFIX = "auction:deadline:claim:";
+    private static final Duration CLAIM_TTL = Duration.ofSeconds(60);
+
+    public enum Type { END, PAYMENT }
+
+    /** 휠에 등록되는 작업 (verify: 다른 인스턴스가 선점한 마감의 처리 여부 확인) */
+    record Deadline(Type type, Long auctionId, boolean verify) {
+        Deadline(Type type, Long auctionId) {
+            this(type, auctionId, false);
+        }
+
+        String key() {
+            return type + ":" + auctionId;
+        }
+    }
+
+    private final AuctionScheduler auctionScheduler;
+    private final AuctionItemRepository auctionItemRepository;
+    private final StringRedisTemplate redis;
+    private final Executor executor;
+    private final long tickMs;
+    private final long retryDelayMs;
+
+    private final TimingWheel<Deadline> wheel;
+    private final Map<String, TimingWheel.Timeout<Deadline>> handles = new ConcurrentHashMap<>();
+    private final Thread driver;
+    private volatile boolean running = true;
+
+    private final Counter firedCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer lagTimer;
+
+    public AuctionDeadlineScheduler(AuctionScheduler auctionScheduler,
+                                    AuctionItemRepository auctionItemRepository,
+                                    StringRedisTemplate redis,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    @Qualifier("auctionDeadlineExecutor") Executor executor,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.auction.deadline.tick-ms:100}") long tickMs,
+                                    @Value("${app.auction.deadline.wheel-size:512}") int wheelSize,
+                                    @Value("${app.auction.deadline.levels:4}") int levels,
+                                    @Value("${app.auction.deadline.retry-delay-ms:5000}") long retryDelayMs) {
+        this.auctionScheduler = auctionScheduler;
+        this.auctionItemRepository = auctionItemRepository;
+        this.redis = redis;
+        this.executor = executor;
+        this.tickMs = Math.max(1, tickMs);
+        this.retryDelayMs = retryDelayMs;
+        this.wheel = new TimingWheel<>(this.tickMs, wheelSize, levels, System.currentTimeMillis());
+
+        Gauge.builder("auction.deadline.pending", wheel, TimingWheel::size).register(meterRegistry);
+        this.firedCounter = meterRegistry.counter("auction.deadline.fired");
+        this.failedCounter = meterRegistry.counter("auction.deadline.failed");
+        this.rejectedCounter = meterRegistry.counter("auction.deadline.rejected");
+        this.lagTimer = meterRegistry.timer("auction.deadline.lag");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+
+        this.driver = Thread.ofPlatform()
+                .name("AuctionDeadlineWheel")
+                .daemon(true)
+                .start(this::runDriver);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        driver.interrupt();
+    }
+
+    /** 🚀 기동 시 DB 의 마감 시각 적재 (이미 지난 시각은 다음 tick 에 처리) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        List<Object[]> ends = auctionItemRepository.findEndDeadlines(AuctionStatus.ONGOING);
+        ends.forEach(row -> scheduleLocal(new Deadline(Type.END, (Long) row[0]), toEpochMs((LocalDateTime) row[1])));
+
+        List<Object[]> payments = auctionItemRepository.findPaymentDeadlines(AuctionStatus.FINISHED);
+        payments.forEach(row -> scheduleLocal(new Deadline(Type.PAYMENT, (Long) row[0]), toEpochMs((LocalDateTime) row[1])));
+
+        log.info("[AUCTION DEADLINE] 마감 적재 완료: 종료 {}건, 결제 마감 {}건", ends.size(), payments.size());
+    }
+
+    /** 경매 종료 시각 등록/변경 (커밋 후 반영) */
+    public void scheduleEnd(Long auctionId, LocalDateTime endAt) {
+        if (auctionId == null || endAt == null) return;
+        afterCommit(() -> publish(Type.END + ":" + auctionId + ":" + toEpochMs(endAt)));
+    }
+
+    /** 결제 마감 시각 등록 (커밋 후 반영) */
+    public void schedulePayment(Long auctionId, LocalDateTime deadline) {
+        if (auctionId == null || deadline == null) return;
+        afterCommit(() -> publish(Type.PAYMENT + ":" + auctionId + ":" + toEpochMs(deadline)));
+    }
+
+    /** 경매의 모든 마감 취소 (즉시구매 / 삭제, 커밋 후 반영) */
+    public void cancel(Long auctionId) {
+        if (auctionId == null) return;
+        afterCommit(() -> publish("CANCEL:" + auctionId));
+    }
+
+    private void runDriver() {
+        while (running) {
+            try {
+                Thread.sleep(tickMs);
+                long now = System.currentTimeMillis();
+                for (TimingWheel.Timeout<Deadline> timeout : wheel.advance(now)) {
+                    // 그 사이 교체/취소된 항목이 아닐 때만 실행
+                    if (!handles.remove(timeout.task().key(), timeout)) continue;
+                    lagTimer.record(Duration.ofMillis(Math.max(0, now - timeout.deadlineMs())));
+                    dispatch(timeout.task(), timeout.deadlineMs());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[AUCTION DEADLINE] 타이밍 휠 진행 실패: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 처리 스레드로 넘김 (휠 드라이버는 DB 작업을 직접 하지 않음 → CallerRuns 대신 재시도 예약)
+     * - 대기열이 가득 차면 ThreadPoolTaskExecutor 가 TaskRejectedException(RejectedExecutionException 하위)을 던짐
+     * - 선점(claim)은 fire 안에서 잡으므로 거절된 마감은 해제할 선점이 없음 → retry-delay 후 다시 시도
+     */
+    private void dispatch(Deadline deadline, long deadlineMs) {
+        try {
+            executor.execute(() -> fire(deadline, deadlineMs));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("[AUCTION DEADLINE] 처리 대기열 가득 참 → {}ms 후 재시도 ({})", retryDelayMs, deadline.key());
+            scheduleLocal(deadline, System.currentTimeMillis() + retryDelayMs);
+        }
+    }
+
+    private void fire(Deadline deadline, long deadlineMs) {
+        if (deadline.verify() && !stillDue(deadline)) return;
+        if (!claim(deadline, deadlineMs)) {
+            // 선점한 인스턴스가 처리 중 죽으면 재시도할 곳이 없음 → 선점 만료 후 아직 남아 있으면 처리
+            scheduleVerify(new Deadline(deadline.type(), deadline.auctionId(), true), deadlineMs + CLAIM_TTL.toMillis());
+            return;
+        }
+        firedCounter.increment();
+        try {
+            switch (deadline.type()) {
+                case END -> {
+                    AuctionScheduler.CloseResult result = auctionScheduler.closeAuction(deadline.auctionId());
+                    // 종료 시각이 미뤄졌으면 새 시각으로 다시 등록, 낙찰이면 결제 마감 등록 (다른 인스턴스에도 전파)
+                    if (result.rescheduleEndAt() != null) scheduleEnd(deadline.auctionId(), result.rescheduleEndAt());
+                    if (result.paymentDeadline() != null) schedulePayment(deadline.auctionId(), result.paymentDeadline());
+                }
+                case PAYMENT -> auctionScheduler.applyPaymentPenalty(deadline.auctionId());
+            }
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("[AUCTION DEADLINE] 마감 처리 실패 → {}ms 후 재시도 ({}): {}",
+                    retryDelayMs, deadline.key(), e.getMessage(), e);
+            release(deadline, deadlineMs);
+            scheduleLocal(deadline, System.currentTimeMillis() + retryDelayMs);
+        }
+    }
+
+    /** 확인 예약 시점에 아직 처리되지 않았는지 (종료: 진행 중, 결제 마감: 낙찰 후 패널티 미적용) */
+    private boolean stillDue(Deadline deadline) {
+        return auctionItemRepository.findById(deadline.auctionId())
+                .map(item -> switch (deadline.type()) {
+                    case END -> item.getStatus() == AuctionStatus.ONGOING;
+                    case PAYMENT -> item.getStatus() == AuctionStatus.FINISHED && !item.isPenaltyApplied();
+                })
+                .orElse(false);
+    }
+
+    /** 🔒 인스턴스 간 선점 (Redis 장애 시에는 행 잠금 + 상태 재확인에 맡기고 진행) */
+    private boolean claim(Deadline deadline, long deadlineMs) {
+        try {
+            Boolean ok = redis.opsForValue().setIfAbsent(claimKey(deadline, deadlineMs), "1", CLAIM_TTL);
+            return !Boolean.FALSE.equals(ok);
+        } catch (DataAccessException e) {
+            log.warn("[AUCTION DEADLINE] 선점 실패 → 그대로 처리 ({}): {}", deadline.key(), e.getMessage());
+            return true;
+        }
+    }
+
+    private void release(Deadline deadline, long deadlineMs) {
+        try {
+            redis.delete(claimKey(deadline, deadlineMs));
+        } catch (DataAccessException e) {
+            log.warn("[AUCTION DEADLINE] 선점 해제 실패 ({}): {}", deadline.key(), e.getMessage());
+        }
+    }
+
+    private String claimKey(Deadline deadline, long deadlineMs) {
+        return CLAIM_PREFIX + deadline.type() + ":" + deadline.auctionId() + ":" + deadlineMs;
+    }
+
+    private void scheduleLocal(Deadline deadline, long deadlineMs) {
+        TimingWheel.Timeout<Deadline> timeout = wheel.schedule(deadline, deadlineMs);
+        TimingWheel.Timeout<Deadline> previous = handles.put(deadline.key(), timeout);
+        if (previous != null) previous.cancel();
+    }
+
+    /** 그 사이 새 마감이 등록됐으면 (연장 / 결제 마감 전파 등) 확인 예약은 버림 */
+    private void scheduleVerify(Deadline deadline, long deadlineMs) {
+        TimingWheel.Timeout<Deadline> timeout = wheel.schedule(deadline, deadlineMs);
+        if (handles.putIfAbsent(deadline.key(), timeout) != null) timeout.cancel();
+    }
+
+    private void cancelLocal(Long auctionId) {
+        for (Type type : Type.values()) {
+            TimingWheel.Timeout<Deadline> previous = handles.remove(new Deadline(type, auctionId).key());
+            if (previous != null) previous.cancel();
+        }
+    }
+
+    private void publish(String command) {
+        apply(command);
+        try {
+            redis.convertAndSend(CHANNEL, command);
+        } catch (DataAccessException e) {
+            // 다른 인스턴스는 재기동 적재 전까지 모름 → 이 인스턴스가 처리
+            log.warn("[AUCTION DEADLINE] 마감 전파 실패 ({}): {}", command, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /** 명령 형식: END:{id}:{epochMs} / PAYMENT:{id}:{epochMs} / CANCEL:{id} */
+    private void apply(String command) {
+        try {
+            String[] parts = command.split(":");
+            Long auctionId = Long.valueOf(parts[1]);
+            if ("CANCEL".equals(parts[0])) {
+                cancelLocal(auctionId);
+            } else {
+                scheduleLocal(new Deadline(Type.valueOf(parts[0]), auctionId), Long.parseLong(parts[2]));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[AUCTION DEADLINE] 잘못된 마감 메시지 무시: {}", command);
+        }
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,13 +2,11 @@ package com.sharestory.sharestory_backend.service;
 
 import com.sharestory.sharestory_backend.domain.AuctionImage;
 import com.sharestory.sharestory_backend.domain.AuctionItem;
-import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.dto.AuctionItemDto;
 import com.sharestory.sharestory_backend.dto.AuctionItemResponseDto;
 import com.sharestory.sharestory_backend.dto.AuctionStatus;
 import com.sharestory.sharestory_backend.repo.AuctionImageRepository;
 import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
-import com.sharestory.sharestory_backend.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +25,8 @@ public class AuctionItemService {
     private final AuctionItemRepository auctionItemRepository;
     private final AuctionImageRepository auctionImageRepository;
     private final S3Service s3Service;
-    private final UserRepository userRepository;
+    private final ChatLookupCache chatLookupCache;
+    private final AuctionDeadlineScheduler deadlineScheduler;
 
     public AuctionItem registerAuctionItem(
             String title,
@@ -67,6 +66,7 @@ public class AuctionItemService {
                 .build();
 
         auctionItemRepository.saveAndFlush(item); // ID 확보
+        deadlineScheduler.scheduleEnd(item.getId(), item.getEndDateTime()); // ⏰ 커밋 후 종료 시각 등록
 
         // 2️⃣ S3 업로드
         List<String> uploadedUrls = new ArrayList<>();
@@ -105,11 +105,11 @@ public class AuctionItemService {
     @Transactional(readOnly = true)
     public List<AuctionItemDto> getAllAuctions() {
         List<AuctionItem> items = auctionItemRepository.findAll();
+        Map<Long, String> nicknames = chatLookupCache.nicknames(
+                items.stream().map(AuctionItem::getSellerId).toList());
         return items.stream()
                 .map(item -> {
-                    String sellerNickname = userRepository.findById(item.getSellerId())
-                            .map(User::getNickname)
-                            .orElse("탈퇴한 사용자");
+                    String sellerNickname = nicknames.getOrDefault(item.getSellerId(), "탈퇴한 사용자");
 
                     return AuctionItemDto.builder()
                             .id(item.getId())
@@ -141,9 +141,7 @@ public class AuctionItemService {
         AuctionItem item = auctionItemRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("경매 상품을 찾을 수 없습니다."));
 
-        String sellerNickname = userRepository.findById(item.getSellerId())
-                .map(User::getNickname)
-                .orElse("탈퇴한 사용자");
+        String sellerNickname = chatLookupCache.nickname(item.getSellerId(), "탈퇴한 사용자");
 
         return AuctionItemDto.builder()
                 .id(item.getId())
@@ -0,0 +1,194 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.domain.AuctionItem;
+import com.sharestory.sharestory_backend.dto.AuctionPriceMessage;
+import com.sharestory.sharestory_backend.dto.AuctionStatus;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📈 경매 실시간 시세 스트림 (/sub/auction/{id})
+ * - 입찰/종료 시 경매별 최신 시세만 덮어쓰고 dirty 표시 → coalesce-ms 마다 경매당 최대 1건 전송
+ *   (입찰이 몰려도 구독자당 전송 빈도는 경매당 1000 / coalesce-ms 건/초 이하)
+ * - 최신 시세는 로컬 캐시에 보관 → 구독 시 스냅샷(/pub/auction/{id})은 메모리에서 응답
+ *   (캐시에 없을 때만 DB 1회 조회, 다른 인스턴스 입찰분은 snapshot-ttl 후 다시 조회)
+ * - 다중 인스턴스 전달은 기존 STOMP 브로커 중계(RedisBrokerRelay)가 담당
+ */
+@Slf4j
+@Component
+public class AuctionPriceStream {
+
+    private static final String DESTINATION_PREFIX = "/sub/auction/";
+
+    private final AuctionItemRepository auctionItemRepository;
+    private final AuctionBidRepository auctionBidRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long coalesceMs;
+
+    private final Cache<Long, AuctionPriceMessage> snapshots;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final Counter publishedCounter;
+    private final Counter sentCounter;
+
+    public AuctionPriceStream(AuctionItemRepository auctionItemRepository,
+                              AuctionBidRepository auctionBidRepository,
+                              SimpMessagingTemplate messagingTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.auction.stream.coalesce-ms:100}") long coalesceMs,
+                              @Value("${app.auction.stream.snapshot-size:10000}") long snapshotSize,
+                              @Value("${app.auction.stream.snapshot-ttl-seconds:5}") long snapshotTtlSeconds) {
+        this.auctionItemRepository = auctionItemRepository;
+        this.auctionBidRepository = auctionBidRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.coalesceMs = Math.max(1, coalesceMs);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(snapshotSize)
+                .expireAfterWrite(Duration.ofSeconds(snapshotTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "auction.price.snapshot");
+        this.publishedCounter = meterRegistry.counter("auction.price.stream", "result", "published");
+        this.sentCounter = meterRegistry.counter("auction.price.stream", "result", "sent");
+
+        this.flusher = Thread.ofPlatform()
+                .name("AuctionPriceStream")
+                .daemon(true)
+                .start(this::runFlusher);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        flusher.interrupt();
+    }
+
+    /** 📥 입찰 수락 (입찰 엔진 경로, 이미 확정된 상태) */
+    public void onBid(Long auctionId, int currentPrice, int bidCount, String leaderNickname, LocalDateTime endAt) {
+        publish(AuctionPriceMessage.builder()
+                .auctionId(auctionId)
+                .currentPrice(currentPrice)
+                .bidCount(bidCount)
+                .leaderNickname(leaderNickname)
+                .status(AuctionStatus.ONGOING)
+                .endDateTime(endAt)
+                .build());
+    }
+
+    /** 📥 경매 상태 변경 (기존 입찰 / 즉시구매 / 종료, 커밋 후 반영) */
+    public void onChange(AuctionItem item, String leaderNickname) {
+        AuctionPriceMessage message = AuctionPriceMessage.builder()
+                .auctionId(item.getId())
+                .currentPrice(item.getCurrentPrice())
+                .bidCount(item.getBidCount())
+                .leaderNickname(leaderNickname)
+                .status(item.getStatus())
+                .endDateTime(item.getEndDateTime())
+                .build();
+        afterCommit(() -> publish(message));
+    }
+
+    /** 📸 구독 시 스냅샷 (캐시 미스만 DB 조회) */
+    public Optional<AuctionPriceMessage> snapshot(Long auctionId) {
+        AuctionPriceMessage cached = snapshots.get(auctionId, this::load);
+        return Optional.ofNullable(cached).map(this::withRemaining);
+    }
+
+    private void publish(AuctionPriceMessage message) {
+        // 늦게 도착한 이전 상태로 덮어쓰지 않음 (입찰 수는 단조 증가, 종료 상태는 유지)
+        snapshots.asMap().merge(message.getAuctionId(), message, (prev, next) ->
+                prev.getStatus() != AuctionStatus.ONGOING && next.getStatus() == AuctionStatus.ONGOING ? prev
+                        : next.getStatus() == AuctionStatus.ONGOING && next.getBidCount() < prev.getBidCount() ? prev
+                        : next);
+        dirty.add(message.getAuctionId());
+        publishedCounter.increment();
+    }
+
+    private void runFlusher() {
+        List<Long> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Thread.sleep(coalesceMs);
+                if (dirty.isEmpty()) continue;
+
+                batch.addAll(dirty);
+                batch.forEach(dirty::remove);
+                for (Long auctionId : batch) {
+                    AuctionPriceMessage latest = snapshots.getIfPresent(auctionId);
+                    if (latest == null) continue;
+                    messagingTemplate.convertAndSend(DESTINATION_PREFIX + auctionId, withRemaining(latest));
+                    sentCounter.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("[AUCTION STREAM] 시세 전송 실패: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private AuctionPriceMessage load(Long auctionId) {
+        AuctionItem item = auctionItemRepository.findById(auctionId).orElse(null);
+        if (item == null) return null;
+        String leader = auctionBidRepository.findTopByAuctionItemIdOrderByBidPriceDesc(auctionId)
+                .map(AuctionBid::getBidderName)
+                .orElse(null);
+        return AuctionPriceMessage.builder()
+                .auctionId(item.getId())
+                .currentPrice(item.getCurrentPrice())
+                .bidCount(item.getBidCount())
+                .leaderNickname(leader)
+                .status(item.getStatus())
+                .endDateTime(item.getEndDateTime())
+                .build();
+    }
+
+    private AuctionPriceMessage withRemaining(AuctionPriceMessage message) {
+        long remaining = 0;
+        if (message.getStatus() == AuctionStatus.ONGOING && message.getEndDateTime() != null) {
+            long endMs = message.getEndDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            remaining = Math.max(0, endMs - System.currentTimeMillis());
+        }
+        return message.toBuilder().remainingMs(remaining).build();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
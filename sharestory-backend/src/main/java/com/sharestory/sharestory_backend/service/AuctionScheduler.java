@@ -12,13 +12,13 @@ import com.sharestory.sharestory_backend.repo.PointHistoryRepository;
 import com.sharestory.sharestory_backend.repo.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuctionScheduler {
@@ -31,109 +31,132 @@ public class AuctionScheduler {
     private final ChatService chatService;
     private final AuctionEventPublisher auctionEventPublisher;
     private final PointHistoryRepository pointHistoryRepository;
-
-    @Scheduled(fixedRate = 10000)
+    private final AuctionBidEngine bidEngine;
+    private final AuctionPriceStream priceStream;
+    private final AuctionSettlementService settlementService;
+
+    /** 경매 종료 처리 결과 (rescheduleEndAt: 종료 시각이 미뤄진 경우, paymentDeadline: 낙찰 시 결제 마감) */
+    public record CloseResult(LocalDateTime rescheduleEndAt, LocalDateTime paymentDeadline) {}
+
+    /**
+     * ⏰ 경매 종료 처리 (AuctionDeadlineScheduler 가 종료 시각에 경매별로 호출)
+     * - 여러 노드에서 겹쳐 호출돼도 행 잠금 + 상태 재확인으로 한 번만 처리
+     * - 종료 시각이 아직 남았으면 (마감 임박 입찰로 연장 등) 처리하지 않고 새 종료 시각 반환
+     */
     @Transactional
-    public void checkEndedAuctions() {
-        List<AuctionItem> endedList = auctionItemRepository
-                .findByStatusAndEndDateTimeBefore(AuctionStatus.ONGOING, LocalDateTime.now());
+    public CloseResult closeAuction(Long auctionId) {
+        // 공유 호가창에서 종료 시각 확인 + 닫기를 원자적으로 → 연장됐으면 새 종료 시각으로 재등록
+        // 닫았으면 입찰 엔진 저장 대기분을 먼저 반영 (트랜잭션 첫 조회 전이어야 최고 입찰이 보임)
+        LocalDateTime liveEnd = bidEngine.closeIfDue(auctionId);
+        if (liveEnd != null) {
+            return new CloseResult(liveEnd, null);
+        }
 
-        if (endedList.isEmpty()) {
-            System.out.println("⏰ [Scheduler] 종료된 경매 없음 (" + LocalDateTime.now() + ")");
-            return;
+        AuctionItem item = auctionItemRepository.findByIdForUpdate(auctionId).orElse(null);
+        if (item == null || item.getStatus() != AuctionStatus.ONGOING) {
+            return new CloseResult(null, null);
+        }
+        if (item.getEndDateTime().isAfter(LocalDateTime.now())) {
+            return new CloseResult(item.getEndDateTime(), null);
         }
 
-        System.out.println("⏰ [Scheduler] 종료된 경매 수: " + endedList.size());
+        log.info("➡️ [Scheduler] 처리 대상 경매: ID={}, 제목={}, 종료시각={}",
+                item.getId(), item.getTitle(), item.getEndDateTime());
+        handleAuctionEnd(item);
+        priceStream.onChange(item, auctionBidRepository.findTopByAuctionItemIdOrderByBidPriceDesc(auctionId)
+                .map(AuctionBid::getBidderName)
+                .orElse(null)); // 📈 커밋 후 종료 시세 반영
 
-        for (AuctionItem item : endedList) {
-            System.out.println("➡️ [Scheduler] 처리 대상 경매: ID=" + item.getId() +
-                    ", 제목=" + item.getTitle() + ", 종료시각=" + item.getEndDateTime());
-            handleAuctionEnd(item);
-        }
+        return new CloseResult(null,
+                item.getStatus() == AuctionStatus.FINISHED ? item.getPaymentDeadline() : null);
     }
 
-    @Scheduled(fixedRate = 10000)
+    /**
+     * ⏰ 결제 마감 초과 패널티 (AuctionDeadlineScheduler 가 결제 마감 시각에 경매별로 호출)
+     * - 결제 완료 / 이미 처리 / 마감 전이면 아무것도 하지 않음
+     */
     @Transactional
-    public void checkUnpaidAuctions() {
-        LocalDateTime now = LocalDateTime.now();
-
-        List<AuctionItem> expiredItems = auctionItemRepository
-                .findByStatusAndPaymentDeadlineBeforeAndPenaltyAppliedFalse(AuctionStatus.FINISHED, now);
-
-        for (AuctionItem item : expiredItems) {
-            if (item.getWinnerId() == null || item.getWinningPrice() == null) continue;
-
-            User winner = userRepository.findById(item.getWinnerId()).orElse(null);
-            User seller = userRepository.findById(item.getSellerId()).orElse(null);
-            if (winner == null || seller == null) continue;
-
-            // ✅ 금액 계산
-            int winningPrice = item.getWinningPrice();
-            int totalPenalty = (int) (winningPrice * 0.2); // 총 20% 차감
-            int refund = winningPrice - totalPenalty;      // 낙찰자 환불 금액 (80%)
-            int sellerReward = (int) (winningPrice * 0.1); // 판매자 보상 10%
-
-            // ✅ 1) 낙찰자 환불 (80%)
-            winner.setPoints(winner.getPoints() + refund);
-            userRepository.save(winner);
-
-            pointHistoryRepository.save(PointHistory.builder()
-                    .user(winner)
-                    .amount(refund)
-                    .balance(winner.getPoints())
-                    .type("AUCTION_TIMEOUT_REFUND")
-                    .description(String.format("[%s] 결제시간 초과 - 낙찰금 20%% 패널티 후 80%% 환불", item.getTitle()))
-                    .build());
-
-            // ✅ 2) 판매자에게 10% 보상
-            seller.setPoints(seller.getPoints() + sellerReward);
-            userRepository.save(seller);
-
-            pointHistoryRepository.save(PointHistory.builder()
-                    .user(seller)
-                    .amount(sellerReward)
-                    .balance(seller.getPoints())
-                    .type("AUCTION_TIMEOUT_COMPENSATION")
-                    .description(String.format("[%s] 낙찰자 미결제로 보상금 10%% 수령", item.getTitle()))
-                    .build());
-
-            // ✅ 알림 전송
-            notificationService.sendNotification(
-                    winner,
-                    "AUCTION_TIMEOUT",
-                    String.format("[%s] 결제 시간이 초과되어 낙찰금의 20%%가 차감되었습니다. (80%% 환불)", item.getTitle()),
-                    item.getId()
-            );
-
-            notificationService.sendNotification(
-                    seller,
-                    "AUCTION_TIMEOUT_REWARD",
-                    String.format("[%s] 낙찰자가 결제하지 않아 10%% 보상금을 수령했습니다.", item.getTitle()),
-                    item.getId()
-            );
-
-            // ✅ 경매 상태 업데이트
-            item.setPenaltyApplied(true);
-            item.setStatus(AuctionStatus.CANCELLED);
-            auctionItemRepository.save(item);
-
-            System.out.printf("⚠️ [Scheduler] [%s] 낙찰자 %d 결제시간 초과 → 20%% 패널티 (판매자 10%% 보상)%n",
-                    item.getTitle(), item.getWinnerId());
+    public void applyPaymentPenalty(Long auctionId) {
+        AuctionItem item = auctionItemRepository.findByIdForUpdate(auctionId).orElse(null);
+        if (item == null
+                || item.getStatus() != AuctionStatus.FINISHED
+                || item.isPenaltyApplied()
+                || item.getPaymentDeadline() == null
+                || item.getPaymentDeadline().isAfter(LocalDateTime.now())) {
+            return;
         }
+
+        if (item.getWinnerId() == null || item.getWinningPrice() == null) return;
+
+        User winner = userRepository.findById(item.getWinnerId()).orElse(null);
+        User seller = userRepository.findById(item.getSellerId()).orElse(null);
+        if (winner == null || seller == null) return;
+
+        // ✅ 금액 계산
+        int winningPrice = item.getWinningPrice();
+        int totalPenalty = (int) (winningPrice * 0.2); // 총 20% 차감
+        int refund = winningPrice - totalPenalty;      // 낙찰자 환불 금액 (80%)
+        int sellerReward = (int) (winningPrice * 0.1); // 판매자 보상 10%
+
+        // ✅ 1) 낙찰자 환불 (80%)
+        winner.setPoints(winner.getPoints() + refund);
+        userRepository.save(winner);
+
+        pointHistoryRepository.save(PointHistory.builder()
+                .user(winner)
+                .amount(refund)
+                .balance(winner.getPoints())
+                .type("AUCTION_TIMEOUT_REFUND")
+                .description(String.format("[%s] 결제시간 초과 - 낙찰금 20%% 패널티 후 80%% 환불", item.getTitle()))
+                .build());
+
+        // ✅ 2) 판매자에게 10% 보상
+        seller.setPoints(seller.getPoints() + sellerReward);
+        userRepository.save(seller);
+
+        pointHistoryRepository.save(PointHistory.builder()
+                .user(seller)
+                .amount(sellerReward)
+                .balance(seller.getPoints())
+                .type("AUCTION_TIMEOUT_COMPENSATION")
+                .description(String.format("[%s] 낙찰자 미결제로 보상금 10%% 수령", item.getTitle()))
+                .build());
+
+        // ✅ 알림 전송
+        notificationService.sendNotification(
+                winner,
+                "AUCTION_TIMEOUT",
+                String.format("[%s] 결제 시간이 초과되어 낙찰금의 20%%가 차감되었습니다. (80%% 환불)", item.getTitle()),
+                item.getId()
+        );
+
+        notificationService.sendNotification(
+                seller,
+                "AUCTION_TIMEOUT_REWARD",
+                String.format("[%s] 낙찰자가 결제하지 않아 10%% 보상금을 수령했습니다.", item.getTitle()),
+                item.getId()
+        );
+
+        // ✅ 경매 상태 업데이트
+        item.setPenaltyApplied(true);
+        item.setStatus(AuctionStatus.CANCELLED);
+        auctionItemRepository.save(item);
+
+        log.warn("⚠️ [Scheduler] [{}] 낙찰자 {} 결제시간 초과 → 20% 패널티 (판매자 10% 보상)",
+                item.getTitle(), item.getWinnerId());
     }
 
 
 
     private void handleAuctionEnd(AuctionItem item) {
-        System.out.println("🔍 [Scheduler] 경매 종료 처리 시작 → ID=" + item.getId());
+        log.info("🔍 [Scheduler] 경매 종료 처리 시작 → ID={}", item.getId());
 
         Optional<AuctionBid> topBidOpt =
                 auctionBidRepository.findTopByAuctionItemIdOrderByBidPriceDesc(item.getId());
 
         if (topBidOpt.isPresent()) {
             AuctionBid topBid = topBidOpt.get();
-            System.out.println("🏆 [Scheduler] 최고입찰자 발견 → userId=" + topBid.getUserId()
-                    + ", 금액=" + topBid.getBidPrice());
+            log.info("🏆 [Scheduler] 최고입찰자 발견 → userId={}, 금액={}", topBid.getUserId(), topBid.getBidPrice());
 
             item.setWinnerId(topBid.getUserId());
             item.setWinningPrice(topBid.getBidPrice());
@@ -142,29 +165,31 @@ public class AuctionScheduler {
             item.setPenaltyApplied(false);
             auctionItemRepository.save(item);
 
-            // ✅ 비낙찰자 포인트 환불 처리 추가
-            refundLosers(item.getId(), topBid.getUserId(), item.getTitle());
+            // ✅ 비낙찰자 포인트 일괄 환불 (알림은 커밋 후 일괄 전송)
+            settlementService.refundLosers(item.getId(), topBid.getUserId(),
+                    String.format("[%s] 경매 낙찰 실패로 포인트 환불", item.getTitle()),
+                    "AUCTION_REFUND",
+                    String.format("[%s] 경매가 종료되어 입찰금이 환불되었습니다.", item.getTitle()));
 
             try {
-                System.out.println("🛒 [Scheduler] 안전거래(Order) 생성 시도...");
+                log.info("🛒 [Scheduler] 안전거래(Order) 생성 시도...");
                 orderService.createSafeOrderFromAuction(item);
-                System.out.println("✅ [Scheduler] Order 생성 완료");
+                log.info("✅ [Scheduler] Order 생성 완료");
             } catch (Exception e) {
-                System.err.println("❌ [Scheduler] Order 생성 실패: " + e.getMessage());
-                e.printStackTrace();
+                log.error("❌ [Scheduler] Order 생성 실패: {}", e.getMessage(), e);
             }
 
             // ✅ 트랜잭션 커밋 이후 메시지 전송을 위한 이벤트 발행
             try {
                 auctionEventPublisher.publishAuctionEndedEvent(item.getId());
-                System.out.println("📢 [Scheduler] AuctionEndedEvent 발행 완료 → auctionId=" + item.getId());
+                log.info("📢 [Scheduler] AuctionEndedEvent 발행 완료 → auctionId={}", item.getId());
             } catch (Exception e) {
-                System.err.println("❌ [Scheduler] AuctionEndedEvent 발행 실패: " + e.getMessage());
+                log.error("❌ [Scheduler] AuctionEndedEvent 발행 실패: {}", e.getMessage());
             }
 
             sendNotifications(item, topBid); // (기존 NotificationService 유지)
         } else {
-            System.out.println("⚠️ [Scheduler] 입찰자 없음 → 경매 취소 처리");
+            log.info("⚠️ [Scheduler] 입찰자 없음 → 경매 취소 처리");
             item.setStatus(AuctionStatus.CANCELLED);
             auctionItemRepository.save(item);
         }
@@ -192,47 +217,4 @@ public class AuctionScheduler {
                 )
         );
     }
-
-    private void refundLosers(Long auctionId, Long winnerId, String title) {
-        List<AuctionBid> allBids = auctionBidRepository.findByAuctionItemId(auctionId);
-
-        if (allBids.isEmpty()) {
-            System.out.println("💤 [Scheduler] 환불 대상 입찰자 없음");
-            return;
-        }
-
-        for (AuctionBid bid : allBids) {
-            if (bid.getUserId().equals(winnerId)) continue; // 낙찰자 제외
-
-            userRepository.findById(bid.getUserId()).ifPresent(loser -> {
-                int refundAmount = bid.getBidPrice();
-                int newBalance = loser.getPoints() + refundAmount;
-                loser.setPoints(newBalance);
-                userRepository.save(loser);
-
-                // ✅ 포인트 내역 기록
-                pointHistoryRepository.save(PointHistory.builder()
-                        .user(loser)
-                        .amount(refundAmount)
-                        .balance(newBalance)
-                        .type("AUCTION_REFUND")
-                        .description(String.format("[%s] 경매 낙찰 실패로 포인트 환불", title))
-                        .build());
-
-                // ✅ 알림 발송
-                try {
-                    notificationService.sendNotification(
-                            loser,
-                            "AUCTION_REFUND",
-                            String.format("[%s] 경매가 종료되어 입찰금이 환불되었습니다.", title),
-                            auctionId
-                    );
-                } catch (Exception e) {
-                    System.err.println("⚠️ [Scheduler] 환불 알림 실패: " + e.getMessage());
-                }
-
-                System.out.println("💰 [Scheduler] 환불 완료 → userId=" + loser.getId() + ", 금액=" + refundAmount);
-            });
-        }
-    }
 }
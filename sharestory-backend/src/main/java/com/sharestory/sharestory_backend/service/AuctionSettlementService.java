@@ -0,0 +1,176 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 💰 경매 정산 (비낙찰자 입찰금 일괄 환불)
+ * - 경매의 입찰을 한 번 읽어 환불 대상/금액을 계산하고 chunk 단위로 반영
+ *   (멱등 키 multi-row INSERT → 포인트 batch UPDATE → 잔액 IN 조회 → 포인트 내역 multi-row INSERT)
+ * - 멱등 키(auction_refund, 경매+사용자 unique)를 환불과 같은 트랜잭션에 기록
+ *   → 중단/재시도로 다시 정산해도 이미 환불된 사용자는 건너뜀
+ * - 알림은 커밋 후 대상 전체를 한 번의 비동기 작업으로 전송
+ * - 호출 트랜잭션(경매 행 잠금 보유) 안에서만 실행
+ */
+@Slf4j
+@Service
+public class AuctionSettlementService {
+
+    private static final String DONE_SQL = "SELECT user_id FROM auction_refund WHERE auction_item_id = ?";
+    private static final String KEY_INSERT_PREFIX =
+            "INSERT INTO auction_refund (auction_item_id, user_id, amount, type, created_at) VALUES ";
+    private static final String KEY_ROW = "(?, ?, ?, ?, ?)";
+    private static final String CREDIT_SQL = "UPDATE users SET points = points + ? WHERE id = ?";
+    private static final String HISTORY_INSERT_PREFIX =
+            "INSERT INTO point_history (user_id, amount, balance, type, description, created_at) VALUES ";
+    private static final String HISTORY_ROW = "(?, ?, ?, ?, ?, ?)";
+
+    /** 정산 결과 (이번 호출에서 환불된 사용자만) */
+    public record Settlement(Long auctionId, List<Long> refundedUserIds, long refundedAmount) {}
+
+    private final AuctionBidRepository auctionBidRepository;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    private final Timer settleTimer;
+    private final DistributionSummary refundSummary;
+
+    public AuctionSettlementService(AuctionBidRepository auctionBidRepository,
+                                    NotificationService notificationService,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.auction.settlement.chunk-size:500}") int chunkSize) {
+        this.auctionBidRepository = auctionBidRepository;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.settleTimer = meterRegistry.timer("auction.settlement");
+        this.refundSummary = meterRegistry.summary("auction.settlement.refunds");
+    }
+
+    /**
+     * 비낙찰자 입찰금 환불 (excludeUserId: 낙찰자 / 즉시구매자, 없으면 null)
+     * - 호출 쪽에서 환불 대상 User 엔티티를 수정/저장하지 않아야 함 (JDBC 반영분을 덮어씀)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Settlement refundLosers(Long auctionId, Long excludeUserId,
+                                   String historyDescription, String notifyType, String notifyMessage) {
+        long startedAt = System.nanoTime();
+
+        Set<Long> done = new HashSet<>(jdbcTemplate.queryForList(DONE_SQL, Long.class, auctionId));
+        Map<Long, Integer> refunds = new LinkedHashMap<>();
+        for (AuctionBid bid : auctionBidRepository.findByAuctionItemId(auctionId)) {
+            if (bid.getUserId().equals(excludeUserId) || bid.getBidPrice() <= 0) continue;
+            if (done.contains(bid.getUserId())) continue;
+            refunds.merge(bid.getUserId(), bid.getBidPrice(), Integer::sum);
+        }
+
+        if (refunds.isEmpty()) {
+            log.info("💤 [SETTLEMENT] 환불 대상 없음 → auctionId={} (이미 환불 {}명)", auctionId, done.size());
+            return new Settlement(auctionId, List.of(), 0);
+        }
+
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(refunds.entrySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> refunded = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<Long, Integer>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            insertKeys(auctionId, chunk, now);
+            jdbcTemplate.batchUpdate(CREDIT_SQL, chunk, chunk.size(), (ps, e) -> {
+                ps.setInt(1, e.getValue());
+                ps.setLong(2, e.getKey());
+            });
+            refunded.addAll(insertHistories(chunk, historyDescription));
+        }
+
+        long total = refunds.values().stream().mapToLong(Integer::longValue).sum();
+        settleTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        refundSummary.record(refunded.size());
+        log.info("💰 [SETTLEMENT] 환불 완료 → auctionId={}, {}명, 총 {}원", auctionId, refunded.size(), total);
+
+        if (notifyType != null) {
+            List<Long> targets = List.copyOf(refunded);
+            afterCommit(() -> notificationService.sendBulkNotification(targets, notifyType, notifyMessage, auctionId));
+        }
+        return new Settlement(auctionId, refunded, total);
+    }
+
+    /** 멱등 키 multi-row INSERT (이미 있으면 unique 위반 → 트랜잭션 전체 롤백, 이중 환불 없음) */
+    private void insertKeys(Long auctionId, List<Map.Entry<Long, Integer>> chunk, LocalDateTime now) {
+        String sql = KEY_INSERT_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), KEY_ROW));
+        Timestamp at = Timestamp.valueOf(now);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int i = 1;
+            for (Map.Entry<Long, Integer> e : chunk) {
+                ps.setLong(i++, auctionId);
+                ps.setLong(i++, e.getKey());
+                ps.setInt(i++, e.getValue());
+                ps.setString(i++, "AUCTION_REFUND");
+                ps.setTimestamp(i++, at);
+            }
+            return ps;
+        });
+    }
+
+    /** 환불 후 잔액 IN 조회 1회 → 포인트 내역 multi-row INSERT (탈퇴 등으로 없는 사용자는 제외) */
+    private List<Long> insertHistories(List<Map.Entry<Long, Integer>> chunk, String description) {
+        String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        Map<Long, Integer> balances = new HashMap<>();
+        jdbcTemplate.query("SELECT id, points FROM users WHERE id IN (" + in + ")",
+                rs -> { balances.put(rs.getLong(1), rs.getInt(2)); },
+                chunk.stream().map(Map.Entry::getKey).toArray());
+
+        List<Map.Entry<Long, Integer>> rows = chunk.stream().filter(e -> balances.containsKey(e.getKey())).toList();
+        if (rows.isEmpty()) return List.of();
+
+        String sql = HISTORY_INSERT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), HISTORY_ROW));
+        Timestamp at = Timestamp.from(Instant.now());
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            int i = 1;
+            for (Map.Entry<Long, Integer> e : rows) {
+                ps.setLong(i++, e.getKey());
+                ps.setInt(i++, e.getValue());
+                ps.setInt(i++, balances.get(e.getKey()));
+                ps.setString(i++, "AUCTION_REFUND");
+                ps.setString(i++, description);
+                ps.setTimestamp(i++, at);
+            }
+            return ps;
+        });
+        return rows.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sharestory.sharestory_backend.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filter 공용 계산
+ * - 크기: m = -n·ln(p) / (ln2)², k = (m/n)·ln2
+ * - 위치: 64bit 해시 2개로 k 개 생성 (Kirsch–Mitzenmacher, h1 + i·h2)
+ */
+final class BloomHash {
+
+    private BloomHash() {
+    }
+
+    static long optimalBits(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(fpp, 1e-9), 0.5);
+        return Math.max(64, (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+    }
+
+    static int optimalHashes(long expectedInsertions, long bits) {
+        return Math.max(1, (int) Math.round((double) bits / Math.max(1, expectedInsertions) * Math.log(2)));
+    }
+
+    static long[] positions(String element, int hashes, long bits) {
+        long h1 = fnv1a64(element.getBytes(StandardCharsets.UTF_8));
+        long h2 = mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;   // 홀수 → 위치가 겹치지 않도록
+        h1 = mix64(h1);
+
+        long[] positions = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            positions[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return positions;
+    }
+
+    private static long fnv1a64(byte[] data) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** splitmix64 finalizer */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,57 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.repo.ChatReadMarkRepository;
+import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 채팅 스키마 변경에 따른 기존 데이터 백필 (기동 시 1회, 이미 반영된 행은 건너뜀)
+ * - chat_room.last_message_* : 방별 마지막 메시지
+ * - chat_read_mark : 메시지별 읽음 기록(chat_read) → (방, 사용자) 읽음 워터마크
+ */
+@Slf4j
+@Component
+public class ChatDataMigration {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatReadMarkRepository readMarkRepository;
+    private final TransactionTemplate tx;
+    private final boolean enabled;
+
+    public ChatDataMigration(ChatRoomRepository chatRoomRepository,
+                             ChatReadMarkRepository readMarkRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.chat.migrate-on-startup:true}") boolean enabled) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.readMarkRepository = readMarkRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) return;
+        try {
+            Integer rooms = tx.execute(status -> chatRoomRepository.backfillLastMessage());
+            if (rooms != null && rooms > 0) {
+                log.info("[CHAT MIGRATION] 마지막 메시지 백필: 채팅방 {}개", rooms);
+            }
+        } catch (Exception e) {
+            log.error("[CHAT MIGRATION] 마지막 메시지 백필 실패: {}", e.getMessage(), e);
+        }
+        try {
+            Integer marks = tx.execute(status -> readMarkRepository.migrateFromChatRead());
+            if (marks != null && marks > 0) {
+                log.info("[CHAT MIGRATION] 읽음 워터마크 이관: {}건", marks);
+            }
+        } catch (Exception e) {
+            log.error("[CHAT MIGRATION] 읽음 워터마크 이관 실패: {}", e.getMessage(), e);
+        }
+    }
+}
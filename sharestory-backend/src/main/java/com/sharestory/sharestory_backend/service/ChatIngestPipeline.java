@@ -0,0 +1,338 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.ChatMessage;
+import com.sharestory.sharestory_backend.domain.ChatRoom;
+import com.sharestory.sharestory_backend.dto.ChatMessageDto;
+import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 메시지 수신 파이프라인 (group commit)
+ * - 방 id 해시로 레인(단일 워커 + bounded 큐)을 고정 → 방 안의 순서 보장
+ * - 워커는 쌓인 메시지를 최대 batch-size 만큼 모아 한 트랜잭션으로 저장
+ *   (multi-row INSERT 1회 + 방 마지막 메시지 batch UPDATE, 참여자/닉네임은 ChatLookupCache)
+ * - 커밋 후 순서대로 STOMP 브로드캐스트, 안읽은 수/FCM 은 (수신자, 방) 단위로 묶어서 처리
+ * - 읽음 상태는 워터마크(chat_read_mark)라 메시지별로 쓸 행이 없음
+ */
+@Slf4j
+@Component
+public class ChatIngestPipeline {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat_message (room_id, sender_id, content, type, created_at, notified) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+    private static final String ROOM_UPDATE_SQL =
+            "UPDATE chat_room SET last_message_id = ?, last_message_preview = ?, last_message_at = ?, updated_at = ? " +
+            "WHERE id = ? AND (last_message_id IS NULL OR last_message_id < ?)";
+    private static final int FCM_PREVIEW_LENGTH = 40;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatLookupCache lookupCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatUnreadCounter unreadCounter;
+    private final FcmService fcmService;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long offerTimeoutMs;
+    private final List<BlockingQueue<ChatMessageDto>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSummary;
+    private final Timer persistTimer;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+
+    public ChatIngestPipeline(ChatRoomRepository chatRoomRepository,
+                              ChatLookupCache lookupCache,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SimpMessagingTemplate messagingTemplate,
+                              ChatUnreadCounter unreadCounter,
+                              FcmService fcmService,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.chat.ingest.enabled:true}") boolean enabled,
+                              @Value("${app.chat.ingest.lanes:4}") int laneCount,
+                              @Value("${app.chat.ingest.queue-capacity:1000}") int queueCapacity,
+                              @Value("${app.chat.ingest.batch-size:100}") int batchSize,
+                              @Value("${app.chat.ingest.linger-ms:2}") long lingerMs,
+                              @Value("${app.chat.ingest.offer-timeout-ms:500}") long offerTimeoutMs) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.lookupCache = lookupCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.messagingTemplate = messagingTemplate;
+        this.unreadCounter = unreadCounter;
+        this.fcmService = fcmService;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        for (int i = 0; i < Math.max(1, laneCount); i++) {
+            lanes.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+
+        Gauge.builder("chat.ingest.queue", lanes, l -> l.stream().mapToInt(BlockingQueue::size).sum())
+                .register(meterRegistry);
+        this.batchSummary = meterRegistry.summary("chat.ingest.batch");
+        this.persistTimer = meterRegistry.timer("chat.ingest.persist");
+        this.rejectedCounter = meterRegistry.counter("chat.ingest.rejected");
+        this.failedCounter = meterRegistry.counter("chat.ingest.failed");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        for (int i = 0; i < lanes.size(); i++) {
+            BlockingQueue<ChatMessageDto> queue = lanes.get(i);
+            workers.add(Thread.ofPlatform()
+                    .name("ChatIngest-" + i)
+                    .daemon(true)
+                    .start(() -> runLane(queue)));
+        }
+        log.info("[CHAT INGEST] 파이프라인 시작: 레인 {}개, 배치 {}건", lanes.size(), batchSize);
+    }
+
+    /** 종료 시 큐에 남은 메시지까지 저장 후 정지 */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** 📥 메시지 접수 (큐가 가득 차면 offer-timeout 동안 대기 후 거절) */
+    public void submit(ChatMessageDto dto) {
+        if (dto.getRoomId() == null || dto.getSenderId() == null || dto.getContent() == null) {
+            throw new IllegalArgumentException("채팅 메시지 형식이 올바르지 않습니다.");
+        }
+        BlockingQueue<ChatMessageDto> lane = lanes.get(Math.floorMod(dto.getRoomId().hashCode(), lanes.size()));
+        try {
+            if (!lane.offer(dto, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                throw new IllegalStateException("채팅 처리 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 메시지 접수 중단");
+        }
+    }
+
+    private void runLane(BlockingQueue<ChatMessageDto> queue) {
+        List<ChatMessageDto> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessageDto first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 이미 쌓인 것 + linger 동안 들어오는 것까지 묶음
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    ChatMessageDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[CHAT INGEST] 배치 처리 실패: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** 저장 결과: 메시지(id 포함) + 방 참여자 */
+    private record Persisted(List<ChatMessage> messages, Map<Long, ChatLookupCache.RoomMembers> members) {}
+
+    private void process(List<ChatMessageDto> batch) {
+        long startedAt = System.nanoTime();
+        Persisted persisted;
+        try {
+            persisted = tx.execute(status -> persist(batch));
+        } catch (Exception e) {
+            // 한 건 때문에 전체가 실패하지 않도록 개별 저장으로 재시도
+            log.warn("[CHAT INGEST] 배치 저장 실패 ({}건) → 개별 저장: {}", batch.size(), e.getMessage());
+            List<ChatMessage> messages = new ArrayList<>();
+            Map<Long, ChatLookupCache.RoomMembers> members = new HashMap<>();
+            for (ChatMessageDto dto : batch) {
+                try {
+                    Persisted one = tx.execute(status -> persist(List.of(dto)));
+                    if (one == null) continue;
+                    messages.addAll(one.messages());
+                    members.putAll(one.members());
+                } catch (Exception ex) {
+                    failedCounter.increment();
+                    log.error("[CHAT INGEST] 메시지 저장 실패 (roomId={}, senderId={}): {}",
+                            dto.getRoomId(), dto.getSenderId(), ex.getMessage());
+                }
+            }
+            persisted = new Persisted(messages, members);
+        }
+        persistTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        batchSummary.record(batch.size());
+
+        if (persisted != null && !persisted.messages().isEmpty()) {
+            deliver(persisted);
+        }
+    }
+
+    private Persisted persist(List<ChatMessageDto> batch) {
+        Set<Long> roomIds = batch.stream().map(ChatMessageDto::getRoomId).collect(Collectors.toSet());
+        Map<Long, ChatLookupCache.RoomMembers> members = lookupCache.rooms(roomIds);
+
+        // 배치 내 동일 시각 → 같은 방의 순서는 id(삽입 순서)로 결정
+        LocalDateTime now = LocalDateTime.now();
+        List<ChatMessage> messages = new ArrayList<>(batch.size());
+        for (ChatMessageDto dto : batch) {
+            if (!members.containsKey(dto.getRoomId())) {
+                failedCounter.increment();
+                log.warn("[CHAT INGEST] 채팅방 없음 → 메시지 폐기 (roomId={})", dto.getRoomId());
+                continue;
+            }
+            messages.add(ChatMessage.builder()
+                    .room(chatRoomRepository.getReferenceById(dto.getRoomId()))
+                    .senderId(dto.getSenderId())
+                    .content(dto.getContent())
+                    .type(dto.getType() != null ? dto.getType() : ChatMessage.MessageType.TEXT)
+                    .createdAt(now)
+                    .notified(true)   // 커밋 직후 FCM 발송
+                    .build());
+        }
+        if (messages.isEmpty()) return new Persisted(List.of(), Map.of());
+
+        insertMessages(messages);
+        updateLastMessages(messages);
+        return new Persisted(messages, members);
+    }
+
+    /** multi-row INSERT 1회, 생성된 id 를 순서대로 반영 */
+    private void insertMessages(List<ChatMessage> messages) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(messages.size(), ROW_PLACEHOLDER));
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int i = 1;
+            for (ChatMessage m : messages) {
+                ps.setLong(i++, m.getRoom().getId());
+                ps.setLong(i++, m.getSenderId());
+                ps.setString(i++, m.getContent());
+                ps.setString(i++, m.getType().name());
+                ps.setTimestamp(i++, Timestamp.valueOf(m.getCreatedAt()));
+                ps.setBoolean(i++, m.getNotified());
+            }
+            return ps;
+        }, keys);
+
+        List<Map<String, Object>> rows = keys.getKeyList();
+        if (rows.size() != messages.size()) {
+            throw new IllegalStateException("생성된 메시지 id 수 불일치: " + rows.size() + " / " + messages.size());
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            messages.get(i).setId(((Number) rows.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    /** 방별 마지막 메시지만 batch UPDATE (더 최신 메시지가 이미 반영돼 있으면 건너뜀) */
+    private void updateLastMessages(List<ChatMessage> messages) {
+        Map<Long, ChatMessage> lastByRoom = new LinkedHashMap<>();
+        messages.forEach(m -> lastByRoom.put(m.getRoom().getId(), m));
+
+        jdbcTemplate.batchUpdate(ROOM_UPDATE_SQL, new ArrayList<>(lastByRoom.values()), lastByRoom.size(), (ps, m) -> {
+            Timestamp at = Timestamp.valueOf(m.getCreatedAt());
+            ps.setLong(1, m.getId());
+            ps.setString(2, ChatRoom.previewOf(m.getContent()));
+            ps.setTimestamp(3, at);
+            ps.setTimestamp(4, at);
+            ps.setLong(5, m.getRoom().getId());
+            ps.setLong(6, m.getId());
+        });
+    }
+
+    /** 📡 커밋 후: 방/사용자 채널 브로드캐스트 (접수 순서), 안읽은 수·FCM 은 (수신자, 방)별 1회 */
+    private void deliver(Persisted persisted) {
+        Map<List<Long>, Integer> unread = new LinkedHashMap<>();
+        Map<List<Long>, ChatMessage> latest = new LinkedHashMap<>();
+
+        for (ChatMessage m : persisted.messages()) {
+            Long roomId = m.getRoom().getId();
+            Long receiverId = persisted.members().get(roomId).partnerOf(m.getSenderId());
+            ChatMessageDto payload = ChatMessageDto.from(m);
+            try {
+                messagingTemplate.convertAndSend("/sub/chat/room/" + roomId, payload);
+                messagingTemplate.convertAndSend("/sub/chat/user/" + receiverId, payload);
+            } catch (Exception e) {
+                log.error("[CHAT INGEST] 브로드캐스트 실패 (messageId={}): {}", m.getId(), e.getMessage());
+            }
+
+            List<Long> key = List.of(receiverId, roomId);
+            unread.merge(key, 1, Integer::sum);
+            latest.put(key, m);
+        }
+
+        unread.forEach((key, count) -> unreadCounter.increment(key.get(0), key.get(1), count));
+
+        Map<Long, String> senderNames = lookupCache.nicknames(
+                latest.values().stream().map(ChatMessage::getSenderId).toList());
+        latest.forEach((key, m) -> {
+            try {
+                String senderName = senderNames.getOrDefault(m.getSenderId(), "알 수 없는 사용자");
+                String content = m.getContent();
+                String bodyPreview = content.length() > FCM_PREVIEW_LENGTH
+                        ? content.substring(0, FCM_PREVIEW_LENGTH) + "..."
+                        : content;
+                fcmService.sendToUser(key.get(0), senderName + "님의 새 메시지", bodyPreview, "/", key.get(1));
+            } catch (Exception e) {
+                log.error("❌ FCM 전송 실패 (userId={}): {}", key.get(0), e.getMessage());
+            }
+        });
+    }
+}
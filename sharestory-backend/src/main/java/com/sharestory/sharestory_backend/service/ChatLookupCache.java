@@ -0,0 +1,181 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sharestory.sharestory_backend.domain.User;
+import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅용 조회 캐시 (인스턴스 로컬 Caffeine + Redis pub/sub 무효화)
+ * - 채팅방 참여자(buyerId, sellerId): 방 삭제 시 무효화
+ * - 사용자 표시 정보(닉네임): 닉네임 변경(로그인 시 갱신) 시 무효화
+ * - 무효화는 커밋 후 로컬 + 다른 인스턴스(cache:chat:evict 채널)에 전파, 유실 대비 TTL 로도 만료
+ */
+@Slf4j
+@Component
+public class ChatLookupCache implements MessageListener {
+
+    private static final String EVICT_CHANNEL = "cache:chat:evict";
+    private static final String ROOM_PREFIX = "room:";
+    private static final String USER_PREFIX = "user:";
+
+    /** 채팅방 참여자 */
+    public record RoomMembers(Long roomId, Long buyerId, Long sellerId) {
+        public boolean contains(Long userId) {
+            return userId != null && (userId.equals(buyerId) || userId.equals(sellerId));
+        }
+
+        /** 상대방 (구매자가 아니면 구매자) */
+        public Long partnerOf(Long userId) {
+            return buyerId.equals(userId) ? sellerId : buyerId;
+        }
+    }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redis;
+
+    private final Cache<Long, RoomMembers> rooms;
+    private final Cache<Long, String> nicknames;
+
+    public ChatLookupCache(ChatRoomRepository chatRoomRepository,
+                           UserRepository userRepository,
+                           StringRedisTemplate redis,
+                           RedisMessageListenerContainer listenerContainer,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.chat.cache.room-size:50000}") long roomSize,
+                           @Value("${app.chat.cache.user-size:50000}") long userSize,
+                           @Value("${app.chat.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.userRepository = userRepository;
+        this.redis = redis;
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(roomSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.nicknames = Caffeine.newBuilder()
+                .maximumSize(userSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rooms, "chat.room.members");
+        CaffeineCacheMetrics.monitor(meterRegistry, nicknames, "user.nickname");
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /** 채팅방 참여자 (없는 방은 캐시하지 않음) */
+    public Optional<RoomMembers> room(Long roomId) {
+        if (roomId == null) return Optional.empty();
+        RoomMembers cached = rooms.getIfPresent(roomId);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<RoomMembers> loaded = chatRoomRepository.findById(roomId)
+                .map(r -> new RoomMembers(r.getId(), r.getBuyerId(), r.getSellerId()));
+        loaded.ifPresent(m -> rooms.put(roomId, m));
+        return loaded;
+    }
+
+    /** 채팅방 참여자 (없으면 예외) */
+    public RoomMembers requireRoom(Long roomId) {
+        return room(roomId).orElseThrow(() -> new RuntimeException("채팅방 없음"));
+    }
+
+    public Map<Long, RoomMembers> rooms(Collection<Long> roomIds) {
+        Map<Long, RoomMembers> result = new HashMap<>(rooms.getAllPresent(roomIds));
+        List<Long> missing = roomIds.stream().filter(id -> !result.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            chatRoomRepository.findAllById(missing).forEach(r -> {
+                RoomMembers m = new RoomMembers(r.getId(), r.getBuyerId(), r.getSellerId());
+                rooms.put(r.getId(), m);
+                result.put(r.getId(), m);
+            });
+        }
+        return result;
+    }
+
+    /** 닉네임 (탈퇴 등으로 없으면 defaultName) */
+    public String nickname(Long userId, String defaultName) {
+        if (userId == null) return defaultName;
+        return nicknames(List.of(userId)).getOrDefault(userId, defaultName);
+    }
+
+    /** 닉네임 일괄 조회 (미스만 IN 조회 1회) */
+    public Map<Long, String> nicknames(Collection<Long> userIds) {
+        Set<Long> ids = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) return Map.of();
+        return nicknames.getAll(ids, missing -> userRepository.findAllById(new ArrayList<Long>(missing)).stream()
+                .filter(u -> u.getNickname() != null)
+                .collect(Collectors.toMap(User::getId, User::getNickname)));
+    }
+
+    /** 🗑️ 방 삭제 → 커밋 후 무효화 */
+    public void evictRoom(Long roomId) {
+        afterCommit(() -> publish(ROOM_PREFIX + roomId));
+    }
+
+    /** ✏️ 닉네임 변경 → 커밋 후 무효화 */
+    public void evictUser(Long userId) {
+        afterCommit(() -> publish(USER_PREFIX + userId));
+    }
+
+    private void publish(String key) {
+        evictLocal(key);
+        try {
+            redis.convertAndSend(EVICT_CHANNEL, key);
+        } catch (DataAccessException e) {
+            // 다른 인스턴스는 TTL 로 만료
+            log.warn("[CHAT CACHE] 무효화 전파 실패 ({}): {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictLocal(String key) {
+        try {
+            if (key.startsWith(ROOM_PREFIX)) {
+                rooms.invalidate(Long.valueOf(key.substring(ROOM_PREFIX.length())));
+            } else if (key.startsWith(USER_PREFIX)) {
+                nicknames.invalidate(Long.valueOf(key.substring(USER_PREFIX.length())));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("[CHAT CACHE] 잘못된 무효화 메시지 무시: {}", key);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
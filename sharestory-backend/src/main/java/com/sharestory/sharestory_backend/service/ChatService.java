@@ -3,9 +3,12 @@ package com.sharestory.sharestory_backend.service;
 import com.sharestory.sharestory_backend.domain.*;
 import com.sharestory.sharestory_backend.dto.ChatMessageDto;
 import com.sharestory.sharestory_backend.dto.ChatRoomDto;
+import com.sharestory.sharestory_backend.dto.SliceResponse;
 import com.sharestory.sharestory_backend.repo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -18,14 +21,17 @@ import java.util.*;
 @RequiredArgsConstructor
 public class ChatService {
 
+    private static final int MAX_HISTORY_LIMIT = 100;
+
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
-    private final ChatReadRepository chatReadRepository;
+    private final ChatReadMarkRepository readMarkRepository;
     private final FcmService fcmService;
     private final SimpMessagingTemplate simpMessagingTemplate;
     private final AuctionItemRepository auctionItemRepository;
+    private final ChatUnreadCounter unreadCounter;
+    private final ChatLookupCache lookupCache;
 
     @Transactional
     public ChatRoomDto createOrGetRoom(Long itemId, Long buyerId) {
@@ -37,11 +43,8 @@ public class ChatService {
 
         return chatRoomRepository.findByItem_IdAndBuyerId(itemId, buyerId)
                 .map(room -> {
-                    String partnerName = userRepository.findById(sellerId)
-                            .map(User::getNickname)
-                            .orElse("알 수 없음");
-                    String lastMsg = room.getMessages().isEmpty() ? "" :
-                            room.getMessages().get(room.getMessages().size() - 1).getContent();
+                    String partnerName = lookupCache.nickname(sellerId, "알 수 없음");
+                    String lastMsg = room.getLastMessagePreview() != null ? room.getLastMessagePreview() : "";
                     return ChatRoomDto.from(room, partnerName, lastMsg);
                 })
                 .orElseGet(() -> {
@@ -53,36 +56,64 @@ public class ChatService {
                             .build();
                     chatRoomRepository.save(newRoom);
 
-                    String partnerName = userRepository.findById(sellerId)
-                            .map(User::getNickname)
-                            .orElse("알 수 없음");
+                    String partnerName = lookupCache.nickname(sellerId, "알 수 없음");
 
                     return ChatRoomDto.from(newRoom, partnerName, "");
                 });
     }
 
+    /**
+     * 채팅 목록: 방/상품/상대 닉네임/마지막 메시지 1회 + 안읽은 수 카운터
+     */
     @Transactional(readOnly = true)
     public List<ChatRoomDto> getRooms(Long userId) {
-        return chatRoomRepository.findByBuyerIdOrSellerId(userId, userId)
-                .stream()
-                .map(room -> {
-                    String partnerName = room.getBuyerId().equals(userId)
-                            ? userRepository.findById(room.getSellerId()).get().getNickname()
-                            : userRepository.findById(room.getBuyerId()).get().getNickname();
+        List<ChatRoomRepository.InboxRow> rows = chatRoomRepository.findInbox(userId);
+        if (rows.isEmpty()) return List.of();
 
-                    String lastMsg = room.getMessages().isEmpty() ? "" :
-                            room.getMessages().get(room.getMessages().size() - 1).getContent();
+        Map<Long, Integer> unread = unreadCounter.counts(userId);
 
-                    int unreadCount = chatReadRepository.countUnreadByRoomAndUser(room.getId(), userId);
-                    return ChatRoomDto.from(room, partnerName, lastMsg, unreadCount);
-                })
+        return rows.stream()
+                .map(row -> toRoomDto(row, unread.getOrDefault(row.getRoomId(), 0)))
                 .toList();
     }
 
+    /** 채팅 목록 projection → DTO */
+    private ChatRoomDto toRoomDto(ChatRoomRepository.InboxRow row, int unreadCount) {
+        String title;
+        String thumbnail;
+        int price;
+
+        if (row.getItemTitle() != null) {
+            title = row.getItemTitle();
+            thumbnail = row.getItemImageUrl();
+            price = row.getItemPrice() != null ? row.getItemPrice() : 0;
+        } else if (row.getAuctionTitle() != null) {
+            title = "[경매] " + row.getAuctionTitle();
+            thumbnail = row.getAuctionImageUrl();
+            price = row.getAuctionPrice() != null ? row.getAuctionPrice() : 0;
+        } else {
+            title = "(삭제된 상품)";
+            thumbnail = null;
+            price = 0;
+        }
+
+        return ChatRoomDto.builder()
+                .roomId(row.getRoomId())
+                .itemTitle(title)
+                .partnerName(row.getPartnerName() != null ? row.getPartnerName() : "알 수 없음")
+                .lastMessage(row.getLastMessagePreview() != null ? row.getLastMessagePreview() : "")
+                .updatedAt(row.getUpdatedAt())
+                .itemThumbnail(thumbnail)
+                .itemPrice(price)
+                .unreadCount(unreadCount)
+                .build();
+    }
+
     @Transactional
     public ChatMessage saveMessage(ChatMessageDto dto) {
-        ChatRoom room = chatRoomRepository.findById(dto.getRoomId())
-                .orElseThrow(() -> new RuntimeException("채팅방 없음"));
+        // 참여자는 캐시, 엔티티는 참조만 (방 조회 없음)
+        ChatLookupCache.RoomMembers members = lookupCache.requireRoom(dto.getRoomId());
+        ChatRoom room = chatRoomRepository.getReferenceById(members.roomId());
 
         ChatMessage msg = ChatMessage.builder()
                 .room(room)
@@ -95,28 +126,19 @@ public class ChatService {
 
         ChatMessage saved = chatMessageRepository.save(msg);
 
-        // ✅ 상대방에게 안읽음(ChatRead) 기록 생성
-        Long receiverId = room.getBuyerId().equals(dto.getSenderId())
-                ? room.getSellerId()
-                : room.getBuyerId();
+        // ✅ 상대방 안읽은 수 +1 (읽음 여부는 상대 워터마크로 판단 → 읽음 행 생성 없음)
+        Long receiverId = members.partnerOf(dto.getSenderId());
 
-        ChatRead chatRead = ChatRead.builder()
-                .message(saved)
-                .userId(receiverId)
-                .read(false)
-                .build();
-
-        chatReadRepository.save(chatRead);
+        unreadCounter.increment(receiverId, room.getId());
 
-        // ✅ 마지막 메시지 시간 갱신
-        room.setUpdatedAt(LocalDateTime.now());
+        // ✅ 마지막 메시지 / 시간 갱신 (목록 조회용)
+        chatRoomRepository.updateLastMessage(room.getId(), saved.getId(),
+                ChatRoom.previewOf(saved.getContent()), saved.getCreatedAt());
 
         // ✅ FCM 알림 전송 (상대방에게만)
         try {
             // 보낸 사람 닉네임 조회
-            String senderName = userRepository.findById(dto.getSenderId())
-                    .map(User::getNickname)
-                    .orElse("알 수 없는 사용자");
+            String senderName = lookupCache.nickname(dto.getSenderId(), "알 수 없는 사용자");
 
             // 클릭 시 이동할 URL (예: 채팅 페이지)
             String clickAction = "/";
@@ -146,25 +168,60 @@ public class ChatService {
 
     @Transactional(readOnly = true)
     public List<ChatMessageDto> getMessages(Long roomId, Long userId) {
-        ChatRoom room = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("채팅방 없음"));
-
-        Long buyerId = room.getBuyerId();
-        Long sellerId = room.getSellerId();
-        Long opponentId = buyerId.equals(userId) ? sellerId : buyerId;
+        Long opponentId = requireMember(roomId, userId).partnerOf(userId);
 
         List<ChatMessage> messages = chatMessageRepository.findByRoom_IdOrderByCreatedAtAsc(roomId);
+        return toDtos(messages, userId, opponentId, roomId);
+    }
+
+    /**
+     * 채팅 기록 페이지 조회 (before 메시지 이전 limit 건, 없으면 최신 limit 건)
+     * - items 는 오래된 → 최신 순, nextCursor = 이번 페이지의 가장 오래된 메시지 id
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<ChatMessageDto> getMessagesBefore(Long roomId, Long userId, Long before, int limit) {
+        Long opponentId = requireMember(roomId, userId).partnerOf(userId);
+
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT)));
+        Slice<ChatMessage> slice;
+        if (before == null) {
+            slice = chatMessageRepository.findLatestSlice(roomId, page);
+        } else {
+            ChatMessage cursor = chatMessageRepository.findById(before)
+                    .filter(m -> m.getRoom().getId().equals(roomId))
+                    .orElseThrow(() -> new IllegalArgumentException("잘못된 커서입니다."));
+            slice = chatMessageRepository.findSliceBefore(roomId, cursor.getCreatedAt(), cursor.getId(), page);
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(slice.getContent());
+        Collections.reverse(messages);
+
+        String next = (slice.hasNext() && !messages.isEmpty()) ? String.valueOf(messages.get(0).getId()) : null;
+        return SliceResponse.<ChatMessageDto>builder()
+                .items(toDtos(messages, userId, opponentId, roomId))
+                .nextCursor(next)
+                .hasNext(next != null)
+                .build();
+    }
+
+    /** 채팅방 참여자 (구매자/판매자가 아니면 예외) */
+    private ChatLookupCache.RoomMembers requireMember(Long roomId, Long userId) {
+        ChatLookupCache.RoomMembers members = lookupCache.requireRoom(roomId);
+        if (!members.contains(userId)) {
+            throw new SecurityException("채팅방 참여자만 메시지를 조회할 수 있습니다.");
+        }
+        return members;
+    }
+
+    /** 읽음 여부: 내가 보낸 메시지는 상대 워터마크 이하면 읽음 (조회 1회) */
+    private List<ChatMessageDto> toDtos(List<ChatMessage> messages, Long userId, Long opponentId, Long roomId) {
+        if (messages.isEmpty()) return List.of();
+        long opponentMark = readMarkRepository.findLastReadMessageId(roomId, opponentId)
+                .orElse(0L);
 
         return messages.stream()
-                .map(msg -> {
-                    boolean read;
-                    if (msg.getSenderId().equals(userId)) {
-                        read = chatReadRepository.existsByMessage_IdAndUserIdAndReadTrue(msg.getId(), opponentId);
-                    } else {
-                        read = true;
-                    }
-                    return ChatMessageDto.from(msg, read);
-                })
+                .map(msg -> ChatMessageDto.from(msg,
+                        !msg.getSenderId().equals(userId) || msg.getId() <= opponentMark))
                 .toList();
     }
 
@@ -205,25 +262,32 @@ public class ChatService {
         throw new RuntimeException("상품 정보가 없는 채팅방입니다.");
     }
 
+    /**
+     * 방 읽음 처리: 워터마크를 방의 마지막 메시지로 전진 (행 1개 upsert)
+     * @return 이번에 새로 읽힌 (상대가 보낸) 메시지 id 목록
+     */
     @Transactional
-    public void markMessagesAsRead(Long roomId, Long userId) {
-        chatReadRepository.markAllAsRead(roomId, userId);
+    public List<Long> markMessagesAsRead(Long roomId, Long userId) {
+        unreadCounter.reset(userId, roomId);
+
+        Long lastId = chatMessageRepository.findMaxIdByRoomId(roomId);
+        if (lastId == null) return List.of();
+
+        long previous = readMarkRepository.findLastReadMessageId(roomId, userId).orElse(0L);
+        if (lastId <= previous) return List.of();
+
+        readMarkRepository.advance(roomId, userId, lastId);
+        return chatMessageRepository.findIdsReadBetween(roomId, userId, previous, lastId);
     }
 
+    /** 전체 안읽은 수 (카운터 조회 1회) */
     public int getTotalUnreadCount(Long userId) {
-        return chatMessageRepository.countUnreadMessages(userId);
+        return unreadCounter.total(userId);
     }
 
+    /** 방별 안읽은 수 (카운터 조회 1회) */
     public Map<Long, Integer> getUnreadCountPerRoom(Long userId) {
-        Map<Long, Integer> result = new HashMap<>();
-        List<ChatRoom> rooms = chatRoomRepository.findByBuyerIdOrSellerId(userId, userId);
-
-        for (ChatRoom room : rooms) {
-            int count = chatMessageRepository.countUnreadMessagesByRoom(room.getId(), userId);
-            result.put(room.getId(), count);
-        }
-
-        return result;
+        return unreadCounter.counts(userId);
     }
 
     @Transactional(readOnly = true)
@@ -232,9 +296,12 @@ public class ChatService {
                 .orElseThrow(() -> new RuntimeException("채팅방 없음"));
     }
 
+    /** 사용자가 읽은 (상대가 보낸) 메시지 id 목록 = 워터마크 이하 */
     @Transactional(readOnly = true)
     public List<Long> getReadMessageIds(Long roomId, Long userId) {
-        return chatReadRepository.findReadMessageIds(roomId, userId);
+        long mark = readMarkRepository.findLastReadMessageId(roomId, userId).orElse(0L);
+        if (mark <= 0) return List.of();
+        return chatMessageRepository.findIdsReadBetween(roomId, userId, 0L, mark);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -275,26 +342,15 @@ public class ChatService {
 
             ChatMessage saved = chatMessageRepository.save(systemMsg);
 
-            // ✅ 구매자/판매자 각각 읽음 테이블에 추가
+            // ✅ 구매자/판매자 모두 안읽은 수 +1
             Long buyerId = room.getBuyerId();
             Long sellerId = room.getSellerId();
 
-            List<ChatRead> reads = List.of(
-                    ChatRead.builder()
-                            .message(saved)
-                            .userId(buyerId)
-                            .read(false)
-                            .build(),
-                    ChatRead.builder()
-                            .message(saved)
-                            .userId(sellerId)
-                            .read(false)
-                            .build()
-            );
-            chatReadRepository.saveAll(reads);
+            unreadCounter.increment(buyerId, room.getId());
+            unreadCounter.increment(sellerId, room.getId());
 
-            // ✅ 마지막 메시지 시간 갱신
-            room.setUpdatedAt(LocalDateTime.now());
+            // ✅ 마지막 메시지 / 시간 갱신
+            room.updateLastMessage(saved);
 
             // ✅ WebSocket 실시간 전송
             simpMessagingTemplate.convertAndSend(
@@ -361,14 +417,11 @@ public class ChatService {
 
             ChatMessage saved = chatMessageRepository.save(systemMsg);
 
-            // ✅ 읽음처리
-            List<ChatRead> reads = List.of(
-                    ChatRead.builder().message(saved).userId(room.getBuyerId()).read(false).build(),
-                    ChatRead.builder().message(saved).userId(room.getSellerId()).read(false).build()
-            );
-            chatReadRepository.saveAll(reads);
+            // ✅ 안읽은 수 +1
+            unreadCounter.increment(room.getBuyerId(), room.getId());
+            unreadCounter.increment(room.getSellerId(), room.getId());
 
-            room.setUpdatedAt(LocalDateTime.now());
+            room.updateLastMessage(saved);
 
             // ✅ 실시간 전송
             simpMessagingTemplate.convertAndSend("/sub/chat/room/" + room.getId(), ChatMessageDto.from(saved));
@@ -0,0 +1,313 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.repo.ChatMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 사용자별 채팅 안읽은 수 카운터
+ * - Redis 해시 chat:unread:{userId} (field = roomId, value = 안읽은 수, _init = 초기화 표시, _v = 버전)
+ * - 메시지 저장 커밋 후 +1, 읽음 커밋 후 해당 방 field 삭제 → 배지 조회는 HGETALL 1회
+ * - 해시가 없으면(최초 조회/만료) DB 에서 한 번 계산해 채움 (읽음 워터마크 이후 상대 메시지 수)
+ * - 증가/읽음은 _v 를 올리고, DB 기준 교체는 DB 조회 전에 읽은 _v 가 그대로일 때만 수행
+ *   → 조회~교체 사이에 반영된 증가/읽음을 덮어쓰지 않음 (건너뛴 사용자는 다음 재계산에서 보정)
+ * - Redis 장애 시 인스턴스 메모리 카운터로 대체, 주기적 재계산(reconcile)으로 DB 와 맞춤
+ */
+@Slf4j
+@Component
+public class ChatUnreadCounter {
+
+    private static final String KEY_PREFIX = "chat:unread:";
+    private static final String USERS_KEY = "chat:unread:users";
+    private static final String LOCK_KEY = "chat:unread:reconcile:lock";
+    private static final String INIT_FIELD = "_init";
+    private static final String VERSION_FIELD = "_v";
+
+    // 방 카운터 증가 + 버전 증가
+    private static final RedisScript<Long> INCREMENT = new DefaultRedisScript<>("""
+            redis.call('HINCRBY', KEYS[1], '_v', 1)
+            return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+            """, Long.class);
+
+    // 방 카운터 삭제 + 버전 증가
+    private static final RedisScript<Long> RESET = new DefaultRedisScript<>("""
+            redis.call('HINCRBY', KEYS[1], '_v', 1)
+            return redis.call('HDEL', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // 버전이 DB 조회 전과 같을 때만 해시 교체 (ARGV[1] = 기대 버전, 이후 field/value 쌍)
+    private static final String REPLACE = """
+            local v = redis.call('HGET', KEYS[1], '_v') or '0'
+            if v ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], '_init', '1', '_v', tostring(tonumber(v) + 1))
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """;
+
+    private final StringRedisTemplate redis;
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    /** Redis 장애 시 대체 저장소 (userId → roomId → count) */
+    private final Map<Long, Map<Long, AtomicInteger>> local = new ConcurrentHashMap<>();
+    private final Counter fallbackCounter;
+    private final Counter skippedCounter;
+
+    public ChatUnreadCounter(StringRedisTemplate redis,
+                             ChatMessageRepository chatMessageRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.chatMessageRepository = chatMessageRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.fallbackCounter = meterRegistry.counter("chat.unread.fallback");
+        this.skippedCounter = meterRegistry.counter("chat.unread.reconcile.skipped");
+    }
+
+    /** 새 메시지 → 수신자 안읽은 수 +1 (트랜잭션 중이면 커밋 후 반영) */
+    public void increment(Long userId, Long roomId) {
+        increment(userId, roomId, 1);
+    }
+
+    /** 새 메시지 여러 건 → 수신자 안읽은 수 +delta */
+    public void increment(Long userId, Long roomId, int delta) {
+        if (userId == null || roomId == null || userId <= 0 || delta <= 0) return;
+        afterCommit(() -> {
+            try {
+                redis.execute(INCREMENT, List.of(key(userId)), String.valueOf(roomId), String.valueOf(delta));
+            } catch (DataAccessException e) {
+                fallbackCounter.increment();
+                local.computeIfAbsent(userId, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(roomId, k -> new AtomicInteger())
+                        .addAndGet(delta);
+            }
+        });
+    }
+
+    /** 방 읽음 → 해당 방 카운터 제거 (트랜잭션 중이면 워터마크 커밋 후 반영) */
+    public void reset(Long userId, Long roomId) {
+        afterCommit(() -> {
+            Map<Long, AtomicInteger> rooms = local.get(userId);
+            if (rooms != null) rooms.remove(roomId);
+            try {
+                redis.execute(RESET, List.of(key(userId)), String.valueOf(roomId));
+            } catch (DataAccessException e) {
+                fallbackCounter.increment();
+            }
+        });
+    }
+
+    /** 방별 안읽은 수 */
+    public Map<Long, Integer> counts(Long userId) {
+        try {
+            Map<Object, Object> raw = redis.opsForHash().entries(key(userId));
+            if (!raw.containsKey(INIT_FIELD)) return initialize(userId);
+
+            Map<Long, Integer> result = new HashMap<>();
+            raw.forEach((field, value) -> {
+                if (INIT_FIELD.equals(field) || VERSION_FIELD.equals(field)) return;
+                int count = Integer.parseInt(String.valueOf(value));
+                if (count > 0) result.put(Long.valueOf(String.valueOf(field)), count);
+            });
+            return result;
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+            return localCounts(userId);
+        }
+    }
+
+    public int total(Long userId) {
+        return counts(userId).values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /** DB 기준으로 사용자 카운터 생성 (기존 증가분은 DB 에 이미 포함) */
+    private Map<Long, Integer> initialize(Long userId) {
+        Map<Long, String> versions = versions(List.of(userId));
+        Map<Long, Integer> counts = readOnlyTx.execute(status -> loadFromDb(userId));
+        if (counts == null) counts = Map.of();
+        write(Map.of(userId, counts), versions);
+        return counts;
+    }
+
+    private Map<Long, Integer> loadFromDb(Long userId) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : chatMessageRepository.countUnreadGroupByRoom(userId)) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+
+    /**
+     * 🔄 주기적 재계산: 워터마크 이후 메시지를 (사용자, 방) 단위로 집계해 카운터 교체
+     * - 유실된 증가/장애 중 메모리 카운터 분을 DB 기준으로 보정
+     */
+    @Scheduled(fixedDelayString = "${app.chat.unread.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.chat.unread.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMinutes(5)))) return;
+        } catch (DataAccessException e) {
+            log.warn("[UNREAD] 재계산 락 획득 실패: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            long startedAt = System.currentTimeMillis();
+            // DB 조회 전에 버전 기록 (카운터가 없던 사용자는 "0")
+            Set<String> tracked = redis.opsForSet().members(USERS_KEY);
+            List<Long> trackedIds = tracked == null ? List.of() : tracked.stream().map(Long::valueOf).toList();
+            Map<Long, String> versions = versions(trackedIds);
+
+            Map<Long, Map<Long, Integer>> byUser = readOnlyTx.execute(status -> {
+                Map<Long, Map<Long, Integer>> m = new HashMap<>();
+                List<Object[]> rows = new ArrayList<>(chatMessageRepository.countAllUnreadForBuyers());
+                rows.addAll(chatMessageRepository.countAllUnreadForSellers());
+                for (Object[] row : rows) {
+                    m.computeIfAbsent((Long) row[0], k -> new HashMap<>())
+                            .merge((Long) row[1], ((Number) row[2]).intValue(), Integer::sum);
+                }
+                return m;
+            });
+            if (byUser == null) return;
+
+            // 카운터가 있었지만 이제 안읽은 메시지가 없는 사용자
+            Map<Long, Map<Long, Integer>> all = new HashMap<>(byUser);
+            trackedIds.forEach(id -> all.putIfAbsent(id, Map.of()));
+            local.keySet().forEach(id -> all.putIfAbsent(id, Map.of()));
+
+            int skipped = write(all, versions);
+            local.clear();
+            log.info("[UNREAD] 안읽은 수 재계산 완료: 사용자 {}명, 변경 중이라 건너뜀 {}명 ({}ms)",
+                    all.size(), skipped, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("[UNREAD] 안읽은 수 재계산 실패: {}", e.getMessage(), e);
+        } finally {
+            try {
+                if (token.equals(redis.opsForValue().get(LOCK_KEY))) redis.delete(LOCK_KEY);
+            } catch (DataAccessException ignored) {
+                // 락은 TTL 로 만료
+            }
+        }
+    }
+
+    /** 사용자별 현재 버전 (해시가 없으면 "0") */
+    private Map<Long, String> versions(Collection<Long> userIds) {
+        Map<Long, String> versions = new HashMap<>();
+        if (userIds.isEmpty()) return versions;
+        try {
+            List<Long> ids = new ArrayList<>(userIds);
+            List<Object> values = redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                ids.forEach(userId -> c.hGet(key(userId), VERSION_FIELD));
+                return null;
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                Object v = values.get(i);
+                versions.put(ids.get(i), v != null ? String.valueOf(v) : "0");
+            }
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+        }
+        return versions;
+    }
+
+    /**
+     * 사용자 해시를 DB 기준으로 교체 (버전 비교 Lua, 파이프라인)
+     * @return 그 사이 증가/읽음이 반영돼 건너뛴 사용자 수
+     */
+    private int write(Map<Long, Map<Long, Integer>> byUser, Map<Long, String> versions) {
+        try {
+            List<Long> ids = new ArrayList<>(byUser.keySet());
+            List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                for (Long userId : ids) {
+                    List<String> keysAndArgs = new ArrayList<>();
+                    keysAndArgs.add(key(userId));
+                    keysAndArgs.add(versions.getOrDefault(userId, "0"));
+                    byUser.get(userId).forEach((roomId, count) -> {
+                        if (count <= 0) return;
+                        keysAndArgs.add(String.valueOf(roomId));
+                        keysAndArgs.add(String.valueOf(count));
+                    });
+                    c.eval(REPLACE, ReturnType.INTEGER, 1, keysAndArgs.toArray(String[]::new));
+                    c.sAdd(USERS_KEY, String.valueOf(userId));
+                }
+                return null;
+            });
+            int skipped = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                if (!Long.valueOf(1L).equals(results.get(i * 2))) skipped++;
+            }
+            skippedCounter.increment(skipped);
+            return skipped;
+        } catch (DataAccessException e) {
+            fallbackCounter.increment();
+            byUser.forEach((userId, rooms) -> {
+                Map<Long, AtomicInteger> m = new ConcurrentHashMap<>();
+                rooms.forEach((roomId, count) -> m.put(roomId, new AtomicInteger(count)));
+                local.put(userId, m);
+            });
+            return 0;
+        }
+    }
+
+    private Map<Long, Integer> localCounts(Long userId) {
+        Map<Long, AtomicInteger> rooms = local.get(userId);
+        if (rooms == null) {
+            // 메모리에도 없으면 DB 기준으로 채움
+            Map<Long, Integer> counts = readOnlyTx.execute(status -> loadFromDb(userId));
+            if (counts == null) return Map.of();
+            Map<Long, AtomicInteger> m = new ConcurrentHashMap<>();
+            counts.forEach((roomId, count) -> m.put(roomId, new AtomicInteger(count)));
+            local.putIfAbsent(userId, m);
+            return counts;
+        }
+        Map<Long, Integer> result = new HashMap<>();
+        rooms.forEach((roomId, count) -> {
+            if (count.get() > 0) result.put(roomId, count.get());
+        });
+        return result;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
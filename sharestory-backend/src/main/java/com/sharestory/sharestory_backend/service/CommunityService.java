@@ -11,13 +11,11 @@ import com.sharestory.sharestory_backend.repo.CommunityLikeRepository;
 import com.sharestory.sharestory_backend.repo.CommunityPostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,11 +29,12 @@ public class CommunityService {
     private final CommunityPostRepository repo;
     private final S3Service s3Service;
     private final CommunityPostRepository communityPostRepository;
-    private final StringRedisTemplate redisTemplate;
     private final CommunityLikeRepository likeRepository;
     private final CommunityLikeRepository communityLikeRepository;
     private final CommunityPostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewTracker uniqueViewTracker;
 
     public CommunityPostDto createPost(User user, String title, String content,String category,
                                        List<MultipartFile> images,
@@ -120,25 +119,21 @@ public class CommunityService {
         CommunityPost post = repo.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 게시글이 존재하지 않습니다."));
 
-        // ✅ Redis 키 생성
-        String key = (userId != null && userId > 0)
-                ? "view:post:" + postId + ":user:" + userId
-                : "view:post:" + postId + ":ip:" + ipAddress;
-
-        // ✅ 이미 조회했는지 체크
-        Boolean alreadyViewed = redisTemplate.hasKey(key);
-
-        if (Boolean.FALSE.equals(alreadyViewed)) {
-            repo.incrementViewCount(postId); // DB에 바로 +1
-            redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(10));
-            log.info("👀 조회수 1 증가: postId={} (TTL 10초)", postId);
+        // ✅ dedup 창 안의 재조회는 제외 (UniqueViewTracker)
+        if (uniqueViewTracker.firstView("post", postId, UniqueViewTracker.viewer(userId, ipAddress))) {
+            viewCountBuffer.increment(ViewCountBuffer.Target.POST, postId); // 주기적으로 DB 반영
+            log.debug("👀 조회수 1 증가: postId={}", postId);
         }
         boolean liked = false;
         if (userId != null && userId > 0) {
             liked = likeRepository.findByPostIdAndUserId(postId, userId).isPresent();
         }
 
-        return CommunityPostDto.from(post, liked);
+        CommunityPostDto dto = CommunityPostDto.from(post, liked);
+        // 아직 DB 에 반영되지 않은 조회수 합산
+        return dto.toBuilder()
+                .viewCount(dto.getViewCount() + viewCountBuffer.pending(ViewCountBuffer.Target.POST, postId))
+                .build();
     }
 
     @Transactional
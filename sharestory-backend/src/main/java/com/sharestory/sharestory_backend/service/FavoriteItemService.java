@@ -19,6 +19,7 @@ public class FavoriteItemService {
 
     private final FavoriteItemRepository favoriteRepo;
     private final ItemRepository itemRepo;
+    private final SearchIndexOutboxService searchIndexOutbox;
 
     @Transactional
     public int toggleFavorite(Long userId, Long itemId) {
@@ -42,6 +43,8 @@ public class FavoriteItemService {
         }
 
         // JPA dirty checking 으로 자동 UPDATE 됨 (@Transactional 덕분)
+        // 커밋 후 검색 문서 / 홈 피드 관심순 랭킹 갱신
+        searchIndexOutbox.enqueueIndex(itemId);
         return item.getFavoriteCount();
     }
 
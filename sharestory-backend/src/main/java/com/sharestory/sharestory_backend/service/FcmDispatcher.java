@@ -0,0 +1,264 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.FcmToken;
+import com.sharestory.sharestory_backend.repo.FcmTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * FCM 비동기 전송 디스패처
+ * - 호출 스레드는 bounded 큐에 넣고 바로 반환 (가득 차면 버림, 푸시는 best-effort)
+ * - 워커가 쌓인 요청을 최대 batch-size(≤500) 만큼 모아서 처리
+ *   · 수신자 토큰은 IN 조회 1회, 채팅 쿨다운은 SET NX EX 파이프라인 1회
+ *   · 같은 내용은 sendEachForMulticast, 나머지는 sendEach 로 묶어서 전송
+ *   · 무효 토큰은 묶음 끝에 DELETE ... IN 1회로 정리
+ */
+@Slf4j
+@Component
+public class FcmDispatcher {
+
+    /** 전송 요청 (userId 또는 token 중 하나) */
+    private record Job(Long userId, String token, FcmGateway.Payload payload, String cooldownKey) {}
+
+    private final FcmGateway gateway;
+    private final FcmTokenRepository tokenRepo;
+    private final StringRedisTemplate redis;
+    private final TransactionTemplate tx;
+
+    private final BlockingQueue<Job> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSummary;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter invalidTokenCounter;
+
+    public FcmDispatcher(FcmGateway gateway,
+                         FcmTokenRepository tokenRepo,
+                         StringRedisTemplate redis,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.fcm.dispatch.workers:2}") int workerCount,
+                         @Value("${app.fcm.dispatch.queue-capacity:10000}") int queueCapacity,
+                         @Value("${app.fcm.dispatch.batch-size:500}") int batchSize,
+                         @Value("${app.fcm.dispatch.linger-ms:20}") long lingerMs) {
+        this.gateway = gateway;
+        this.tokenRepo = tokenRepo;
+        this.redis = redis;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = Math.max(1, workerCount);
+        this.batchSize = Math.max(1, Math.min(FcmGateway.MAX_BATCH, batchSize));
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+
+        Gauge.builder("fcm.dispatch.queue", queue, BlockingQueue::size).register(meterRegistry);
+        this.batchSummary = meterRegistry.summary("fcm.dispatch.batch");
+        this.sendTimer = meterRegistry.timer("fcm.dispatch.send");
+        this.sentCounter = meterRegistry.counter("fcm.dispatch.sent");
+        this.failedCounter = meterRegistry.counter("fcm.dispatch.failed");
+        this.rejectedCounter = meterRegistry.counter("fcm.dispatch.rejected");
+        this.invalidTokenCounter = meterRegistry.counter("fcm.dispatch.invalid-token");
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform()
+                    .name("FcmDispatch-" + i)
+                    .daemon(true)
+                    .start(this::run));
+        }
+        log.info("[FCM] 디스패처 시작: 워커 {}개, 배치 {}건", workerCount, batchSize);
+    }
+
+    /** 종료 시 큐에 남은 요청까지 전송 후 정지 */
+    @PreDestroy
+    void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** 사용자에게 전송 (토큰은 워커에서 일괄 조회, cooldownKey 가 있으면 쿨다운 중 생략) */
+    public void toUser(Long userId, FcmGateway.Payload payload, String cooldownKey) {
+        if (userId == null || userId <= 0) return;
+        enqueue(new Job(userId, null, payload, cooldownKey));
+    }
+
+    /** 토큰으로 바로 전송 */
+    public void toToken(String token, FcmGateway.Payload payload) {
+        if (token == null || token.isBlank()) return;
+        enqueue(new Job(null, token, payload, null));
+    }
+
+    private void enqueue(Job job) {
+        if (!queue.offer(job)) {
+            rejectedCounter.increment();
+            log.warn("⚠️ [FCM] 전송 대기열 가득 참 → 생략 (userId={})", job.userId());
+        }
+    }
+
+    private void run() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Job first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 이미 쌓인 것 + linger 동안 들어오는 것까지 묶음
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) break;
+                    Job next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("❌ [FCM] 묶음 처리 실패: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Job> batch) {
+        batchSummary.record(batch.size());
+        List<Job> jobs = applyCooldown(batch);
+
+        // 수신자 토큰 일괄 조회
+        Set<Long> userIds = jobs.stream().map(Job::userId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, List<String>> tokensByUser = userIds.isEmpty() ? Map.of()
+                : tokenRepo.findByUserIdIn(userIds).stream()
+                .filter(t -> t.getToken() != null)
+                .collect(Collectors.groupingBy(FcmToken::getUserId,
+                        Collectors.mapping(FcmToken::getToken, Collectors.toList())));
+
+        // 같은 내용끼리 토큰 모음 (같은 토큰에 같은 내용은 1회)
+        Map<FcmGateway.Payload, Set<String>> byPayload = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            List<String> tokens = job.token() != null
+                    ? List.of(job.token())
+                    : tokensByUser.getOrDefault(job.userId(), List.of());
+            if (tokens.isEmpty()) {
+                log.debug("[FCM] userId={} FCM 토큰 없음 → 생략", job.userId());
+                continue;
+            }
+            byPayload.computeIfAbsent(job.payload(), p -> new LinkedHashSet<>()).addAll(tokens);
+        }
+        if (byPayload.isEmpty()) return;
+
+        Set<String> invalid = new HashSet<>();
+        List<FcmGateway.Push> singles = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        byPayload.forEach((payload, tokenSet) -> {
+            if (tokenSet.size() == 1) {
+                singles.add(new FcmGateway.Push(tokenSet.iterator().next(), payload));
+                return;
+            }
+            List<String> tokens = new ArrayList<>(tokenSet);
+            for (int from = 0; from < tokens.size(); from += FcmGateway.MAX_BATCH) {
+                List<String> chunk = tokens.subList(from, Math.min(from + FcmGateway.MAX_BATCH, tokens.size()));
+                collect(chunk, gateway.sendMulticast(payload, chunk), invalid);
+            }
+        });
+        for (int from = 0; from < singles.size(); from += FcmGateway.MAX_BATCH) {
+            List<FcmGateway.Push> chunk = singles.subList(from, Math.min(from + FcmGateway.MAX_BATCH, singles.size()));
+            collect(chunk.stream().map(FcmGateway.Push::token).toList(), gateway.sendEach(chunk), invalid);
+        }
+        sendTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+
+        if (!invalid.isEmpty()) {
+            try {
+                Integer deleted = tx.execute(status -> tokenRepo.deleteByTokenIn(invalid));
+                invalidTokenCounter.increment(invalid.size());
+                log.warn("🗑️ [FCM] 무효 토큰 {}건 삭제", deleted);
+            } catch (Exception e) {
+                log.error("❌ [FCM] 무효 토큰 삭제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** 쿨다운 키를 SET NX EX 로 선점한 요청만 통과 (Redis 장애 시 모두 통과) */
+    private List<Job> applyCooldown(List<Job> batch) {
+        List<Job> cooled = batch.stream().filter(j -> j.cooldownKey() != null).toList();
+        if (cooled.isEmpty()) return batch;
+
+        List<Object> acquired;
+        try {
+            acquired = redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                for (Job job : cooled) {
+                    c.set(job.cooldownKey(), "sent", Expiration.seconds(FcmService.NOTIFY_COOLDOWN_SECONDS),
+                            RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("[FCM] 쿨다운 확인 실패 → 모두 전송: {}", e.getMessage());
+            return batch;
+        }
+
+        Set<Job> skipped = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < cooled.size(); i++) {
+            if (!Boolean.TRUE.equals(acquired.get(i))) skipped.add(cooled.get(i));
+        }
+        if (skipped.isEmpty()) return batch;
+        log.debug("[FCM] 쿨다운 중 {}건 생략", skipped.size());
+        return batch.stream().filter(j -> !skipped.contains(j)).toList();
+    }
+
+    private void collect(List<String> tokens, List<FcmGateway.Result> results, Set<String> invalid) {
+        for (int i = 0; i < tokens.size() && i < results.size(); i++) {
+            FcmGateway.Result r = results.get(i);
+            if (r.success()) {
+                sentCounter.increment();
+            } else {
+                failedCounter.increment();
+                if (r.tokenInvalid()) invalid.add(tokens.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.sharestory.sharestory_backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FCM 전송 창구 (FcmDispatcher 가 묶음 단위로 호출)
+ * - app.fcm.gateway 로 구현 선택
+ *   firebase : FirebaseMessaging.sendEach / sendEachForMulticast (기본)
+ *   log      : 실제 전송 없이 로그만 남기는 로컬 스텁 (개발/부하 테스트용)
+ * - 결과는 입력 순서(토큰 순서)와 1:1 로 반환
+ */
+public interface FcmGateway {
+
+    /** FCM 한 번 호출당 최대 메시지/토큰 수 */
+    int MAX_BATCH = 500;
+
+    /**
+     * 전송 내용
+     * @param notification true 면 notification 메시지(title/body), false 면 data 메시지
+     */
+    record Payload(String title, String body, Map<String, String> data, boolean notification) {}
+
+    /** 토큰별 전송 대상 */
+    record Push(String token, Payload payload) {}
+
+    /**
+     * 전송 결과
+     * @param tokenInvalid 만료/삭제된 토큰 → DB 에서 제거 대상
+     */
+    record Result(boolean success, boolean tokenInvalid, String error) {
+        public static final Result OK = new Result(true, false, null);
+    }
+
+    /** 서로 다른 메시지 묶음 (sendEach) */
+    List<Result> sendEach(List<Push> pushes);
+
+    /** 같은 내용을 여러 토큰에 (sendEachForMulticast) */
+    List<Result> sendMulticast(Payload payload, List<String> tokens);
+}
@@ -0,0 +1,112 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.google.firebase.messaging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * FirebaseMessaging 기반 전송 (sendEach / sendEachForMulticast, 호출당 최대 500건)
+ * - FirebaseMessaging 비활성화 상태면 전송 스킵
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.fcm.gateway", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseFcmGateway implements FcmGateway {
+
+    private final Optional<FirebaseMessaging> firebaseMessaging;
+
+    public FirebaseFcmGateway(Optional<FirebaseMessaging> firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public List<Result> sendEach(List<Push> pushes) {
+        if (firebaseMessaging.isEmpty()) return skipped(pushes.size());
+        List<Message> messages = pushes.stream().map(p -> message(p.token(), p.payload())).toList();
+        try {
+            return results(firebaseMessaging.get().sendEach(messages));
+        } catch (FirebaseMessagingException e) {
+            return failed(pushes.size(), e);
+        }
+    }
+
+    @Override
+    public List<Result> sendMulticast(Payload payload, List<String> tokens) {
+        if (firebaseMessaging.isEmpty()) return skipped(tokens.size());
+        MulticastMessage.Builder builder = MulticastMessage.builder().addAllTokens(tokens);
+        if (payload.notification()) {
+            builder.setNotification(notification(payload));
+        } else {
+            builder.putAllData(dataOf(payload));
+        }
+        try {
+            return results(firebaseMessaging.get().sendEachForMulticast(builder.build()));
+        } catch (FirebaseMessagingException e) {
+            return failed(tokens.size(), e);
+        }
+    }
+
+    private static Message message(String token, Payload payload) {
+        Message.Builder builder = Message.builder().setToken(token);
+        if (payload.notification()) {
+            builder.setNotification(notification(payload));
+        } else {
+            builder.putAllData(dataOf(payload));
+        }
+        return builder.build();
+    }
+
+    private static Notification notification(Payload payload) {
+        return Notification.builder()
+                .setTitle(payload.title())
+                .setBody(payload.body())
+                .build();
+    }
+
+    /** data 메시지: title / body 도 data 로 전달 (클라이언트가 직접 표시) */
+    private static Map<String, String> dataOf(Payload payload) {
+        Map<String, String> data = new HashMap<>(payload.data());
+        data.put("title", payload.title());
+        data.put("body", payload.body());
+        return data;
+    }
+
+    private static List<Result> results(BatchResponse response) {
+        return response.getResponses().stream()
+                .map(r -> r.isSuccessful() ? Result.OK : failure(r.getException()))
+                .toList();
+    }
+
+    private static Result failure(FirebaseMessagingException e) {
+        return new Result(false, isTokenInvalid(e), e != null ? e.getMessage() : null);
+    }
+
+    /** 만료/삭제된 토큰 (일시 오류는 제외) */
+    private static boolean isTokenInvalid(FirebaseMessagingException e) {
+        if (e == null) return false;
+        MessagingErrorCode code = e.getMessagingErrorCode();
+        if (code == MessagingErrorCode.UNREGISTERED || code == MessagingErrorCode.SENDER_ID_MISMATCH) return true;
+        String errMsg = e.getMessage();
+        return errMsg != null && (
+                errMsg.contains("Requested entity was not found") ||
+                        errMsg.contains("NotRegistered") ||
+                        errMsg.contains("InvalidRegistration"));
+    }
+
+    private static List<Result> failed(int size, FirebaseMessagingException e) {
+        log.error("❌ [FCM] 묶음 전송 실패 ({}건): {}", size, e.getMessage());
+        return Collections.nCopies(size, new Result(false, false, e.getMessage()));
+    }
+
+    private static List<Result> skipped(int size) {
+        log.warn("⚠️ FirebaseMessaging 비활성화 상태 → FCM 전송 스킵 ({}건)", size);
+        return Collections.nCopies(size, new Result(false, false, "firebase_disabled"));
+    }
+}
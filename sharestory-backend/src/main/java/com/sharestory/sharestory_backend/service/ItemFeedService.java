@@ -0,0 +1,479 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sharestory.sharestory_backend.domain.Item;
+import com.sharestory.sharestory_backend.dto.ItemStatus;
+import com.sharestory.sharestory_backend.dto.ItemSummaryDto;
+import com.sharestory.sharestory_backend.event.ItemIndexEvent;
+import com.sharestory.sharestory_backend.repo.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 홈 화면 랭킹 피드 (최신순 / 관심순 / 조회순)
+ * - Redis ZSET(feed:rank:*) 에 상위 max-size 개 상품 id 를 점수순으로 유지
+ * - 목록 카드 DTO 는 feed:item:{id} 에 JSON 스냅샷으로 짧은 TTL 보관
+ * - 조회 1회 = Lua 스크립트 1회 (ZREVRANGE + MGET) → DB 조회 없음
+ * - 상품 변경(ItemIndexEvent 커밋 후)마다 해당 상품만 점수/스냅샷 갱신, 조회수는 ZINCRBY
+ *   (조회순 점수는 ZADD GT → 아직 DB 에 반영되지 않은 조회수 버퍼분을 덮어쓰지 않음)
+ * - 멤버는 0 으로 채운 19자리 id → 점수가 같으면 id 내림차순 (DB 정렬 (정렬값 desc, id desc) 과 동일)
+ * - 전체 재구축은 built 마커 만료 시 한 인스턴스의 한 스레드만 수행 (로컬 single-flight + Redis 락)
+ *   재구축 중에는 기존 ZSET 을 그대로 제공 (stale-while-revalidate)
+ */
+@Slf4j
+@Service
+public class ItemFeedService {
+
+    public enum Feed {
+        LATEST("latest"), FAVORITES("favorites"), VIEWS("views");
+
+        private final String key;
+
+        Feed(String name) {
+            this.key = "feed:rank:v2:" + name;   // v2: 0 채운 멤버
+        }
+    }
+
+    private static final String SNAPSHOT_PREFIX = "feed:item:";
+    private static final List<ItemStatus> ACTIVE_STATUSES = List.of(ItemStatus.ON_SALE, ItemStatus.RESERVED);
+
+    /** 결과: {built 여부, n, id 1..n, 스냅샷 1..n (없으면 nil)} */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local ids = redis.call('ZREVRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)
+            local out = { redis.call('EXISTS', KEYS[2]), #ids }
+            if #ids == 0 then return out end
+            local keys = {}
+            for i, member in ipairs(ids) do
+                local id = string.gsub(member, '^0+', '')
+                keys[i] = ARGV[2] .. id
+                out[#out + 1] = id
+            end
+            local snaps = redis.call('MGET', unpack(keys))
+            for i = 1, #ids do out[#out + 1] = snaps[i] end
+            return out
+            """, List.class);
+
+    /** 이미 랭킹에 있는 상품만 조회수 반영 (밖에 있는 상품은 다음 재구축 때 진입) */
+    private static final RedisScript<Long> VIEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                redis.call('ZINCRBY', KEYS[1], ARGV[2], ARGV[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ItemRepository itemRepository;
+    private final ItemSummaryAssembler summaryAssembler;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final Executor feedExecutor;
+
+    private final int maxSize;
+    private final long snapshotTtlSeconds;
+    private final long rebuildIntervalSeconds;
+    private final long lockTtlMs;
+
+    /** 피드별 진행 중인 재구축 (같은 인스턴스 내 중복 방지) */
+    private final Map<Feed, CompletableFuture<Boolean>> rebuilding = new ConcurrentHashMap<>();
+    /** 상품별 진행 중인 스냅샷 적재 (만료 직후 동시 요청이 같은 상품을 중복 조회하지 않도록) */
+    private final Map<Long, CompletableFuture<ItemSummaryDto>> snapshotLoads = new ConcurrentHashMap<>();
+
+    private final Counter snapshotHit;
+    private final Counter snapshotMiss;
+    private final Counter fallbackCounter;
+    private final Timer rebuildTimer;
+
+    public ItemFeedService(StringRedisTemplate redis,
+                           ItemRepository itemRepository,
+                           ItemSummaryAssembler summaryAssembler,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("feedExecutor") Executor feedExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.feed.max-size:200}") int maxSize,
+                           @Value("${app.feed.snapshot-ttl-seconds:60}") long snapshotTtlSeconds,
+                           @Value("${app.feed.rebuild-interval-seconds:300}") long rebuildIntervalSeconds,
+                           @Value("${app.feed.lock-ttl-ms:5000}") long lockTtlMs) {
+        this.redis = redis;
+        this.itemRepository = itemRepository;
+        this.summaryAssembler = summaryAssembler;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.feedExecutor = feedExecutor;
+        this.maxSize = maxSize;
+        this.snapshotTtlSeconds = snapshotTtlSeconds;
+        this.rebuildIntervalSeconds = rebuildIntervalSeconds;
+        this.lockTtlMs = lockTtlMs;
+
+        this.snapshotHit = meterRegistry.counter("feed.snapshot", "result", "hit");
+        this.snapshotMiss = meterRegistry.counter("feed.snapshot", "result", "miss");
+        this.fallbackCounter = meterRegistry.counter("feed.fallback");
+        this.rebuildTimer = meterRegistry.timer("feed.rebuild");
+    }
+
+    /** 🏠 홈 피드 조회 (max-size 초과 요청은 DB 직접 조회) */
+    public List<ItemSummaryDto> getFeed(Feed feed, int size) {
+        if (size > maxSize) return loadFromDb(feed, size);
+        int n = Math.max(1, size);
+
+        try {
+            FeedRead read = read(feed, n);
+            if (!read.built()) {
+                if (read.ids().isEmpty()) {
+                    // 콜드 스타트: 재구축 완료를 기다렸다가 다시 조회
+                    if (!awaitRebuild(feed)) return loadFromDb(feed, n);
+                    read = read(feed, n);
+                } else {
+                    rebuildAsync(feed);
+                }
+            }
+            return assemble(read);
+        } catch (DataAccessException e) {
+            log.warn("[FEED] Redis 조회 실패 → DB 조회: {}", e.getMessage());
+            return loadFromDb(feed, n);
+        }
+    }
+
+    /** 조회수 증가 반영 */
+    public void onViewed(Long itemId) {
+        try {
+            redis.execute(VIEW_SCRIPT, List.of(Feed.VIEWS.key), member(itemId), "1");
+        } catch (DataAccessException e) {
+            log.debug("[FEED] 조회수 랭킹 반영 실패 id={}: {}", itemId, e.getMessage());
+        }
+    }
+
+    /** ✅ 상품 등록/수정/상태·관심 변경 커밋 후 → 해당 상품 점수와 스냅샷 갱신 */
+    @Async("feedExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemChanged(ItemIndexEvent event) {
+        Long id = event.getItemId();
+        try {
+            Map<Long, ItemSummaryDto> loaded = readOnlyTx.execute(status -> loadSummaries(List.of(id)));
+            ItemSummaryDto dto = loaded == null ? null : loaded.get(id);
+            if (dto == null) {
+                remove(List.of(id));
+                return;
+            }
+            String json = objectMapper.writeValueAsString(dto);
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                for (Feed feed : Feed.values()) {
+                    if (feed == Feed.VIEWS) c.zAdd(feed.key, score(feed, dto), member(id), ZAddArgs.empty().gt());
+                    else c.zAdd(feed.key, score(feed, dto), member(id));
+                    c.zRemRange(feed.key, 0, -(maxSize + 1L));   // 상위 max-size 개만 유지
+                }
+                c.setEx(SNAPSHOT_PREFIX + id, snapshotTtl(), json);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[FEED] 상품 피드 갱신 실패 id={} → 다음 재구축 때 반영: {}", id, e.getMessage());
+        }
+    }
+
+    public void rebuildAsync(Feed feed) {
+        rebuildOnce(feed);
+    }
+
+    /* ================= 조회 ================= */
+
+    private FeedRead read(Feed feed, int n) {
+        List<?> raw = redis.execute(READ_SCRIPT, List.of(feed.key, builtKey(feed)),
+                String.valueOf(n), SNAPSHOT_PREFIX);
+        if (raw == null || raw.size() < 2) return new FeedRead(false, List.of(), List.of());
+
+        boolean built = toLong(raw.get(0)) > 0;
+        int count = (int) toLong(raw.get(1));
+        List<Long> ids = new ArrayList<>(count);
+        List<String> snapshots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(Long.valueOf(String.valueOf(raw.get(2 + i))));
+            Object snap = (2 + count + i) < raw.size() ? raw.get(2 + count + i) : null;
+            snapshots.add(snap instanceof String s ? s : null);
+        }
+        return new FeedRead(built, ids, snapshots);
+    }
+
+    private List<ItemSummaryDto> assemble(FeedRead read) {
+        Map<Long, ItemSummaryDto> resolved = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < read.ids().size(); i++) {
+            Long id = read.ids().get(i);
+            ItemSummaryDto dto = parse(read.snapshots().get(i));
+            if (dto != null) resolved.put(id, dto);
+            else missing.add(id);
+        }
+        snapshotHit.increment(resolved.size());
+        snapshotMiss.increment(missing.size());
+
+        if (!missing.isEmpty()) {
+            Map<Long, ItemSummaryDto> loaded = loadSnapshots(missing);
+            resolved.putAll(loaded);
+
+            // 비활성/삭제된 상품이 랭킹에 남아 있으면 정리
+            List<Long> gone = missing.stream().filter(id -> !loaded.containsKey(id)).toList();
+            if (!gone.isEmpty()) remove(gone);
+        }
+
+        return read.ids().stream()
+                .map(resolved::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** 만료된 스냅샷 적재: 같은 상품을 다른 요청이 적재 중이면 그 결과를 기다림 */
+    private Map<Long, ItemSummaryDto> loadSnapshots(List<Long> ids) {
+        Map<Long, CompletableFuture<ItemSummaryDto>> owned = new HashMap<>();
+        Map<Long, CompletableFuture<ItemSummaryDto>> waiting = new HashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<ItemSummaryDto> mine = new CompletableFuture<>();
+            CompletableFuture<ItemSummaryDto> other = snapshotLoads.putIfAbsent(id, mine);
+            if (other == null) owned.put(id, mine);
+            else waiting.put(id, other);
+        }
+
+        Map<Long, ItemSummaryDto> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                Map<Long, ItemSummaryDto> loaded = readOnlyTx.execute(status -> loadSummaries(owned.keySet()));
+                if (loaded == null) loaded = Map.of();
+                writeSnapshots(loaded.values());
+                result.putAll(loaded);
+                for (Map.Entry<Long, CompletableFuture<ItemSummaryDto>> e : owned.entrySet()) {
+                    e.getValue().complete(loaded.get(e.getKey()));
+                }
+            } catch (RuntimeException e) {
+                owned.values().forEach(f -> f.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(snapshotLoads::remove);
+            }
+        }
+
+        waiting.forEach((id, future) -> {
+            try {
+                ItemSummaryDto dto = future.get(lockTtlMs, TimeUnit.MILLISECONDS);
+                if (dto != null) result.put(id, dto);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("[FEED] 스냅샷 대기 실패 id={}: {}", id, e.getMessage());
+            }
+        });
+        return result;
+    }
+
+    private Map<Long, ItemSummaryDto> loadSummaries(Collection<Long> ids) {
+        List<Item> items = itemRepository.findAllById(ids).stream()
+                .filter(item -> ACTIVE_STATUSES.contains(item.getStatus()))
+                .toList();
+        Map<Long, ItemSummaryDto> byId = new HashMap<>();
+        summaryAssembler.toSummaries(items).forEach(dto -> byId.put(dto.getId(), dto));
+        return byId;
+    }
+
+    private List<ItemSummaryDto> loadFromDb(Feed feed, int size) {
+        fallbackCounter.increment();
+        return readOnlyTx.execute(status -> summaryAssembler.toSummaries(queryTop(feed, size)));
+    }
+
+    /* ================= 재구축 ================= */
+
+    private CompletableFuture<Boolean> rebuildOnce(Feed feed) {
+        CompletableFuture<Boolean> mine = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = rebuilding.putIfAbsent(feed, mine);
+        if (running != null) return running;
+
+        try {
+            feedExecutor.execute(() -> {
+                try {
+                    mine.complete(rebuild(feed));
+                } catch (Exception e) {
+                    log.warn("[FEED] {} 재구축 실패: {}", feed, e.getMessage());
+                    mine.complete(false);
+                } finally {
+                    rebuilding.remove(feed, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.remove(feed, mine);
+            mine.complete(false);
+        }
+        return mine;
+    }
+
+    /** @return 재구축 결과를 조회할 수 있으면 true */
+    private boolean awaitRebuild(Feed feed) {
+        long deadline = System.currentTimeMillis() + lockTtlMs;
+        try {
+            if (Boolean.TRUE.equals(rebuildOnce(feed).get(lockTtlMs, TimeUnit.MILLISECONDS))) return true;
+
+            // 다른 인스턴스가 재구축 중 → 완료 마커를 잠시 기다림
+            while (System.currentTimeMillis() < deadline) {
+                if (Boolean.TRUE.equals(redis.hasKey(builtKey(feed)))) return true;
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("[FEED] {} 재구축 대기 실패: {}", feed, e.getMessage());
+        }
+        return false;
+    }
+
+    /** @return 이 스레드가 재구축했으면 true, 다른 인스턴스가 락을 잡고 있으면 false */
+    private boolean rebuild(Feed feed) throws JsonProcessingException {
+        String lockKey = feed.key + ":lock";
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs)))) {
+            return false;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            List<ItemSummaryDto> top = readOnlyTx.execute(status -> summaryAssembler.toSummaries(queryTop(feed, maxSize)));
+            if (top == null) top = List.of();
+
+            Map<Long, String> json = new LinkedHashMap<>();
+            for (ItemSummaryDto dto : top) {
+                json.put(dto.getId(), objectMapper.writeValueAsString(dto));
+            }
+
+            List<ItemSummaryDto> ranked = top;
+            String tmpKey = feed.key + ":tmp";
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                c.del(tmpKey);
+                for (ItemSummaryDto dto : ranked) {
+                    c.zAdd(tmpKey, score(feed, dto), member(dto.getId()));
+                }
+                // 새 ZSET 으로 원자적 교체
+                if (ranked.isEmpty()) c.del(feed.key);
+                else c.rename(tmpKey, feed.key);
+                json.forEach((id, value) -> c.setEx(SNAPSHOT_PREFIX + id, snapshotTtl(), value));
+                c.setEx(builtKey(feed), rebuildIntervalSeconds, "1");
+                return null;
+            });
+            log.info("[FEED] {} 재구축 완료: {}건", feed, ranked.size());
+            return true;
+        } finally {
+            rebuildTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            redis.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    private List<Item> queryTop(Feed feed, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        return switch (feed) {
+            case LATEST -> itemRepository.findLatestSlice(ACTIVE_STATUSES, limit).getContent();
+            case FAVORITES -> itemRepository.findFavoritesSlice(ACTIVE_STATUSES, limit).getContent();
+            case VIEWS -> itemRepository.findViewsSlice(ACTIVE_STATUSES, limit).getContent();
+        };
+    }
+
+    /* ================= 공통 ================= */
+
+    private void writeSnapshots(Collection<ItemSummaryDto> dtos) {
+        if (dtos.isEmpty()) return;
+        Map<Long, String> json = new HashMap<>();
+        for (ItemSummaryDto dto : dtos) {
+            try {
+                json.put(dto.getId(), objectMapper.writeValueAsString(dto));
+            } catch (JsonProcessingException e) {
+                log.warn("[FEED] 스냅샷 직렬화 실패 id={}: {}", dto.getId(), e.getMessage());
+            }
+        }
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                json.forEach((id, value) -> c.setEx(SNAPSHOT_PREFIX + id, snapshotTtl(), value));
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.debug("[FEED] 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private void remove(Collection<Long> ids) {
+        String[] members = ids.stream().map(ItemFeedService::member).toArray(String[]::new);
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection c = (StringRedisConnection) connection;
+            for (Feed feed : Feed.values()) c.zRem(feed.key, members);
+            for (Long id : ids) c.del(SNAPSHOT_PREFIX + id);
+            return null;
+        });
+    }
+
+    private ItemSummaryDto parse(String json) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, ItemSummaryDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /** 스냅샷 TTL ±20% 분산 → 재구축 직후 일괄 만료 방지 */
+    private long snapshotTtl() {
+        long jitter = Math.max(1, snapshotTtlSeconds / 5);
+        return snapshotTtlSeconds + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+    }
+
+    private static double score(Feed feed, ItemSummaryDto dto) {
+        return switch (feed) {
+            case LATEST -> dto.getCreatedDate() == null ? 0
+                    : LocalDateTime.parse(dto.getCreatedDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            case FAVORITES -> dto.getFavoriteCount() == null ? 0 : dto.getFavoriteCount();
+            case VIEWS -> dto.getViewCount() == null ? 0 : dto.getViewCount();
+        };
+    }
+
+    /** ZSET 멤버 (점수가 같으면 사전순 → 0 으로 채워 id 순서와 일치) */
+    private static String member(Long id) {
+        return String.format("%019d", id);
+    }
+
+    private static String builtKey(Feed feed) {
+        return feed.key + ":built";
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number n ? n.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    private record FeedRead(boolean built, List<Long> ids, List<String> snapshots) {}
+}
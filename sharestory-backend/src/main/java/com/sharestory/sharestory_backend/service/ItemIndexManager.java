@@ -0,0 +1,219 @@
+package com.sharestory.sharestory_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * "items" 검색 인덱스 버전 관리
+ * - 조회/쓰기는 항상 alias("items")를 통해 수행
+ * - 전체 재구축 시 items_vN 인덱스를 새로 만들고, 적재가 끝나면 alias 를 원자적으로 교체
+ * - 재구축 중 발생한 쓰기는 alias(기존 인덱스) + 신규 인덱스 양쪽에 반영
+ * - 재구축 상태(신규 인덱스 이름, 삭제 tombstone)는 Redis 에 두어 모든 인스턴스가 공유
+ *   (다른 인스턴스의 쓰기도 신규 인덱스에 반영, 재구축은 클러스터 전체에서 1건만)
+ */
+@Slf4j
+@Component
+public class ItemIndexManager {
+
+    public static final String ALIAS = "items";
+    private static final String VERSION_PREFIX = "items_v";
+    private static final String MAPPING_RESOURCE = "elasticsearch/items-index.json";
+
+    /** 재구축 중인 신규 인덱스 이름 (없으면 키 없음) */
+    private static final String BUILDING_KEY = "search:index:building";
+    /** 재구축 중 삭제된 문서 id → 적재 완료 후 신규 인덱스에서 한 번 더 제거 */
+    private static final String TOMBSTONE_PREFIX = "search:index:tombstones:";
+
+    // 내가 시작한 재구축일 때만 상태 정리 (TTL 만료 후 다른 인스턴스가 시작한 재구축은 건드리지 않음)
+    private static final RedisScript<Long> CLEAR = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return 1
+            end
+            redis.call('DEL', KEYS[2])
+            return 0
+            """, Long.class);
+
+    private final ElasticsearchClient es;
+    private final StringRedisTemplate redis;
+    private final int replicas;
+    private final boolean deleteOld;
+    private final Duration buildTtl;
+
+    public ItemIndexManager(ElasticsearchClient es,
+                            StringRedisTemplate redis,
+                            @Value("${app.search.index.replicas:0}") int replicas,
+                            @Value("${app.search.index.delete-old:true}") boolean deleteOld,
+                            @Value("${app.search.index.build-ttl-minutes:360}") long buildTtlMinutes) {
+        this.es = es;
+        this.redis = redis;
+        this.replicas = replicas;
+        this.deleteOld = deleteOld;
+        this.buildTtl = Duration.ofMinutes(Math.max(1, buildTtlMinutes));
+    }
+
+    /** 쓰기 대상 인덱스 목록 (Redis 장애 시 alias 만 → 재구축 결과는 outbox sweep 으로 보정) */
+    public List<String> writeTargets() {
+        String building = buildingIndex();
+        return building == null ? List.of(ALIAS) : List.of(ALIAS, building);
+    }
+
+    public boolean isBuilding() {
+        return buildingIndex() != null;
+    }
+
+    /**
+     * 재구축 중이면 삭제 id 를 tombstone 으로 기록, 다시 색인되는 id 는 tombstone 해제
+     * - 쓰기 전에 호출 → 적재 완료 시점에 다시 올라온(판매 재개 등) 문서를 신규 인덱스에서 지우지 않음
+     */
+    public void recordChanges(Collection<Long> upsertIds, Collection<Long> deleteIds) {
+        if (upsertIds.isEmpty() && deleteIds.isEmpty()) return;
+        String building = buildingIndex();
+        if (building == null) return;
+
+        String key = TOMBSTONE_PREFIX + building;
+        if (!upsertIds.isEmpty()) {
+            redis.opsForSet().remove(key, upsertIds.stream().map(String::valueOf).toArray());
+        }
+        if (!deleteIds.isEmpty()) {
+            redis.opsForSet().add(key, deleteIds.stream().map(String::valueOf).toArray(String[]::new));
+            redis.expire(key, buildTtl);
+        }
+    }
+
+    /** alias 또는 (구버전) 동일 이름의 실제 인덱스가 존재하는지 */
+    public boolean aliasResolvable() throws IOException {
+        return es.indices().exists(e -> e.index(ALIAS)).value();
+    }
+
+    /**
+     * 신규 버전 인덱스 생성 후 적재 모드(replica 0, refresh 비활성)로 전환
+     * @return 생성된 인덱스 이름
+     */
+    public synchronized String beginBuild() throws IOException {
+        String running = buildingIndex();
+        if (running != null) {
+            throw new IllegalStateException("이미 재구축 중인 인덱스가 있습니다: " + running);
+        }
+
+        String index = VERSION_PREFIX + nextVersion();
+        try (InputStream json = new ClassPathResource(MAPPING_RESOURCE).getInputStream()) {
+            es.indices().create(c -> c.withJson(json).index(index));
+        }
+        es.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s.numberOfReplicas("0").refreshInterval(t -> t.time("-1")))
+        );
+
+        // 인덱스가 만들어진 뒤에 공개 → 다른 인스턴스가 없는 인덱스에 쓰지 않음 (동적 매핑 생성 방지)
+        redis.delete(TOMBSTONE_PREFIX + index);
+        if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(BUILDING_KEY, index, buildTtl))) {
+            es.indices().delete(d -> d.index(index));
+            throw new IllegalStateException("이미 재구축 중인 인덱스가 있습니다: " + buildingIndex());
+        }
+
+        log.info("[INDEX] 신규 인덱스 생성 및 적재 모드 전환 → {}", index);
+        return index;
+    }
+
+    /**
+     * 적재 완료 → 설정 복구, 재구축 중 삭제분 반영, alias 원자적 교체
+     */
+    public synchronized void finishBuild(String index) throws IOException {
+        es.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s.numberOfReplicas(String.valueOf(replicas)).refreshInterval(t -> t.time("1s")))
+        );
+
+        Set<String> tombstones = redis.opsForSet().members(TOMBSTONE_PREFIX + index);
+        if (tombstones != null) {
+            for (String id : tombstones) {
+                es.delete(d -> d.index(index).id(id));
+            }
+        }
+        es.indices().refresh(r -> r.index(index));
+
+        List<String> previous = currentIndices();
+        boolean legacyConcrete = previous.isEmpty() && aliasResolvable();
+
+        List<Action> actions = new ArrayList<>();
+        if (legacyConcrete) {
+            // alias 도입 이전에 만들어진 "items" 실제 인덱스 → 교체와 동시에 삭제
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(ALIAS))));
+        }
+        for (String old : previous) {
+            actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(ALIAS))));
+        }
+        actions.add(Action.of(a -> a.add(ad -> ad.index(index).alias(ALIAS))));
+        es.indices().updateAliases(u -> u.actions(actions));
+
+        clear(index);
+        log.info("[INDEX] alias 교체 완료 → {} ⇒ {} (이전: {})", ALIAS, index, legacyConcrete ? ALIAS : previous);
+
+        if (deleteOld && !previous.isEmpty()) {
+            es.indices().delete(d -> d.index(previous));
+            log.info("[INDEX] 이전 인덱스 삭제 → {}", previous);
+        }
+    }
+
+    /** 재구축 실패 → 신규 인덱스 폐기, 기존 alias 유지 */
+    public synchronized void abortBuild(String index) {
+        try {
+            clear(index);
+        } catch (Exception e) {
+            log.error("[INDEX] 재구축 상태 정리 실패 → {} (TTL 후 만료): {}", index, e.getMessage());
+        }
+        try {
+            es.indices().delete(d -> d.index(index));
+            log.warn("[INDEX] 재구축 중단 → {} 삭제", index);
+        } catch (Exception e) {
+            log.error("[INDEX] 재구축 중단 후 인덱스 삭제 실패 → {}: {}", index, e.getMessage());
+        }
+    }
+
+    private String buildingIndex() {
+        try {
+            return redis.opsForValue().get(BUILDING_KEY);
+        } catch (Exception e) {
+            log.warn("[INDEX] 재구축 상태 조회 실패 → alias 에만 쓰기: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void clear(String index) {
+        redis.execute(CLEAR, List.of(BUILDING_KEY, TOMBSTONE_PREFIX + index), index);
+    }
+
+    /** alias 가 현재 가리키는 인덱스 목록 (alias 가 없으면 빈 목록) */
+    private List<String> currentIndices() throws IOException {
+        if (!es.indices().existsAlias(e -> e.name(ALIAS)).value()) return List.of();
+        return new ArrayList<>(es.indices().getAlias(g -> g.name(ALIAS)).result().keySet());
+    }
+
+    private int nextVersion() throws IOException {
+        int max = 0;
+        for (String name : es.indices().get(g -> g.index(VERSION_PREFIX + "*")).result().keySet()) {
+            try {
+                max = Math.max(max, Integer.parseInt(name.substring(VERSION_PREFIX.length())));
+            } catch (NumberFormatException ignored) {
+                // items_v 로 시작하지만 버전 형식이 아닌 인덱스는 무시
+            }
+        }
+        return max + 1;
+    }
+}
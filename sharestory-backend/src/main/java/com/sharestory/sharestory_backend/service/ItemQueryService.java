@@ -5,98 +5,159 @@ import com.sharestory.sharestory_backend.dto.ImageDto;
 import com.sharestory.sharestory_backend.dto.ItemDetailResponse;
 import com.sharestory.sharestory_backend.dto.ItemStatus;
 import com.sharestory.sharestory_backend.dto.ItemSummaryDto;
+import com.sharestory.sharestory_backend.dto.SliceResponse;
 import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
 import com.sharestory.sharestory_backend.repo.ItemRepository;
 import com.sharestory.sharestory_backend.repo.OrderRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemQueryService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
     private final ItemRepository itemRepository;
     private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-    private static final ItemStatus ON_SALE = ItemStatus.ON_SALE;
     private final ChatRoomRepository chatRoomRepository;
     private final OrderRepository orderRepository;
+    private final ItemSummaryAssembler summaryAssembler;
+    private final ItemFeedService itemFeedService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final UniqueViewTracker uniqueViewTracker;
 
     private static final List<ItemStatus> ACTIVE_STATUSES = List.of(
             ItemStatus.ON_SALE,
             ItemStatus.RESERVED
     );
+    private static final int MAX_SLICE_SIZE = 200;
+    private static final char CURSOR_SEPARATOR = '|';
 
-    public Page<Item> getOnSalePage(int page, int size) {
-        Pageable pageable = PageRequest.of(
-                page, size,
-                Sort.by(Sort.Direction.DESC, "createdDate").and(Sort.by(Sort.Direction.DESC, "id"))
-        );
-        return itemRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
-    }
+    /** 전체 리스트(페이지네이션) — page 파라미터 호환용, 첫 페이지는 keyset 경로 사용 */
+    @Transactional(readOnly = true)
+    public List<ItemSummaryDto> getAll(int page, int size) {
+        if (page <= 0) return getLatestSlice(null, size).getItems();
 
-    /** 최신순  */
-    public List<ItemSummaryDto> getLatest(int size) {
-        Pageable pageable = PageRequest.of(0, size,
+        Pageable pageable = PageRequest.of(page, size,
                 Sort.by(Sort.Direction.DESC, "createdDate").and(Sort.by("id").descending()));
+        return summaryAssembler.toSummaries(
+                itemRepository.findSliceByStatusIn(ACTIVE_STATUSES, pageable).getContent());
+    }
 
-        Page<Item> result = itemRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
-        return result.map(this::toSummary).getContent();
+    /* ===== 커서(keyset) 페이징: cursor == null 이면 첫 페이지 ===== */
+
+    /** 최신순 — 커서 (createdDate, id) */
+    @Transactional(readOnly = true)
+    public SliceResponse<ItemSummaryDto> getLatestSlice(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, clampSize(size));
+        String[] c = decodeCursor(cursor);
+        Slice<Item> slice = (c == null)
+                ? itemRepository.findLatestSlice(ACTIVE_STATUSES, limit)
+                : itemRepository.findLatestSliceAfter(ACTIVE_STATUSES, parseDate(c[0]), parseId(c[1]), limit);
+        return toSliceResponse(slice, item -> encodeCursor(item.getCreatedDate().toString(), item.getId()));
     }
 
-    /** 관심 많은 순 (favoriteCount DESC) */
-    public List<ItemSummaryDto> getFavorites(int size) {
-        Pageable pageable = PageRequest.of(0, size,
-                Sort.by(Sort.Direction.DESC, "favoriteCount").and(Sort.by("id").descending()));
+    /** 관심 많은 순 — 커서 (favoriteCount, id) */
+    @Transactional(readOnly = true)
+    public SliceResponse<ItemSummaryDto> getFavoritesSlice(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, clampSize(size));
+        String[] c = decodeCursor(cursor);
+        Slice<Item> slice = (c == null)
+                ? itemRepository.findFavoritesSlice(ACTIVE_STATUSES, limit)
+                : itemRepository.findFavoritesSliceAfter(ACTIVE_STATUSES, parseCount(c[0]), parseId(c[1]), limit);
+        return toSliceResponse(slice, item -> encodeCursor(String.valueOf(item.getFavoriteCount()), item.getId()));
+    }
 
-        Page<Item> result = itemRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
-        return result.map(this::toSummary).getContent();
+    /** 많이 본 순 — 커서 (viewCount, id) */
+    @Transactional(readOnly = true)
+    public SliceResponse<ItemSummaryDto> getViewsSlice(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, clampSize(size));
+        String[] c = decodeCursor(cursor);
+        Slice<Item> slice = (c == null)
+                ? itemRepository.findViewsSlice(ACTIVE_STATUSES, limit)
+                : itemRepository.findViewsSliceAfter(ACTIVE_STATUSES, parseCount(c[0]), parseId(c[1]), limit);
+        return toSliceResponse(slice, item -> encodeCursor(String.valueOf(item.getViewCount()), item.getId()));
     }
 
-    /** 많이 본 순 (viewCount DESC) */
-    public List<ItemSummaryDto> getViews(int size) {
-        Pageable pageable = PageRequest.of(0, size,
-                Sort.by(Sort.Direction.DESC, "viewCount").and(Sort.by("id").descending()));
+    private SliceResponse<ItemSummaryDto> toSliceResponse(Slice<Item> slice, Function<Item, String> cursorOf) {
+        List<Item> content = slice.getContent();
+        String next = (slice.hasNext() && !content.isEmpty())
+                ? cursorOf.apply(content.get(content.size() - 1))
+                : null;
+        return SliceResponse.<ItemSummaryDto>builder()
+                .items(summaryAssembler.toSummaries(content))
+                .nextCursor(next)
+                .hasNext(next != null)
+                .build();
+    }
 
-        Page<Item> result = itemRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
-        return result.map(this::toSummary).getContent();
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SLICE_SIZE));
     }
 
-    /** 전체 리스트(페이지네이션) */
-    public List<ItemSummaryDto> getAll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size,
-                Sort.by(Sort.Direction.DESC, "createdDate").and(Sort.by("id").descending()));
+    /** 커서 = base64url("정렬값|id") — 클라이언트는 불투명 문자열로만 취급 */
+    private String encodeCursor(String sortValue, Long id) {
+        String raw = sortValue + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        Page<Item> result = itemRepository.findByStatusIn(ACTIVE_STATUSES, pageable);
-        return result.map(this::toSummary).getContent();
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(CURSOR_SEPARATOR);
+            if (sep <= 0) throw new IllegalArgumentException("잘못된 커서입니다.");
+            return new String[]{raw.substring(0, sep), raw.substring(sep + 1)};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
     }
 
-    @Transactional
-    public void increaseViewCount(Long itemId, Long userId, String ipAddress) {
-        // 로그인 사용자 → userId 기준
-        String key;
-        if (userId != null && userId > 0) {
-            key = "view:" + itemId + ":user:" + userId;
-        } else {
-            key = "view:" + itemId + ":ip:" + ipAddress;
+    private LocalDateTime parseDate(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
         }
+    }
 
-        Boolean alreadyViewed = redisTemplate.hasKey(key);
+    private Integer parseCount(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
 
-        if (Boolean.FALSE.equals(alreadyViewed)) {
-            itemRepository.incrementViewCount(itemId);
-            redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(10)); // TTL 10초
+    private Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    @Transactional
+    public void increaseViewCount(Long itemId, Long userId, String ipAddress) {
+        // 로그인 사용자 → userId 기준, 비로그인 → IP 기준
+        String viewer = UniqueViewTracker.viewer(userId, ipAddress);
+
+        if (uniqueViewTracker.firstView("item", itemId, viewer)) {
+            viewCountBuffer.increment(ViewCountBuffer.Target.ITEM, itemId);
+            itemFeedService.onViewed(itemId);
         }
     }
 
@@ -137,37 +198,9 @@ public class ItemQueryService {
                 .dealInfo(item.getDealInfo())
                 .modified(item.isModified())
                 .updatedDate(item.getUpdatedDate() != null ? item.getUpdatedDate().format(ISO) : null)
-                .viewCount(item.getViewCount())
+                .viewCount(item.getViewCount() + viewCountBuffer.pending(ViewCountBuffer.Target.ITEM, id))
                 .chatRoomCount(chatCount)
                 .hasSafeOrder(hasSafeOrder) // ✅ 추가
                 .build();
     }
-
-    private ItemSummaryDto toSummary(Item item) {
-        // 대표 이미지 결정: item.imageUrl 우선, 없으면 연관 이미지 첫 장
-        String thumb = item.getImageUrl();
-        if ((thumb == null || thumb.isBlank()) && item.getImages() != null && !item.getImages().isEmpty()) {
-            thumb = item.getImages().get(0).getUrl(); // isThumbnail 기준 있으면 그걸로 교체
-        }
-
-        boolean hasSafeOrder = orderRepository.existsByItem_Id(item.getId());
-
-        return ItemSummaryDto.builder()
-                .id(item.getId())
-                .title(item.getTitle())
-                .price(item.getPrice())
-                .imageUrl(thumb)
-                .createdDate(item.getCreatedDate() != null ? item.getCreatedDate().format(ISO) : null)
-                .itemStatus(item.getStatus().name())
-                .favoriteCount(item.getFavoriteCount())
-                .viewCount(item.getViewCount())
-                .chatRoomCount(item.getChatRoomCount())
-                .latitude(item.getLatitude())
-                .longitude(item.getLongitude())
-                .modified(item.isModified())
-                .updatedDate(item.getUpdatedDate() != null ? item.getUpdatedDate().toString() : null)
-                .dealInfo(item.getDealInfo())
-                .hasSafeOrder(hasSafeOrder)
-                .build();
-    }
 }
@@ -1,94 +1,169 @@
 package com.sharestory.sharestory_backend.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.core.IndexResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.sharestory.sharestory_backend.domain.DealInfo;
 import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.domain.ItemDoc;
+import com.sharestory.sharestory_backend.dto.ItemStatus;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemSearchIndexer {
 
+    /** 검색 노출 상태 (그 외 상태는 색인하지 않고 삭제) */
+    public static final List<ItemStatus> SEARCHABLE_STATUSES = List.of(ItemStatus.ON_SALE, ItemStatus.RESERVED);
+
     private final ElasticsearchClient es;
+    private final ItemIndexManager indexManager;
+
+    /**
+     * 여러 문서를 한 번의 _bulk 요청으로 alias(+ 재구축 중인 인덱스)에 인덱싱
+     * @return 실패한 문서 수
+     */
+    public int bulkIndex(List<ItemDoc> docs) throws IOException {
+        int failed = 0;
+        for (String index : indexManager.writeTargets()) {
+            failed = Math.max(failed, bulkIndex(index, docs, false));
+        }
+        return failed;
+    }
 
-    public void indexItem(Item item) {
-        try {
-
-            ItemDoc doc = new ItemDoc();
-            doc.setId(item.getId());
-            doc.setTitle(item.getTitle());
-            doc.setTitleSuggest(item.getTitle());
-            doc.setTitleNgram(item.getTitle());
-            doc.setPrice(item.getPrice());
-
-            if (item.getLatitude() != null && item.getLongitude() != null) {
-                ItemDoc.GeoPoint point = new ItemDoc.GeoPoint();
-                point.setLat(item.getLatitude());
-                point.setLon(item.getLongitude());
-                doc.setLocation(point);
+    /**
+     * 지정한 인덱스에 _bulk 인덱싱
+     * @param createOnly true 면 이미 존재하는 문서는 덮어쓰지 않음 (재구축 중 실시간 쓰기 우선)
+     * @return 실패한 문서 수
+     */
+    public int bulkIndex(String index, List<ItemDoc> docs, boolean createOnly) throws IOException {
+        if (docs.isEmpty()) return 0;
+
+        BulkRequest.Builder br = new BulkRequest.Builder();
+        for (ItemDoc doc : docs) {
+            if (createOnly) {
+                br.operations(op -> op.create(c -> c
+                        .index(index)
+                        .id(doc.getId().toString())
+                        .document(doc)
+                ));
+            } else {
+                br.operations(op -> op.index(idx -> idx
+                        .index(index)
+                        .id(doc.getId().toString())
+                        .document(doc)
+                ));
             }
+        }
 
-            // ✅ 날짜
-            if (item.getCreatedDate() != null) {
-                doc.setCreatedAt(item.getCreatedDate().toString());
-            }
-            if (item.getUpdatedDate() != null) {
-                doc.setUpdatedAt(item.getUpdatedDate().toString());
-            }
+        BulkResponse resp = es.bulk(br.build());
+        if (!resp.errors()) return 0;
 
+        int failed = 0;
+        for (BulkResponseItem item : resp.items()) {
+            if (item.error() == null) continue;
+            if (createOnly && item.status() == 409) continue; // 이미 최신 문서가 있음
+            failed++;
+            log.warn("[BULK INDEX FAIL] index={} id={} reason={}", index, item.id(), item.error().reason());
+        }
+        return failed;
+    }
 
-            // ✅ 대표 이미지
-            if (item.getImages() != null && !item.getImages().isEmpty()) {
-                doc.setImageUrl(item.getImages().get(0).getUrl());
-            } else {
-                doc.setImageUrl(item.getImageUrl()); // fallback
+    /**
+     * 인덱싱/삭제를 한 번의 _bulk 요청으로 alias(+ 재구축 중인 인덱스)에 반영
+     * @return 반영에 실패한 상품 id
+     */
+    public Set<Long> bulkApply(Collection<ItemDoc> upserts, Collection<Long> deletes) throws IOException {
+        Set<Long> failed = new HashSet<>();
+        if (upserts.isEmpty() && deletes.isEmpty()) return failed;
+
+        indexManager.recordChanges(upserts.stream().map(ItemDoc::getId).toList(), deletes);
+
+        for (String index : indexManager.writeTargets()) {
+            BulkRequest.Builder br = new BulkRequest.Builder();
+            for (ItemDoc doc : upserts) {
+                br.operations(op -> op.index(idx -> idx
+                        .index(index)
+                        .id(doc.getId().toString())
+                        .document(doc)
+                ));
+            }
+            for (Long id : deletes) {
+                br.operations(op -> op.delete(d -> d.index(index).id(id.toString())));
             }
 
-            // ✅ 상태 저장
-            doc.setItemStatus(item.getStatus().name());
-            doc.setFavoriteCount(item.getFavoriteCount());
-            doc.setViewCount(item.getViewCount());
-            doc.setChatRoomCount(item.getChatRoomCount());
-
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                String json = mapper.writeValueAsString(doc);
-                System.out.println("[DEBUG JSON] " + json);
-            } catch (Exception e) {
-                e.printStackTrace();
+            BulkResponse resp = es.bulk(br.build());
+            if (!resp.errors()) continue;
+
+            for (BulkResponseItem item : resp.items()) {
+                if (item.error() == null || item.id() == null) continue;
+                failed.add(Long.valueOf(item.id()));
+                log.warn("[BULK APPLY FAIL] index={} id={} reason={}", index, item.id(), item.error().reason());
             }
+        }
+        return failed;
+    }
 
-            // 3. Elasticsearch 인덱싱
-            IndexResponse resp = es.index(i -> i
-                    .index("items")
-                    .id(item.getId().toString()) // DB id 기반으로 문서 id 지정
-                    .document(doc)
-            );
+    /**
+     * 엔티티 → 검색 문서 변환
+     */
+    public ItemDoc toDoc(Item item) {
+        ItemDoc doc = new ItemDoc();
+        doc.setId(item.getId());
+        doc.setTitle(item.getTitle());
+        doc.setTitleSuggest(item.getTitle());
+        doc.setTitleNgram(item.getTitle());
+        doc.setPrice(item.getPrice());
+
+        if (item.getLatitude() != null && item.getLongitude() != null) {
+            ItemDoc.GeoPoint point = new ItemDoc.GeoPoint();
+            point.setLat(item.getLatitude());
+            point.setLon(item.getLongitude());
+            doc.setLocation(point);
+        }
 
-            System.out.println("[INDEX SUCCESS] id=" + resp.id());
+        // ✅ 날짜
+        if (item.getCreatedDate() != null) {
+            doc.setCreatedAt(item.getCreatedDate().toString());
+        }
+        if (item.getUpdatedDate() != null) {
+            doc.setUpdatedAt(item.getUpdatedDate().toString());
+        }
 
-        } catch (Exception e) {
-            System.err.println("[INDEX FAIL] " + e.getMessage());
+        // ✅ 대표 이미지 (DB 조회 경로와 같은 item.imageUrl 우선)
+        if (item.getImageUrl() != null) {
+            doc.setImageUrl(item.getImageUrl());
+        } else if (item.getImages() != null && !item.getImages().isEmpty()) {
+            doc.setImageUrl(item.getImages().get(0).getUrl()); // fallback
         }
-    }
 
-    public void deleteItem(Long itemId) {
-        try {
-            var resp = es.delete(d -> d.index("items").id(itemId.toString()));
-            if (resp.result().name().equalsIgnoreCase("Deleted")) {
-                System.out.printf("🧹 [ES DELETE SUCCESS] id=%d%n", itemId);
-            } else {
-                System.out.printf("⚠️ [ES DELETE WARNING] id=%d result=%s%n", itemId, resp.result());
-            }
-        } catch (Exception e) {
-            System.err.printf("❌ [ES DELETE FAIL] id=%d: %s%n", itemId, e.getMessage());
-            e.printStackTrace();
+        // ✅ 상태 저장
+        doc.setItemStatus(item.getStatus().name());
+        doc.setFavoriteCount(item.getFavoriteCount());
+        doc.setViewCount(item.getViewCount());
+        doc.setChatRoomCount(item.getChatRoomCount());
+
+        // ✅ 거래 방식 (phoneNumber 는 저장하지 않음)
+        if (item.getDealInfo() != null) {
+            DealInfo deal = new DealInfo();
+            deal.setParcel(item.getDealInfo().getParcel());
+            deal.setDirect(item.getDealInfo().getDirect());
+            deal.setShippingOption(item.getDealInfo().getShippingOption());
+            deal.setSafeTrade(item.getDealInfo().getSafeTrade());
+            doc.setDealInfo(deal);
         }
+
+        log.debug("[INDEX DOC] id={} title={}", doc.getId(), doc.getTitle());
+        return doc;
     }
 }
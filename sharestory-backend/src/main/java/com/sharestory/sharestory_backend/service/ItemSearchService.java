@@ -8,121 +8,79 @@ import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
 import com.sharestory.sharestory_backend.domain.Item;
 import com.sharestory.sharestory_backend.domain.ItemDoc;
 import com.sharestory.sharestory_backend.dto.ItemSummaryDto;
 import com.sharestory.sharestory_backend.repo.ItemRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ItemSearchService {
 
+    /** 목록 카드(ItemSummaryDto)에 필요한 _source 필드 */
+    private static final List<String> SUMMARY_FIELDS = List.of(
+            "id", "title", "price", "imageUrl", "createdAt", "updatedAt", "itemStatus",
+            "favoriteCount", "viewCount", "chatRoomCount", "location", "dealInfo"
+    );
+
     private final ElasticsearchClient es;
     private final ItemRepository itemRepository;
+    /** true: ES _source 로 바로 DTO 생성 / false: id 만 받아 DB 조회 (기존 방식) */
+    private final boolean hydrateFromSource;
+
+    public ItemSearchService(ElasticsearchClient es,
+                             ItemRepository itemRepository,
+                             @Value("${app.search.hydration:source}") String hydration) {
+        this.es = es;
+        this.itemRepository = itemRepository;
+        this.hydrateFromSource = !"db".equalsIgnoreCase(hydration);
+    }
 
     /**
      * 🔍 일반 검색 (로그인 사용자: 위치검색 / 비로그인: 키워드검색)
      */
     public List<ItemSummaryDto> searchItems(String keyword, Double userLat, Double userLon, String distance) throws IOException {
-        List<Item> items = searchInternal(keyword, userLat, userLon, distance, 50);
-        return items.stream().map(this::toSummaryDto).collect(Collectors.toList());
+        return searchInternal(keyword, userLat, userLon, distance, 50);
     }
 
     /**
      * 비로그인 사용자용 → 키워드 검색만
      */
     public List<ItemSummaryDto> searchItemsByKeyword(String keyword) throws IOException {
-        List<Item> items = searchKeywordOnly(keyword, 50);
-        return items.stream().map(this::toSummaryDto).collect(Collectors.toList());
-    }
-
-    /**
-     * ✨ 자동완성 검색
-     * 로그인: titleSuggest + ngram + 위치
-     * 비로그인: titleSuggest 전용
-     */
-    public List<ItemSummaryDto> autocomplete(String keyword, Double userLat, Double userLon, String distance) throws IOException {
-        List<Item> items;
-
-        if (userLat != null && userLon != null) {
-            // ✅ 로그인 사용자 → 기존 로직 그대로
-            items = searchInternal(keyword, userLat, userLon, distance, 10);
-        } else {
-            // ✅ 비로그인 사용자 → titleSuggest 전용 (search_as_you_type)
-            MultiMatchQuery suggestQuery = MultiMatchQuery.of(m -> m
-                    .query(keyword)
-                    .type(TextQueryType.BoolPrefix)
-                    .fields("titleSuggest", "titleSuggest._2gram", "titleSuggest._3gram")
-            );
-
-            SearchRequest req = SearchRequest.of(s -> s
-                    .index("items")
-                    .size(10)
-                    .source(src -> src.filter(f -> f.includes("id")))
-                    .query(Query.of(q -> q.multiMatch(suggestQuery)))
-            );
-
-            SearchResponse<ItemDoc> resp = es.search(req, ItemDoc.class);
-
-            List<Long> ids = resp.hits().hits().stream()
-                    .map(Hit::source)
-                    .filter(Objects::nonNull)
-                    .map(ItemDoc::getId)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            if (ids.isEmpty()) return Collections.emptyList();
-
-            List<Item> found = itemRepository.findAllById(ids);
-            Map<Long, Item> itemMap = found.stream().collect(Collectors.toMap(Item::getId, i -> i));
-            items = ids.stream().map(itemMap::get).filter(Objects::nonNull).collect(Collectors.toList());
-        }
-
-        return items.stream().map(this::toSummaryDto).collect(Collectors.toList());
+        return searchKeywordOnly(keyword, 50);
     }
 
     /**
      * 키워드 검색만 수행하는 내부 로직
      */
-    private List<Item> searchKeywordOnly(String keyword, int size) throws IOException {
+    private List<ItemSummaryDto> searchKeywordOnly(String keyword, int size) throws IOException {
         MultiMatchQuery matchNgram = MultiMatchQuery.of(m -> m
                 .query(keyword)
                 .fields("titleNgram")
         );
 
         SearchRequest req = SearchRequest.of(s -> s
-                .index("items")
+                .index(ItemIndexManager.ALIAS)
                 .size(size)
-                .source(src -> src.filter(f -> f.includes("id")))
+                .source(sourceFilter())
                 .query(Query.of(q -> q.multiMatch(matchNgram)))
         );
 
-        SearchResponse<ItemDoc> resp = es.search(req, ItemDoc.class);
-
-        List<Long> ids = resp.hits().hits().stream()
-                .map(Hit::source)
-                .filter(Objects::nonNull)
-                .map(ItemDoc::getId)
-                .collect(Collectors.toList());
-
-        if (ids.isEmpty()) return Collections.emptyList();
-
-        List<Item> items = itemRepository.findAllById(ids);
-        Map<Long, Item> itemMap = items.stream().collect(Collectors.toMap(Item::getId, i -> i));
-
-        return ids.stream().map(itemMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return hydrate(es.search(req, ItemDoc.class));
     }
 
     /**
      * 내부 공통 로직 (로그인 유저 검색)
      */
-    private List<Item> searchInternal(String keyword, Double userLat, Double userLon, String distance, int size) throws IOException {
+    private List<ItemSummaryDto> searchInternal(String keyword, Double userLat, Double userLon, String distance, int size) throws IOException {
         MultiMatchQuery matchSuggest = MultiMatchQuery.of(m -> m
                 .query(keyword)
                 .type(TextQueryType.BoolPrefix)
@@ -166,28 +124,86 @@ public class ItemSearchService {
         sort.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
 
         SearchRequest req = SearchRequest.of(s -> s
-                .index("items")
+                .index(ItemIndexManager.ALIAS)
                 .size(size)
-                .source(src -> src.filter(f -> f.includes("id")))
+                .source(sourceFilter())
                 .query(Query.of(q -> q.bool(boolBuilder.build())))
                 .sort(sort)
         );
 
-        SearchResponse<ItemDoc> resp = es.search(req, ItemDoc.class);
+        return hydrate(es.search(req, ItemDoc.class));
+    }
+
+    private SourceConfig sourceFilter() {
+        List<String> fields = hydrateFromSource ? SUMMARY_FIELDS : List.of("id");
+        return SourceConfig.of(src -> src.filter(f -> f.includes(fields)));
+    }
 
-        List<Long> ids = resp.hits().hits().stream()
+    /**
+     * 검색 결과 → DTO (ES 정렬 순서 유지)
+     * - _source 에 필수 필드가 모두 있으면 그대로 사용
+     * - 누락된 문서(구버전 색인 등)만 DB 에서 조회
+     */
+    private List<ItemSummaryDto> hydrate(SearchResponse<ItemDoc> resp) {
+        List<ItemDoc> docs = resp.hits().hits().stream()
                 .map(Hit::source)
                 .filter(Objects::nonNull)
-                .map(ItemDoc::getId)
-                .filter(Objects::nonNull)
+                .filter(d -> d.getId() != null)
                 .collect(Collectors.toList());
 
-        if (ids.isEmpty()) return Collections.emptyList();
+        if (docs.isEmpty()) return Collections.emptyList();
+
+        Map<Long, ItemSummaryDto> resolved = new HashMap<>();
+        List<Long> fallbackIds = new ArrayList<>();
+        for (ItemDoc doc : docs) {
+            if (hydrateFromSource && isComplete(doc)) {
+                resolved.put(doc.getId(), fromDoc(doc));
+            } else {
+                fallbackIds.add(doc.getId());
+            }
+        }
+
+        if (!fallbackIds.isEmpty()) {
+            if (hydrateFromSource) {
+                log.debug("[SEARCH] _source 누락 문서 {}건 → DB 조회", fallbackIds.size());
+            }
+            for (Item item : itemRepository.findAllById(fallbackIds)) {
+                resolved.put(item.getId(), toSummaryDto(item));
+            }
+        }
 
-        List<Item> items = itemRepository.findAllById(ids);
-        Map<Long, Item> itemMap = items.stream().collect(Collectors.toMap(Item::getId, i -> i));
+        return docs.stream()
+                .map(d -> resolved.get(d.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        return ids.stream().map(itemMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+    private boolean isComplete(ItemDoc doc) {
+        return doc.getTitle() != null
+                && doc.getPrice() != null
+                && doc.getItemStatus() != null
+                && doc.getCreatedAt() != null
+                && doc.getDealInfo() != null;
+    }
+
+    /**
+     * 검색 문서 → DTO 변환
+     */
+    private ItemSummaryDto fromDoc(ItemDoc doc) {
+        return ItemSummaryDto.builder()
+                .id(doc.getId())
+                .title(doc.getTitle())
+                .price(doc.getPrice())
+                .imageUrl(doc.getImageUrl())
+                .createdDate(doc.getCreatedAt())
+                .itemStatus(doc.getItemStatus())
+                .favoriteCount(doc.getFavoriteCount())
+                .viewCount(doc.getViewCount())
+                .chatRoomCount(doc.getChatRoomCount())
+                .latitude(doc.getLocation() != null ? doc.getLocation().getLat() : null)
+                .longitude(doc.getLocation() != null ? doc.getLocation().getLon() : null)
+                .dealInfo(doc.getDealInfo())
+                .build();
     }
 
     /**
@@ -210,4 +226,3 @@ public class ItemSearchService {
                 .build();
     }
 }
-
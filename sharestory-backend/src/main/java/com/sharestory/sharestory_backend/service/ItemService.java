@@ -23,14 +23,17 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final ItemImageRepository itemImageRepository;
     private final S3Service s3Service;
-    private final ItemSearchIndexer itemSearchIndexer;
+    private final SearchIndexOutboxService searchIndexOutbox;
     private final FavoriteItemRepository favoriteItemRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final SimpMessagingTemplate simpMessagingTemplate;
     private final ChatReadRepository chatReadRepository;
+    private final ChatReadMarkRepository readMarkRepository;
+    private final ChatLookupCache chatLookupCache;
     private final ChatMessageRepository chatMessageRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final ChatUnreadCounter unreadCounter;
 
     @Transactional
     public Item registerItem(ItemRequestDto dto, List<MultipartFile> images, Long userId) throws IOException {
@@ -91,7 +94,8 @@ public class ItemService {
             // itemRepository.save(item);
         }
 
-        itemSearchIndexer.indexItem(item);
+        // 검색 인덱스 반영 (커밋 후 아웃박스 워커가 처리)
+        searchIndexOutbox.enqueueIndex(item.getId());
 
         return item;
     }
@@ -163,8 +167,8 @@ public class ItemService {
             item.setImageUrl(null); // 이미지가 전부 삭제된 경우
         }
 
-        // 검색 인덱스 갱신
-        itemSearchIndexer.indexItem(item);
+        // 검색 인덱스 갱신 (커밋 후 반영)
+        searchIndexOutbox.enqueueIndex(item.getId());
 
         // ✅ 채팅방 참여자에게 실시간 상품 업데이트 전송
         List<ChatRoom> rooms = chatRoomRepository.findByItem_Id(itemId);
@@ -213,8 +217,9 @@ public class ItemService {
                 }
             }
 
-            // (2) 읽음 기록 제거
+            // (2) 읽음 기록/워터마크 제거
             chatReadRepository.deleteAllByRoomId(room.getId());
+            readMarkRepository.deleteAllByRoomId(room.getId());
 
             // (3) 메시지 제거
             chatMessageRepository.deleteAllByRoomId(room.getId());
@@ -222,6 +227,7 @@ public class ItemService {
 
         // (4) 채팅방 제거
         chatRoomRepository.deleteAll(rooms);
+        rooms.forEach(room -> chatLookupCache.evictRoom(room.getId()));
 
 
         // 5) 상품 이미지 S3 제거
@@ -246,8 +252,8 @@ public class ItemService {
         // 7) 상품 자체 DB 제거
         itemRepository.delete(item);
 
-        // 8) ES 인덱스 제거
-        itemSearchIndexer.deleteItem(itemId);
+        // 8) ES 인덱스 제거 (커밋 후 반영)
+        searchIndexOutbox.enqueueDelete(itemId);
 
         log.info("[ITEM DELETE COMPLETE] itemId={}", itemId);
     }
@@ -274,16 +280,13 @@ public class ItemService {
         itemRepository.flush();
         log.info("🔍 [DEBUG] 전달된 상태값 확인 → status={}, enumName={}", status, status.name());
 
-        try {
-            if (status == ItemStatus.SOLD_OUT) {
-                itemSearchIndexer.deleteItem(itemId);
-                log.info("🧹 [Elasticsearch] 거래완료 상품 인덱스에서 제거 완료 → itemId={}", itemId);
-            } else if (status == ItemStatus.ON_SALE || status == ItemStatus.RESERVED) {
-                itemSearchIndexer.indexItem(item);
-                log.info("📦 [Elasticsearch] 상품 상태 복구/등록 → itemId={}, status={}", itemId, status);
-            }
-        } catch (Exception e) {
-            log.warn("⚠️ [Elasticsearch] 상태 변경 반영 실패 (itemId={}, status={}): {}", itemId, status, e.getMessage());
+        // 검색 인덱스 반영 (커밋 후 아웃박스 워커가 처리)
+        if (status == ItemStatus.SOLD_OUT) {
+            searchIndexOutbox.enqueueDelete(itemId);
+            log.info("🧹 [Elasticsearch] 거래완료 상품 인덱스 제거 예약 → itemId={}", itemId);
+        } else if (status == ItemStatus.ON_SALE || status == ItemStatus.RESERVED) {
+            searchIndexOutbox.enqueueIndex(itemId);
+            log.info("📦 [Elasticsearch] 상품 상태 복구/등록 예약 → itemId={}, status={}", itemId, status);
         }
 
         // 🔔 선택: 상태 변경 시 채팅방 참여자에게 알림 보내기
@@ -307,15 +310,18 @@ public class ItemService {
 
         List<ChatRoom> rooms = chatRoomRepository.findByItem_Id(itemId);
 
+        // ✅ 구매자 닉네임 (캐시, 미스만 한 번에 조회)
+        Map<Long, String> buyerNames = chatLookupCache.nicknames(
+                rooms.stream().map(ChatRoom::getBuyerId).toList());
+
         return rooms.stream()
                 .map(room -> {
                     Map<String, Object> dto = new HashMap<>();
                     dto.put("roomId", room.getId());
                     dto.put("buyerId", room.getBuyerId());
 
-                    // ✅ 구매자 닉네임
-                    userRepository.findById(room.getBuyerId())
-                            .ifPresent(user -> dto.put("buyerName", user.getNickname()));
+                    String buyerName = buyerNames.get(room.getBuyerId());
+                    if (buyerName != null) dto.put("buyerName", buyerName);
 
                     // ✅ 최근 메시지
                     chatMessageRepository.findTopByRoomOrderByCreatedAtDesc(room)
@@ -348,6 +354,9 @@ public class ItemService {
         // ✅ 예약자 지정
         item.setBuyerId(buyerId);
 
+        // 검색 문서 / 홈 피드 카드 상태 갱신 (커밋 후)
+        searchIndexOutbox.enqueueIndex(itemId);
+
         ChatRoom room = chatRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("채팅방이 존재하지 않습니다."));
 
@@ -362,16 +371,11 @@ public class ItemService {
 
         ChatMessage saved = chatMessageRepository.save(systemMsg);
 
-        // ✅ SYSTEM 메시지는 구매자만 안읽음 처리
-        ChatRead chatRead = ChatRead.builder()
-                .message(saved)
-                .userId(buyerId)   // 구매자만 읽음 대상
-                .read(false)
-                .build();
-        chatReadRepository.save(chatRead);
+        // ✅ SYSTEM 메시지는 구매자만 안읽음 처리 (판매자 발신 → 판매자에겐 내 메시지)
+        unreadCounter.increment(buyerId, room.getId());
 
-        // ✅ 마지막 메시지 시간 갱신
-        room.setUpdatedAt(LocalDateTime.now());
+        // ✅ 마지막 메시지 / 시간 갱신
+        room.updateLastMessage(saved);
 
         // ✅ WebSocket 브로드캐스트
         simpMessagingTemplate.convertAndSend(
@@ -400,13 +404,8 @@ public class ItemService {
         itemRepository.save(item);
         itemRepository.flush();
 
-        // ✅ Elasticsearch 인덱스에서 제거
-        try {
-            itemSearchIndexer.deleteItem(itemId);
-            log.info("🧹 [Elasticsearch] 거래완료 상품 인덱스에서 제거 완료 → itemId={}", itemId);
-        } catch (Exception e) {
-            log.error("❌ [Elasticsearch] 거래완료 인덱스 제거 실패 → itemId={}, 이유={}", itemId, e.getMessage());
-        }
+        // ✅ Elasticsearch 인덱스에서 제거 (커밋 후 반영)
+        searchIndexOutbox.enqueueDelete(itemId);
         ChatRoom room = chatRoomRepository.findById(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("채팅방이 존재하지 않습니다."));
 
@@ -421,16 +420,11 @@ public class ItemService {
 
         ChatMessage saved = chatMessageRepository.save(systemMsg);
 
-        // ✅ SYSTEM 메시지는 구매자만 안읽음 처리
-        ChatRead chatRead = ChatRead.builder()
-                .message(saved)
-                .userId(buyerId)   // 구매자만 읽음 대상
-                .read(false)
-                .build();
-        chatReadRepository.save(chatRead);
+        // ✅ SYSTEM 메시지는 구매자만 안읽음 처리 (판매자 발신 → 판매자에겐 내 메시지)
+        unreadCounter.increment(buyerId, room.getId());
 
-        // ✅ 마지막 메시지 시간 갱신
-        room.setUpdatedAt(LocalDateTime.now());
+        // ✅ 마지막 메시지 / 시간 갱신
+        room.updateLastMessage(saved);
 
         // ✅ WebSocket 브로드캐스트
         simpMessagingTemplate.convertAndSend(
@@ -0,0 +1,203 @@
+package com.sharestory.sharestory_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.DistanceUnit;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.*;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.sharestory.sharestory_backend.domain.ItemDoc;
+import com.sharestory.sharestory_backend.dto.ItemSuggestDto;
+import com.sharestory.sharestory_backend.event.ItemIndexAppliedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 자동완성 전용 서비스
+ * - titleSuggest(search_as_you_type) 필드에 bool_prefix 질의, id/제목/가격/썸네일만 반환 (DB 조회 없음)
+ * - 정규화된 prefix(+ 로그인 사용자는 위치 격자) 단위로 결과를 로컬 캐시
+ * - 상품 색인 반영 이벤트(ItemIndexAppliedEvent)로 관련 캐시 무효화, 나머지는 TTL 로 만료
+ */
+@Slf4j
+@Service
+public class ItemSuggestService {
+
+    private static final List<String> SUGGEST_FIELDS = List.of("id", "title", "price", "imageUrl");
+    private static final int MAX_PREFIX_LENGTH = 50;
+
+    private final ElasticsearchClient es;
+    private final int size;
+    private final double geoCellDeg;
+
+    private final Cache<String, List<ItemSuggestDto>> cache;
+    /** 상품 id → 해당 상품이 포함된 캐시 키 (상품 변경 시 정확히 무효화) */
+    private final Map<Long, Set<String>> keysByItem = new ConcurrentHashMap<>();
+
+    public ItemSuggestService(ElasticsearchClient es,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.search.suggest.size:10}") int size,
+                              @Value("${app.search.suggest.cache-size:10000}") long cacheSize,
+                              @Value("${app.search.suggest.cache-ttl-seconds:60}") long cacheTtlSeconds,
+                              @Value("${app.search.suggest.geo-cell-deg:0.01}") double geoCellDeg) {
+        this.es = es;
+        this.size = size;
+        this.geoCellDeg = geoCellDeg;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .executor(Runnable::run)          // 제거 리스너를 동기 실행 → 역색인과 캐시 일관성 유지
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "item.suggest");
+    }
+
+    /**
+     * ✨ 자동완성
+     * 로그인(위치 있음): 위치 격자 내 결과를 거리순
+     * 비로그인: 키워드만
+     */
+    public List<ItemSuggestDto> suggest(String keyword, Double userLat, Double userLon, String distance) throws IOException {
+        String prefix = normalize(keyword);
+        if (prefix.isEmpty()) return List.of();
+
+        boolean geo = userLat != null && userLon != null && distance != null;
+        long cellLat = geo ? (long) Math.floor(userLat / geoCellDeg) : 0;
+        long cellLon = geo ? (long) Math.floor(userLon / geoCellDeg) : 0;
+        String key = geo ? prefix + "@" + cellLat + ":" + cellLon + ":" + distance : prefix;
+
+        try {
+            // 같은 키에 대한 동시 요청은 한 번만 ES 조회
+            return cache.get(key, k -> {
+                List<ItemSuggestDto> result = geo
+                        ? query(prefix, (cellLat + 0.5) * geoCellDeg, (cellLon + 0.5) * geoCellDeg, distance)
+                        : query(prefix, null, null, null);
+                result.forEach(dto -> keysByItem.computeIfAbsent(dto.getId(), id -> ConcurrentHashMap.newKeySet()).add(k));
+                return result;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<ItemSuggestDto> query(String prefix, Double lat, Double lon, String distance) {
+        MultiMatchQuery suggestQuery = MultiMatchQuery.of(m -> m
+                .query(prefix)
+                .type(TextQueryType.BoolPrefix)
+                .fields("titleSuggest", "titleSuggest._2gram", "titleSuggest._3gram")
+        );
+
+        BoolQuery.Builder bool = new BoolQuery.Builder().must(Query.of(q -> q.multiMatch(suggestQuery)));
+        List<SortOptions> sort = new ArrayList<>();
+        if (lat != null && lon != null) {
+            bool.filter(Query.of(q -> q.geoDistance(g -> g
+                    .field("location")
+                    .distance(distance)
+                    .location(loc -> loc.latlon(ll -> ll.lat(lat).lon(lon)))
+            )));
+            sort.add(SortOptions.of(s -> s.geoDistance(g -> g
+                    .field("location")
+                    .location(l -> l.latlon(ll -> ll.lat(lat).lon(lon)))
+                    .unit(DistanceUnit.Kilometers)
+                    .order(SortOrder.Asc)
+            )));
+        }
+        sort.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
+
+        SearchRequest req = SearchRequest.of(s -> s
+                .index(ItemIndexManager.ALIAS)
+                .size(size)
+                .source(src -> src.filter(f -> f.includes(SUGGEST_FIELDS)))
+                .query(Query.of(q -> q.bool(bool.build())))
+                .sort(sort)
+        );
+
+        try {
+            return es.search(req, ItemDoc.class).hits().hits().stream()
+                    .map(Hit::source)
+                    .filter(Objects::nonNull)
+                    .filter(d -> d.getId() != null)
+                    .map(d -> new ItemSuggestDto(d.getId(), d.getTitle(), d.getPrice(), d.getImageUrl()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 색인 반영 완료 → 해당 상품이 포함된 키 + 새 제목에 걸릴 수 있는 키 무효화 */
+    @EventListener
+    public void onItemIndexApplied(ItemIndexAppliedEvent event) {
+        Set<String> stale = new HashSet<>();
+        event.getDeletedIds().forEach(id -> stale.addAll(keysByItem.getOrDefault(id, Set.of())));
+        event.getIndexedTitles().keySet().forEach(id -> stale.addAll(keysByItem.getOrDefault(id, Set.of())));
+
+        // 새로 검색될 수 있는 상품 → prefix 토큰이 새 제목에 포함되는 키
+        List<String> titles = event.getIndexedTitles().values().stream()
+                .filter(Objects::nonNull)
+                .map(this::normalize)
+                .toList();
+        if (!titles.isEmpty()) {
+            for (String key : cache.asMap().keySet()) {
+                String prefix = prefixOf(key);
+                for (String title : titles) {
+                    if (mayMatch(prefix, title)) {
+                        stale.add(key);
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            cache.invalidateAll(stale);
+            log.debug("[SUGGEST] 캐시 무효화 {}건", stale.size());
+        }
+    }
+
+    private void onRemoval(String key, List<ItemSuggestDto> value, RemovalCause cause) {
+        if (key == null || value == null) return;
+        for (ItemSuggestDto dto : value) {
+            keysByItem.computeIfPresent(dto.getId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /** 보수적 판정: prefix 의 어느 한 토큰이라도 제목에 포함되면 영향 가능 */
+    private boolean mayMatch(String prefix, String title) {
+        for (String token : prefix.split(" ")) {
+            if (!token.isEmpty() && title.contains(token)) return true;
+        }
+        return false;
+    }
+
+    private String prefixOf(String key) {
+        int at = key.indexOf('@');
+        return at < 0 ? key : key.substring(0, at);
+    }
+
+    private String normalize(String keyword) {
+        if (keyword == null) return "";
+        String s = Normalizer.normalize(keyword, Normalizer.Form.NFC)
+                .trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ");
+        return s.length() > MAX_PREFIX_LENGTH ? s.substring(0, MAX_PREFIX_LENGTH) : s;
+    }
+}
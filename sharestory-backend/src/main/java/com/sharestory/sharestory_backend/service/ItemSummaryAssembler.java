@@ -0,0 +1,63 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.Item;
+import com.sharestory.sharestory_backend.dto.ItemSummaryDto;
+import com.sharestory.sharestory_backend.repo.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 목록 카드(ItemSummaryDto) 변환
+ * - 안전거래 여부를 상품마다 exists 쿼리로 확인하지 않고 목록 단위 1회 조회
+ * - 호출 측 트랜잭션 안에서 사용 (대표 이미지 없을 때 images 지연 로딩)
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSummaryAssembler {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final OrderRepository orderRepository;
+
+    public List<ItemSummaryDto> toSummaries(List<Item> items) {
+        if (items.isEmpty()) return List.of();
+
+        Set<Long> withOrder = new HashSet<>(orderRepository.findItemIdsWithOrder(
+                items.stream().map(Item::getId).toList()));
+
+        return items.stream()
+                .map(item -> toSummary(item, withOrder.contains(item.getId())))
+                .toList();
+    }
+
+    public ItemSummaryDto toSummary(Item item, boolean hasSafeOrder) {
+        // 대표 이미지 결정: item.imageUrl 우선, 없으면 연관 이미지 첫 장
+        String thumb = item.getImageUrl();
+        if ((thumb == null || thumb.isBlank()) && item.getImages() != null && !item.getImages().isEmpty()) {
+            thumb = item.getImages().get(0).getUrl();
+        }
+
+        return ItemSummaryDto.builder()
+                .id(item.getId())
+                .title(item.getTitle())
+                .price(item.getPrice())
+                .imageUrl(thumb)
+                .createdDate(item.getCreatedDate() != null ? item.getCreatedDate().format(ISO) : null)
+                .itemStatus(item.getStatus().name())
+                .favoriteCount(item.getFavoriteCount())
+                .viewCount(item.getViewCount())
+                .chatRoomCount(item.getChatRoomCount())
+                .latitude(item.getLatitude())
+                .longitude(item.getLongitude())
+                .modified(item.isModified())
+                .updatedDate(item.getUpdatedDate() != null ? item.getUpdatedDate().toString() : null)
+                .dealInfo(item.getDealInfo())
+                .hasSafeOrder(hasSafeOrder)
+                .build();
+    }
+}
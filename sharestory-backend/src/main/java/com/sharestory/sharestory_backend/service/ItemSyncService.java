@@ -1,39 +1,250 @@
 package com.sharestory.sharestory_backend.service;
 
 import com.sharestory.sharestory_backend.domain.Item;
+import com.sharestory.sharestory_backend.domain.ItemDoc;
 import com.sharestory.sharestory_backend.repo.ItemRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * DB → Elasticsearch 전체 재색인
+ * - 관리자 요청(/reindex) 또는 app.search.reindex.on-startup=true 일 때 기동 완료 후 별도 스레드에서 실행
+ *   → 재색인 중에도 서비스 가능, 평소 동기화는 outbox 가 담당하므로 기동 시 재구축은 기본 비활성
+ * - id 기준 keyset 페이징으로 batch-size 만큼만 메모리에 올림
+ * - 배치마다 _bulk 요청, 동시 요청 수는 parallelism 으로 제한
+ * - mode=alias : items_vN 신규 인덱스에 적재 후 alias 교체 (무중단)
+ *   mode=in-place : 현재 alias 가 가리키는 인덱스에 그대로 덮어쓰기
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-public class ItemSyncService implements ApplicationRunner {
+public class ItemSyncService {
 
     private final ItemRepository itemRepository;
     private final ItemSearchIndexer itemSearchIndexer;
+    private final ItemIndexManager indexManager;
+    private final TransactionTemplate readOnlyTx;
+    private final Executor bulkExecutor;
 
-    @Override
-    @Transactional(readOnly = true)
-    public void run(ApplicationArguments args) {
-        System.out.println("[SYNC] DB → Elasticsearch 초기 동기화 시작");
+    private final boolean onStartup;
+    private final String mode;
+    private final int batchSize;
+    private final int parallelism;
 
-        List<Item> allItems = itemRepository.findAll();
-        int success = 0;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong indexed = new AtomicLong();
+    private final Counter successCounter;
+    private final Counter failCounter;
+    private final Timer bulkTimer;
 
-        for (Item item : allItems) {
+    public ItemSyncService(ItemRepository itemRepository,
+                           ItemSearchIndexer itemSearchIndexer,
+                           ItemIndexManager indexManager,
+                           PlatformTransactionManager transactionManager,
+                           @Qualifier("searchBulkExecutor") Executor bulkExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.search.reindex.on-startup:false}") boolean onStartup,
+                           @Value("${app.search.reindex.mode:alias}") String mode,
+                           @Value("${app.search.reindex.batch-size:500}") int batchSize,
+                           @Value("${app.search.reindex.parallelism:2}") int parallelism) {
+        this.itemRepository = itemRepository;
+        this.itemSearchIndexer = itemSearchIndexer;
+        this.indexManager = indexManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.bulkExecutor = bulkExecutor;
+        this.onStartup = onStartup;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+
+        this.successCounter = meterRegistry.counter("search.reindex.docs", "result", "success");
+        this.failCounter = meterRegistry.counter("search.reindex.docs", "result", "failed");
+        this.bulkTimer = meterRegistry.timer("search.reindex.bulk");
+        meterRegistry.gauge("search.reindex.total", total);
+        meterRegistry.gauge("search.reindex.indexed", indexed);
+    }
+
+    @Async("itemSyncExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        if (!onStartup) {
+            log.info("[SYNC] 기동 시 재색인 비활성화 (app.search.reindex.on-startup=false)");
+            return;
+        }
+        try {
+            if ("in-place".equalsIgnoreCase(mode) && indexManager.aliasResolvable()) {
+                reindexInPlace();
+            } else {
+                rebuildWithAliasSwap();
+            }
+        } catch (Exception e) {
+            log.error("[SYNC] 기동 시 재색인 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /** 관리자 요청 등으로 백그라운드 무중단 재구축 시작 */
+    @Async("itemSyncExecutor")
+    public void rebuildAsync() {
+        try {
+            rebuildWithAliasSwap();
+        } catch (Exception e) {
+            log.error("[SYNC] 재구축 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /** 현재 alias 대상 인덱스에 그대로 덮어쓰기 */
+    public void reindexInPlace() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("[SYNC] 이미 재색인 진행 중 → 요청 무시");
+            return;
+        }
+        try {
+            load(ItemIndexManager.ALIAS, false);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 신규 버전 인덱스에 적재 후 alias 교체 (실패 시 신규 인덱스 폐기) */
+    public void rebuildWithAliasSwap() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("[SYNC] 이미 재색인 진행 중 → 요청 무시");
+            return;
+        }
+        String index = null;
+        try {
+            index = indexManager.beginBuild();
+            LoadResult result = load(index, true);
+
+            if (result.interrupted() || (result.indexed() == 0 && result.failed() > 0)) {
+                indexManager.abortBuild(index);
+                return;
+            }
+            indexManager.finishBuild(index);
+        } catch (IOException | RuntimeException e) {
+            if (index != null) indexManager.abortBuild(index);
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private LoadResult load(String index, boolean createOnly) {
+        log.info("[SYNC] DB → Elasticsearch 재색인 시작 (index={}, batchSize={}, parallelism={})",
+                index, batchSize, parallelism);
+
+        long startedAt = System.nanoTime();
+        total.set(itemRepository.countByStatusIn(ItemSearchIndexer.SEARCHABLE_STATUSES));
+        indexed.set(0);
+        long failedBefore = (long) failCounter.count();
+
+        Semaphore inFlight = new Semaphore(parallelism);
+        long lastId = 0L;
+
+        try {
+            while (true) {
+                final long cursor = lastId;
+                Batch batch = readOnlyTx.execute(status -> loadBatch(cursor));
+                if (batch == null || batch.lastId() == null) break;
+                lastId = batch.lastId();
+
+                inFlight.acquire();
+                try {
+                    bulkExecutor.execute(() -> {
+                        try {
+                            sendBatch(index, batch.docs(), createOnly);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+                logProgress(startedAt);
+            }
+
+            // 남은 bulk 요청 완료 대기
+            inFlight.acquire(parallelism);
+            inFlight.release(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[SYNC] 재색인 중단됨 (lastId={})", lastId);
+            return new LoadResult(indexed.get(), (long) failCounter.count() - failedBefore, true);
+        }
+
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        long failed = (long) failCounter.count() - failedBefore;
+        log.info("[SYNC] 완료: {}/{} 개 동기화, 실패 {} 개, {}s ({} docs/s)",
+                indexed.get(), total.get(), failed,
+                String.format("%.1f", seconds), String.format("%.0f", indexed.get() / Math.max(seconds, 0.001)));
+        return new LoadResult(indexed.get(), failed, false);
+    }
+
+    private Batch loadBatch(long lastId) {
+        // 검색 노출 상태만 (판매완료/안전거래 진행 중 상품은 증분 반영과 같이 색인하지 않음)
+        List<Item> items = itemRepository.findByIdGreaterThanAndStatusInOrderByIdAsc(
+                lastId, ItemSearchIndexer.SEARCHABLE_STATUSES, PageRequest.of(0, batchSize));
+        if (items.isEmpty()) return new Batch(null, List.of());
+
+        List<ItemDoc> docs = new ArrayList<>(items.size());
+        for (Item item : items) {
             try {
-                itemSearchIndexer.indexItem(item);
-                success++;
+                docs.add(itemSearchIndexer.toDoc(item));
             } catch (Exception e) {
-                System.err.println("[SYNC FAIL] id=" + item.getId() + " " + e.getMessage());
+                failCounter.increment();
+                log.warn("[SYNC FAIL] id={} 문서 변환 실패: {}", item.getId(), e.getMessage());
             }
         }
+        return new Batch(items.get(items.size() - 1).getId(), docs);
+    }
+
+    private void sendBatch(String index, List<ItemDoc> docs, boolean createOnly) {
+        if (docs.isEmpty()) return;
+        try {
+            int failed = bulkTimer.recordCallable(() -> itemSearchIndexer.bulkIndex(index, docs, createOnly));
+            successCounter.increment(docs.size() - failed);
+            failCounter.increment(failed);
+            indexed.addAndGet(docs.size() - failed);
+        } catch (Exception e) {
+            failCounter.increment(docs.size());
+            log.error("[SYNC FAIL] bulk 요청 실패 (ids {}~{}): {}",
+                    docs.get(0).getId(), docs.get(docs.size() - 1).getId(), e.getMessage());
+        }
+    }
 
-        System.out.printf("[SYNC] 완료: %d/%d 개 동기화%n", success, allItems.size());
+    private void logProgress(long startedAt) {
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        log.info("[SYNC] 진행: {}/{} ({} docs/s)",
+                indexed.get(), total.get(), String.format("%.0f", indexed.get() / Math.max(seconds, 0.001)));
     }
+
+    private record Batch(Long lastId, List<ItemDoc> docs) {}
+
+    private record LoadResult(long indexed, long failed, boolean interrupted) {}
 }
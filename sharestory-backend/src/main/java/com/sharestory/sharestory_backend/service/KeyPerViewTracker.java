@@ -0,0 +1,33 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 기존 방식: 조회마다 view:{scope}:{id}:{viewer} 키 1개 (TTL = window)
+ * - 정확하지만 조회자 수만큼 키/만료 처리 발생 → 비교 및 롤백용
+ */
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.backend", havingValue = "key")
+public class KeyPerViewTracker implements UniqueViewTracker {
+
+    private final StringRedisTemplate redis;
+    private final Duration window;
+
+    public KeyPerViewTracker(StringRedisTemplate redis,
+                             @Value("${app.views.dedup.window-seconds:10}") long windowSeconds) {
+        this.redis = redis;
+        this.window = Duration.ofSeconds(Math.max(1, windowSeconds));
+    }
+
+    @Override
+    public boolean firstView(String scope, Long targetId, String viewer) {
+        String key = "view:" + scope + ":" + targetId + ":" + viewer;
+        // SET NX EX → 확인과 기록을 한 번에
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(key, "1", window));
+    }
+}
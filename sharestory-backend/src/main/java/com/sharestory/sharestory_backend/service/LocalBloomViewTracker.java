@@ -0,0 +1,94 @@
+package com.sharestory.sharestory_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 인스턴스 메모리 Bloom filter (단일 노드 배포용, Redis 왕복 없음)
+ * - 창마다 새 필터로 교체, 직전 창 필터까지 확인 → 중복 제거 구간 window ~ 2·window
+ * - 메모리 = 필터 2개 (expected-views, fpp 로 크기 결정)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.backend", havingValue = "local-bloom")
+public class LocalBloomViewTracker implements UniqueViewTracker {
+
+    private final long windowMs;
+    private final long bits;
+    private final int hashes;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public LocalBloomViewTracker(@Value("${app.views.dedup.window-seconds:10}") long windowSeconds,
+                                 @Value("${app.views.dedup.expected-views:1000000}") long expectedViews,
+                                 @Value("${app.views.dedup.fpp:0.01}") double fpp) {
+        this.windowMs = Math.max(1, windowSeconds) * 1000;
+        // AtomicLongArray 길이(int) 한도
+        this.bits = Math.min(BloomHash.optimalBits(expectedViews, fpp), (long) Integer.MAX_VALUE * 64);
+        this.hashes = BloomHash.optimalHashes(expectedViews, bits);
+
+        long now = System.currentTimeMillis();
+        this.current = new Generation(now / windowMs, bits);
+        this.previous = new Generation(now / windowMs - 1, bits);
+        log.info("[VIEWS] 로컬 Bloom dedup: {} bits ({} KB x 2), k={}", bits, bits / 8 / 1024, hashes);
+    }
+
+    @Override
+    public boolean firstView(String scope, Long targetId, String viewer) {
+        Generation cur = rotate();
+        Generation prev = previous;
+        long[] positions = BloomHash.positions(scope + ":" + targetId + ":" + viewer, hashes, bits);
+
+        boolean seen = cur.contains(positions) || (prev.window == cur.window - 1 && prev.contains(positions));
+        cur.add(positions);
+        return !seen;
+    }
+
+    private Generation rotate() {
+        long window = System.currentTimeMillis() / windowMs;
+        Generation cur = current;
+        if (cur.window >= window) return cur;
+
+        synchronized (this) {
+            cur = current;
+            if (cur.window < window) {
+                previous = cur;
+                current = cur = new Generation(window, bits);
+            }
+            return cur;
+        }
+    }
+
+    private static final class Generation {
+        private final long window;
+        private final AtomicLongArray words;
+
+        Generation(long window, long bits) {
+            this.window = window;
+            this.words = new AtomicLongArray((int) ((bits + 63) >>> 6));
+        }
+
+        boolean contains(long[] positions) {
+            for (long p : positions) {
+                if ((words.get((int) (p >>> 6)) & (1L << (p & 63))) == 0) return false;
+            }
+            return true;
+        }
+
+        void add(long[] positions) {
+            for (long p : positions) {
+                int i = (int) (p >>> 6);
+                long mask = 1L << (p & 63);
+                long word;
+                while (((word = words.get(i)) & mask) == 0 && !words.compareAndSet(i, word, word | mask)) {
+                    // CAS 재시도
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sharestory.sharestory_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 로컬 스텁: 실제 FCM 호출 없이 성공 처리 (디스패처 배치/지표 확인용)
+ * - "invalid:" 로 시작하는 토큰은 무효 토큰 응답 → 무효 토큰 정리 경로 확인용
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.fcm.gateway", havingValue = "log")
+public class LoggingFcmGateway implements FcmGateway {
+
+    public static final String INVALID_PREFIX = "invalid:";
+    private static final Result INVALID = new Result(false, true, "UNREGISTERED");
+
+    @Override
+    public List<Result> sendEach(List<Push> pushes) {
+        log.debug("[FCM STUB] sendEach {}건", pushes.size());
+        return pushes.stream().map(p -> result(p.token())).toList();
+    }
+
+    @Override
+    public List<Result> sendMulticast(Payload payload, List<String> tokens) {
+        log.debug("[FCM STUB] multicast {}건 → {}", tokens.size(), payload.title());
+        return tokens.stream().map(LoggingFcmGateway::result).toList();
+    }
+
+    private static Result result(String token) {
+        return token.startsWith(INVALID_PREFIX) ? INVALID : Result.OK;
+    }
+}
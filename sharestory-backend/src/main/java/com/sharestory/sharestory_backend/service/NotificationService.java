@@ -1,30 +1,44 @@
 package com.sharestory.sharestory_backend.service;
 
-import com.sharestory.sharestory_backend.domain.FcmToken;
 import com.sharestory.sharestory_backend.domain.Notification;
 import com.sharestory.sharestory_backend.domain.User;
-import com.sharestory.sharestory_backend.repo.FcmTokenRepository;
 import com.sharestory.sharestory_backend.repo.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final String BULK_INSERT_PREFIX =
+            "INSERT INTO notifications (user_id, type, message, reference_id, is_read, created_at) VALUES ";
+    private static final String BULK_ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final int BULK_CHUNK = 500;
+
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final FcmTokenRepository fcmTokenRepository;
     private final FcmService fcmService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Async
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -61,21 +75,74 @@ public class NotificationService {
                     user.getId(), user.getId());
 
 
-            // 3️⃣ FCM 푸시 전송
-            Optional<FcmToken> optionalToken = fcmTokenRepository.findByUserId(user.getId());
-            if (optionalToken.isPresent()) {
-                String token = optionalToken.get().getToken();
-                fcmService.sendNotification(token, "ShareStory 알림", message);
-                log.info("📱 [NotificationService] FCM 알림 전송 완료 → token={}", token);
-            } else {
-                log.warn("⚠️ [NotificationService] FCM 토큰이 존재하지 않아 푸시 생략 → userId={}", user.getId());
-            }
+            // 3️⃣ FCM 푸시 전송 (토큰 조회/전송은 디스패처에서 묶어서 처리)
+            fcmService.sendNotificationToUser(user.getId(), "ShareStory 알림", message);
 
         } catch (Exception e) {
             log.error("❌ [NotificationService] 알림 처리 실패: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * 📦 같은 알림을 여러 사용자에게 (경매 정산 환불 등)
+     * - DB 저장은 multi-row INSERT 1회, STOMP 는 사용자별, FCM 은 디스패처가 토큰 일괄 조회 후 묶어서 전송
+     */
+    @Async
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void sendBulkNotification(List<Long> userIds, String type, String message, Long referenceId) {
+        if (userIds.isEmpty()) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = new ArrayList<>(userIds.size());
+            for (int from = 0; from < userIds.size(); from += BULK_CHUNK) {
+                ids.addAll(insertNotifications(userIds.subList(from, Math.min(from + BULK_CHUNK, userIds.size())),
+                        type, message, referenceId, now));
+            }
+            log.info("✅ [NotificationService] 알림 일괄 저장 완료 → type={}, refId={}, {}건", type, referenceId, ids.size());
+
+            for (int i = 0; i < userIds.size(); i++) {
+                Long userId = userIds.get(i);
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("id", ids.get(i));
+                payload.put("type", type);
+                payload.put("message", message);
+                payload.put("referenceId", referenceId);
+                payload.put("createdAt", now.toString());
+                messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/notifications", payload);
+                fcmService.sendNotificationToUser(userId, "ShareStory 알림", message);
+            }
+        } catch (Exception e) {
+            log.error("❌ [NotificationService] 알림 일괄 처리 실패 (type={}, refId={}): {}", type, referenceId, e.getMessage(), e);
+        }
+    }
+
+    /** multi-row INSERT 1회, 생성된 id 를 순서대로 반환 */
+    private List<Long> insertNotifications(List<Long> userIds, String type, String message, Long referenceId,
+                                           LocalDateTime now) {
+        String sql = BULK_INSERT_PREFIX + String.join(", ", Collections.nCopies(userIds.size(), BULK_ROW));
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int i = 1;
+            for (Long userId : userIds) {
+                ps.setLong(i++, userId);
+                ps.setString(i++, type);
+                ps.setString(i++, message);
+                if (referenceId != null) ps.setLong(i++, referenceId);
+                else ps.setNull(i++, Types.BIGINT);
+                ps.setBoolean(i++, false);
+                ps.setTimestamp(i++, Timestamp.valueOf(now));
+            }
+            return ps;
+        }, keys);
+
+        List<Map<String, Object>> rows = keys.getKeyList();
+        if (rows.size() != userIds.size()) {
+            throw new IllegalStateException("생성된 알림 id 수 불일치: " + rows.size() + " / " + userIds.size());
+        }
+        return rows.stream().map(r -> ((Number) r.values().iterator().next()).longValue()).toList();
+    }
+
     @Transactional
     public void markAsRead(Long id) {
         Notification noti = notificationRepository.findById(id)
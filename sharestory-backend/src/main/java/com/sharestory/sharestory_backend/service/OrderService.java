@@ -26,7 +26,7 @@ public class OrderService {
     private final NotificationTemplateService notificationTemplateService;
     private final ChatService chatService;
     private final ApplicationEventPublisher eventPublisher;
-    private final ItemSearchIndexer itemSearchIndexer;
+    private final SearchIndexOutboxService searchIndexOutbox;
 
     @Transactional
     public void createSafeOrder(Long itemId, Long buyerId, DeliveryInfo deliveryInfo) {
@@ -76,12 +76,8 @@ public class OrderService {
         orderRepository.save(order);
         log.info("📦 주문 생성 완료 → orderId={}, status={}", order.getId(), order.getStatus());
 
-        try {
-            itemSearchIndexer.deleteItem(item.getId());
-            log.info("🧹 [Elasticsearch] 안전거래 결제 상품 인덱스에서 제거 완료 → itemId={}", item.getId());
-        } catch (Exception e) {
-            log.warn("⚠️ [Elasticsearch] 인덱스 제거 실패 (itemId={}): {}", item.getId(), e.getMessage());
-        }
+        // 검색 인덱스 제거 (커밋 후 아웃박스 워커가 처리)
+        searchIndexOutbox.enqueueDelete(item.getId());
 
         // ✅ 아이템 상태 동기화
         item.setBuyerId(buyer.getId());
@@ -0,0 +1,79 @@
+package com.sharestory.sharestory_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 창 단위 Redis 비트맵 Bloom filter (RedisBloom 모듈 불필요)
+ * - 키: uv:bloom:{창 번호} 하나에 모든 (scope, 대상, 조회자) 를 기록 → 메모리는 조회 수와 무관하게 고정
+ * - 현재 창 + 직전 창을 함께 확인 → 실제 중복 제거 구간은 window ~ 2·window
+ * - 오탐(fpp) 만큼 새 조회가 중복으로 판정될 수 있음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.backend", havingValue = "redis-bloom")
+public class RedisBloomViewTracker implements UniqueViewTracker {
+
+    /** KEYS: 현재 창, 직전 창 / ARGV: TTL, 비트 위치... → 이미 있으면 0, 새로 추가하면 1 */
+    private static final RedisScript<Long> BLOOM_SCRIPT = new DefaultRedisScript<>("""
+            local seen = 1
+            for i = 2, #ARGV do
+                if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then seen = 0 break end
+            end
+            if seen == 0 then
+                seen = 1
+                for i = 2, #ARGV do
+                    if redis.call('GETBIT', KEYS[2], ARGV[i]) == 0 then seen = 0 break end
+                end
+            end
+            for i = 2, #ARGV do redis.call('SETBIT', KEYS[1], ARGV[i], 1) end
+            if redis.call('TTL', KEYS[1]) < 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end
+            if seen == 1 then return 0 end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final long windowSeconds;
+    private final long bits;
+    private final int hashes;
+
+    public RedisBloomViewTracker(StringRedisTemplate redis,
+                                 @Value("${app.views.dedup.window-seconds:10}") long windowSeconds,
+                                 @Value("${app.views.dedup.expected-views:1000000}") long expectedViews,
+                                 @Value("${app.views.dedup.fpp:0.01}") double fpp) {
+        this.redis = redis;
+        this.windowSeconds = Math.max(1, windowSeconds);
+        // Redis 비트맵 상한 2^32 bit
+        this.bits = Math.min(BloomHash.optimalBits(expectedViews, fpp), 1L << 32);
+        this.hashes = BloomHash.optimalHashes(expectedViews, bits);
+        log.info("[VIEWS] Redis Bloom dedup: {} bits ({} KB/창), k={}", bits, bits / 8 / 1024, hashes);
+    }
+
+    @Override
+    public boolean firstView(String scope, Long targetId, String viewer) {
+        long window = System.currentTimeMillis() / 1000 / windowSeconds;
+        long[] positions = BloomHash.positions(scope + ":" + targetId + ":" + viewer, hashes, bits);
+
+        List<String> args = new ArrayList<>(positions.length + 1);
+        args.add(String.valueOf(windowSeconds * 2));
+        for (long p : positions) args.add(String.valueOf(p));
+
+        try {
+            Long added = redis.execute(BLOOM_SCRIPT, List.of("uv:bloom:" + window, "uv:bloom:" + (window - 1)),
+                    args.toArray());
+            return added == null || added == 1L;
+        } catch (DataAccessException e) {
+            log.debug("[VIEWS] 중복 확인 실패 → 조회로 집계: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.sharestory.sharestory_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 대상(상품/게시글) · 창 단위 HyperLogLog
+ * - 키: uv:{scope:id}:{창 번호}, 조회자는 PFADD 로만 추가 (조회자별 키 없음)
+ * - 조회자별 판정: 현재 창 PFADD 가 0 이면 이미 본 조회자, 1 이면 직전 창에도 PFADD 해서 0 이면 이미 본 조회자
+ *   (직전 창에 추가되는 조회자는 현재 창에도 있으므로 이후 판정에 영향 없음, 직전 창 키가 없으면 만들지 않음)
+ * - 현재 창 + 직전 창을 함께 확인 → 실제 중복 제거 구간은 window ~ 2·window (redis-bloom 과 동일)
+ * - 레지스터 충돌로 새 조회자가 중복으로 판정될 수 있음
+ * - 대상당 최대 12KB × 2창 (소수 조회자일 때는 sparse 표현으로 수백 바이트)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.views.dedup.backend", havingValue = "redis-hll", matchIfMissing = true)
+public class RedisHllViewTracker implements UniqueViewTracker {
+
+    // KEYS: 현재 창 HLL, 직전 창 HLL / ARGV: 조회자, TTL → 새 조회면 1
+    private static final RedisScript<Long> FIRST_VIEW_SCRIPT = new DefaultRedisScript<>("""
+            local added = redis.call('PFADD', KEYS[1], ARGV[1])
+            if redis.call('TTL', KEYS[1]) < 0 then
+                redis.call('EXPIRE', KEYS[1], ARGV[2])
+            end
+            if added == 0 then return 0 end
+            if redis.call('EXISTS', KEYS[2]) == 1 and redis.call('PFADD', KEYS[2], ARGV[1]) == 0 then
+                return 0
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final long windowSeconds;
+
+    public RedisHllViewTracker(StringRedisTemplate redis,
+                               @Value("${app.views.dedup.window-seconds:10}") long windowSeconds) {
+        this.redis = redis;
+        this.windowSeconds = Math.max(1, windowSeconds);
+    }
+
+    @Override
+    public boolean firstView(String scope, Long targetId, String viewer) {
+        long window = System.currentTimeMillis() / 1000 / windowSeconds;
+        String prefix = "uv:{" + scope + ":" + targetId + "}:";
+        try {
+            Long added = redis.execute(FIRST_VIEW_SCRIPT, List.of(prefix + window, prefix + (window - 1)),
+                    viewer, String.valueOf(windowSeconds * 2 + 1));
+            return added == null || added == 1L;
+        } catch (DataAccessException e) {
+            log.debug("[VIEWS] 중복 확인 실패 → 조회로 집계: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.SearchIndexOutbox;
+import com.sharestory.sharestory_backend.event.ItemIndexEvent;
+import com.sharestory.sharestory_backend.repo.SearchIndexOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 인덱스 변경 요청을 아웃박스에 기록
+ * - 호출한 트랜잭션과 함께 커밋/롤백 → 롤백 시 ES 에도 반영되지 않음
+ * - 실제 ES 반영은 커밋 이후 SearchIndexOutboxWorker 가 처리
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchIndexOutboxService {
+
+    private final SearchIndexOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void enqueueIndex(Long itemId) {
+        enqueue(itemId, SearchIndexOutbox.Op.INDEX);
+    }
+
+    @Transactional
+    public void enqueueDelete(Long itemId) {
+        enqueue(itemId, SearchIndexOutbox.Op.DELETE);
+    }
+
+    private void enqueue(Long itemId, SearchIndexOutbox.Op op) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(SearchIndexOutbox.builder()
+                .itemId(itemId)
+                .op(op)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+
+        // 커밋 후 워커 깨우기 (SearchIndexOutboxWorker)
+        eventPublisher.publishEvent(new ItemIndexEvent(itemId, op));
+    }
+}
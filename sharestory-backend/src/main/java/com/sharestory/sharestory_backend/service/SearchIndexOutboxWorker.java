@@ -0,0 +1,237 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.Item;
+import com.sharestory.sharestory_backend.domain.ItemDoc;
+import com.sharestory.sharestory_backend.domain.SearchIndexOutbox;
+import com.sharestory.sharestory_backend.event.ItemIndexAppliedEvent;
+import com.sharestory.sharestory_backend.event.ItemIndexEvent;
+import com.sharestory.sharestory_backend.repo.ItemRepository;
+import com.sharestory.sharestory_backend.repo.SearchIndexOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 인덱스 아웃박스 처리기
+ * - 커밋 직후(ItemIndexEvent) 또는 주기적 sweep 으로 깨어나 대기 이벤트를 배치 단위로 처리
+ * - 같은 상품에 대한 이벤트는 하나로 합쳐(coalescing) 한 번의 _bulk 로 전송
+ * - 색인/삭제는 이벤트의 op 가 아니라 처리 시점의 DB 상태로 결정
+ *   (INDEX 이벤트 뒤에 판매완료/삭제가 커밋됐으면 삭제, 판매중/예약중이면 색인)
+ * - 실패한 상품은 지수 backoff 로 재시도
+ */
+@Slf4j
+@Component
+public class SearchIndexOutboxWorker {
+
+    private final SearchIndexOutboxRepository outboxRepository;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndexer itemSearchIndexer;
+    private final TransactionTemplate readOnlyTx;
+    private final Executor outboxExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int batchSize;
+    private final long maxBackoffSeconds;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Counter appliedCounter;
+    private final Counter retryCounter;
+    private final Timer bulkTimer;
+
+    public SearchIndexOutboxWorker(SearchIndexOutboxRepository outboxRepository,
+                                   ItemRepository itemRepository,
+                                   ItemSearchIndexer itemSearchIndexer,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("searchOutboxExecutor") Executor outboxExecutor,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.search.outbox.batch-size:200}") int batchSize,
+                                   @Value("${app.search.outbox.max-backoff-seconds:300}") long maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.itemRepository = itemRepository;
+        this.itemSearchIndexer = itemSearchIndexer;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.outboxExecutor = outboxExecutor;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+
+        this.appliedCounter = meterRegistry.counter("search.outbox.applied");
+        this.retryCounter = meterRegistry.counter("search.outbox.retried");
+        this.bulkTimer = meterRegistry.timer("search.outbox.bulk");
+        meterRegistry.gauge("search.outbox.lag.seconds", lagSeconds);
+        meterRegistry.gauge("search.outbox.pending", pendingCount);
+    }
+
+    /** ✅ 상품 변경 트랜잭션 커밋 이후 즉시 처리 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemIndexEvent(ItemIndexEvent event) {
+        requestDrain();
+    }
+
+    /** 재시도 대상 / 다른 인스턴스가 남긴 이벤트 / 유실된 트리거 보완 */
+    @Scheduled(fixedDelayString = "${app.search.outbox.poll-interval-ms:5000}")
+    public void sweep() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            lagSeconds.set(outboxRepository.findTopByOrderByIdAsc()
+                    .map(o -> Math.max(0, Duration.between(o.getCreatedAt(), now).toSeconds()))
+                    .orElse(0L));
+            pendingCount.set(outboxRepository.count());
+        } catch (Exception e) {
+            log.warn("[OUTBOX] lag 측정 실패: {}", e.getMessage());
+        }
+        requestDrain();
+    }
+
+    private void requestDrain() {
+        pending.set(true);
+        if (!draining.compareAndSet(false, true)) return; // 이미 처리 중 → 루프가 pending 을 확인
+
+        try {
+            outboxExecutor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (pending.getAndSet(false)) {
+                while (drainOnce()) {
+                    // 배치가 가득 찼으면 이어서 처리
+                }
+            }
+        } catch (Exception e) {
+            log.error("[OUTBOX] 처리 중 오류 → 다음 sweep 에서 재시도: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+            // 종료 직전에 들어온 요청이 있으면 다시 시작
+            if (pending.get()) requestDrain();
+        }
+    }
+
+    /** @return 처리할 이벤트가 더 남아 있을 수 있으면 true */
+    private boolean drainOnce() {
+        List<SearchIndexOutbox> rows = outboxRepository.findByNextAttemptAtLessThanEqualOrderByIdAsc(
+                LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) return false;
+
+        // 같은 상품의 여러 이벤트 → 한 번만 반영
+        Map<Long, List<SearchIndexOutbox>> rowsByItem = new LinkedHashMap<>();
+        for (SearchIndexOutbox row : rows) {
+            rowsByItem.computeIfAbsent(row.getItemId(), k -> new ArrayList<>()).add(row);
+        }
+        Set<Long> latest = rowsByItem.keySet();
+
+        Set<Long> deleteIds = new HashSet<>();
+        Set<Long> failed = new HashSet<>();
+        List<ItemDoc> docs = readOnlyTx.execute(status -> loadDocs(latest, deleteIds, failed));
+
+        try {
+            failed.addAll(bulkTimer.recordCallable(() -> itemSearchIndexer.bulkApply(docs, deleteIds)));
+        } catch (Exception e) {
+            log.warn("[OUTBOX] bulk 요청 실패 ({}건) → 재시도 예약: {}", latest.size(), e.getMessage());
+            failed.addAll(latest);
+        }
+
+        List<Long> doneIds = new ArrayList<>();
+        List<SearchIndexOutbox> retry = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        rowsByItem.forEach((itemId, itemRows) -> {
+            if (!failed.contains(itemId)) {
+                itemRows.forEach(r -> doneIds.add(r.getId()));
+                return;
+            }
+            for (SearchIndexOutbox r : itemRows) {
+                r.setAttempts(r.getAttempts() + 1);
+                r.setNextAttemptAt(now.plusSeconds(backoffSeconds(r.getAttempts())));
+                retry.add(r);
+            }
+        });
+
+        if (!doneIds.isEmpty()) outboxRepository.deleteAllByIdInBatch(doneIds);
+        if (!retry.isEmpty()) outboxRepository.saveAll(retry);
+
+        publishApplied(docs, deleteIds, failed);
+
+        appliedCounter.increment(latest.size() - failed.size());
+        retryCounter.increment(failed.size());
+        log.debug("[OUTBOX] 이벤트 {}건 → 상품 {}건 반영, 실패 {}건", rows.size(), latest.size(), failed.size());
+
+        return rows.size() == batchSize;
+    }
+
+    /** 현재 DB 상태 기준으로 색인 문서 로드, 사라졌거나 검색 대상이 아닌 상품은 deleteIds 로 */
+    private List<ItemDoc> loadDocs(Set<Long> itemIds, Set<Long> deleteIds, Set<Long> failed) {
+        Map<Long, Item> items = new HashMap<>();
+        for (Item item : itemRepository.findAllById(itemIds)) {
+            items.put(item.getId(), item);
+        }
+
+        List<ItemDoc> docs = new ArrayList<>(items.size());
+        for (Long id : itemIds) {
+            Item item = items.get(id);
+            if (item == null || !isSearchable(item)) {
+                deleteIds.add(id);
+                continue;
+            }
+            try {
+                docs.add(itemSearchIndexer.toDoc(item));
+            } catch (Exception e) {
+                failed.add(id);
+                log.warn("[OUTBOX] 문서 변환 실패 id={}: {}", id, e.getMessage());
+            }
+        }
+        return docs;
+    }
+
+    /** 검색 노출 대상 (판매중 / 예약중, 판매완료·안전거래 진행 중은 제외) */
+    private static boolean isSearchable(Item item) {
+        return ItemSearchIndexer.SEARCHABLE_STATUSES.contains(item.getStatus());
+    }
+
+    /** 반영 완료된 변경 알림 → 자동완성 캐시 등 무효화 */
+    private void publishApplied(List<ItemDoc> docs, Set<Long> deleteIds, Set<Long> failed) {
+        Map<Long, String> indexedTitles = new HashMap<>();
+        for (ItemDoc doc : docs) {
+            if (!failed.contains(doc.getId())) indexedTitles.put(doc.getId(), doc.getTitle());
+        }
+        Set<Long> deleted = new HashSet<>(deleteIds);
+        deleted.removeAll(failed);
+
+        if (indexedTitles.isEmpty() && deleted.isEmpty()) return;
+        try {
+            eventPublisher.publishEvent(new ItemIndexAppliedEvent(indexedTitles, deleted));
+        } catch (Exception e) {
+            log.warn("[OUTBOX] 반영 이벤트 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    private long backoffSeconds(int attempts) {
+        return Math.min(maxBackoffSeconds, 1L << Math.min(attempts, 20));
+    }
+}
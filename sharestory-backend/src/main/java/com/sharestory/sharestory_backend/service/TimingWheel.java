@@ -0,0 +1,147 @@
+package com.sharestory.sharestory_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠 (스레드 안전, 단일 드라이버 스레드가 advance 호출)
+ * - level L 의 한 칸 = tickMs × wheelSize^L, 등록/취소 O(1)
+ * - 상위 level 칸에 도달하면 그 칸의 항목을 하위 level 로 다시 배치 (cascade)
+ * - 최상위 범위를 넘는 항목은 최상위 칸에 두고 cascade 때 다시 배치
+ */
+public final class TimingWheel<T> {
+
+    /** 등록 항목 (cancel 로 취소, 만료 시 advance 결과로 반환) */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadlineMs;
+        private volatile boolean cancelled;
+
+        private Timeout(T task, long deadlineMs) {
+            this.task = task;
+            this.deadlineMs = deadlineMs;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        public long deadlineMs() {
+            return deadlineMs;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final List<Timeout<T>>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slots = new List[levels][wheelSize];
+        for (int l = 0; l < levels; l++) {
+            for (int s = 0; s < wheelSize; s++) slots[l][s] = new ArrayList<>();
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /** 등록 (이미 지난 시각이면 다음 tick 에 만료) */
+    public synchronized Timeout<T> schedule(T task, long deadlineMs) {
+        Timeout<T> timeout = new Timeout<>(task, deadlineMs);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /** nowMs 까지 시계를 진행하고 만료된(취소되지 않은) 항목 반환 */
+    public synchronized List<Timeout<T>> advance(long nowMs) {
+        List<Timeout<T>> expired = new ArrayList<>();
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            List<Timeout<T>> slot = slots[0][(int) (currentTick % wheelSize)];
+            if (slot.isEmpty()) continue;
+            List<Timeout<T>> due = new ArrayList<>(slot);
+            slot.clear();
+            for (Timeout<T> t : due) {
+                if (t.isCancelled()) {
+                    size--;
+                } else if (t.deadlineMs / tickMs <= currentTick) {
+                    size--;
+                    expired.add(t);
+                } else {
+                    place(t);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /** 대기 중인 항목 수 (취소됐지만 아직 칸에 남은 항목 포함) */
+    public synchronized int size() {
+        return size;
+    }
+
+    /** 하위 level 이 한 바퀴 돌 때마다 상위 level 의 현재 칸을 다시 배치 (상위부터) */
+    private void cascade() {
+        long span = 1;
+        int top = 0;
+        for (int l = 1; l < levels; l++) {
+            span *= wheelSize;
+            if (currentTick % span != 0) break;
+            top = l;
+        }
+        for (int l = top; l >= 1; l--) {
+            long levelTick = pow(l);
+            List<Timeout<T>> slot = slots[l][(int) ((currentTick / levelTick) % wheelSize)];
+            if (slot.isEmpty()) continue;
+            List<Timeout<T>> moved = new ArrayList<>(slot);
+            slot.clear();
+            for (Timeout<T> t : moved) {
+                if (t.isCancelled()) {
+                    size--;
+                } else if (t.deadlineMs / tickMs <= currentTick) {
+                    // 마감 tick 이 칸 경계와 겹침 → 이번 tick 에 처리할 level 0 칸으로 (place 는 다음 tick 이후로만 배치)
+                    slots[0][(int) (currentTick % wheelSize)].add(t);
+                } else {
+                    place(t);
+                }
+            }
+        }
+    }
+
+    private void place(Timeout<T> t) {
+        long deadlineTick = Math.max(t.deadlineMs / tickMs, currentTick + 1);
+        long delta = deadlineTick - currentTick;
+        for (int l = 0; l < levels; l++) {
+            long levelTick = pow(l);
+            if (delta < levelTick * wheelSize || l == levels - 1) {
+                // 현재 칸(이미 지난 칸)에 들어가지 않도록 level 단위로 최소 한 칸 뒤
+                long slotTick = Math.max(deadlineTick / levelTick, currentTick / levelTick + 1);
+                slots[l][(int) (slotTick % wheelSize)].add(t);
+                return;
+            }
+        }
+    }
+
+    private long pow(int level) {
+        long v = 1;
+        for (int i = 0; i < level; i++) v *= wheelSize;
+        return v;
+    }
+}
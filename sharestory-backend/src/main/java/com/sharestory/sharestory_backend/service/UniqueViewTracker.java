@@ -0,0 +1,23 @@
+package com.sharestory.sharestory_backend.service;
+
+/**
+ * 조회수 중복 제거 (같은 사용자/IP 가 dedup 창 안에서 다시 본 경우 제외)
+ * - app.views.dedup.backend 로 구현 선택
+ *   redis-hll   : 대상·창 단위 HyperLogLog (현재+직전 창 PFADD 반환값으로 조회자별 판정)
+ *   redis-bloom : 창 단위 Redis 비트맵 Bloom filter (메모리 고정)
+ *   local-bloom : 인스턴스 메모리 Bloom filter (단일 노드용)
+ *   key         : 조회마다 TTL 키 1개 (기존 방식)
+ */
+public interface UniqueViewTracker {
+
+    /**
+     * @param scope  "item" / "post"
+     * @param viewer "user:{id}" 또는 "ip:{addr}"
+     * @return 창 안에서 처음 본 조회면 true (조회수 증가 대상)
+     */
+    boolean firstView(String scope, Long targetId, String viewer);
+
+    static String viewer(Long userId, String ipAddress) {
+        return (userId != null && userId > 0) ? "user:" + userId : "ip:" + ipAddress;
+    }
+}
@@ -0,0 +1,205 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.repo.CommunityPostRepository;
+import com.sharestory.sharestory_backend.repo.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회수 write-behind 버퍼
+ * - 조회 시 DB UPDATE 대신 Redis 해시(views:pending:{target})에 HINCRBY
+ * - flush-interval 마다 pending → flushing 으로 옮긴 뒤, 같은 증가량끼리 묶어 IN 절 UPDATE 로 반영
+ * - flush 도중 실패하면 flushing 해시가 남아 다음 주기에 먼저 처리됨
+ * - 상세 조회 시 아직 반영되지 않은 증가분(pending + flushing)을 더해 응답
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    public enum Target {
+        ITEM("item"), POST("post");
+
+        private final String name;
+        private final String pendingKey;
+        private final String flushingKey;
+
+        Target(String name) {
+            this.name = name;
+            this.pendingKey = "views:pending:" + name;
+            this.flushingKey = "views:flushing:" + name;
+        }
+    }
+
+    private static final String LOCK_KEY = "views:flush:lock";
+    private static final int UPDATE_CHUNK = 500;
+
+    /** pending → flushing 이동 (이전 flush 가 남긴 flushing 이 있으면 그것부터 처리) */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then return 1 end
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            redis.call('RENAME', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ItemRepository itemRepository;
+    private final CommunityPostRepository postRepository;
+    private final TransactionTemplate tx;
+    private final long lockTtlMs;
+
+    private final Map<Target, AtomicLong> bufferSize = new EnumMap<>(Target.class);
+    private final Map<Target, Counter> flushedCounter = new EnumMap<>(Target.class);
+    private final Counter fallbackCounter;
+    private final Timer flushTimer;
+
+    public ViewCountBuffer(StringRedisTemplate redis,
+                           ItemRepository itemRepository,
+                           CommunityPostRepository postRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.views.flush-lock-ttl-ms:30000}") long lockTtlMs) {
+        this.redis = redis;
+        this.itemRepository = itemRepository;
+        this.postRepository = postRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.lockTtlMs = lockTtlMs;
+
+        for (Target target : Target.values()) {
+            bufferSize.put(target, meterRegistry.gauge("views.buffer.size",
+                    Tags.of("target", target.name), new AtomicLong()));
+            flushedCounter.put(target, meterRegistry.counter("views.flushed", "target", target.name));
+        }
+        this.fallbackCounter = meterRegistry.counter("views.fallback");
+        this.flushTimer = meterRegistry.timer("views.flush");
+    }
+
+    /** 👀 조회수 +1 (Redis 장애 시 DB 에 바로 반영) */
+    public void increment(Target target, Long id) {
+        try {
+            redis.opsForHash().increment(target.pendingKey, String.valueOf(id), 1);
+        } catch (DataAccessException e) {
+            log.warn("[VIEWS] 버퍼 기록 실패 → DB 직접 반영 ({} id={}): {}", target, id, e.getMessage());
+            fallbackCounter.increment();
+            tx.executeWithoutResult(status -> apply(target, List.of(id), 1));
+        }
+    }
+
+    /** 아직 DB 에 반영되지 않은 증가분 */
+    public int pending(Target target, Long id) {
+        String field = String.valueOf(id);
+        try {
+            List<Object> values = redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection c = (StringRedisConnection) connection;
+                c.hGet(target.pendingKey, field);
+                c.hGet(target.flushingKey, field);
+                return null;
+            });
+            return toInt(values.get(0)) + toInt(values.get(1));
+        } catch (DataAccessException e) {
+            return 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        String token = UUID.randomUUID().toString();
+        try {
+            // 여러 인스턴스 중 한 곳만 flush
+            if (!Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMillis(lockTtlMs)))) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("[VIEWS] flush 락 획득 실패: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            for (Target target : Target.values()) {
+                try {
+                    flush(target);
+                } catch (Exception e) {
+                    log.error("[VIEWS] {} 조회수 반영 실패 → 다음 주기에 재시도: {}", target, e.getMessage(), e);
+                }
+            }
+        } finally {
+            redis.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+        }
+    }
+
+    private void flush(Target target) {
+        Long rotated = redis.execute(ROTATE_SCRIPT, List.of(target.pendingKey, target.flushingKey));
+        if (rotated == null || rotated == 0) {
+            bufferSize.get(target).set(0);
+            return;
+        }
+
+        Map<Object, Object> entries = redis.opsForHash().entries(target.flushingKey);
+        bufferSize.get(target).set(entries.size());
+
+        // 같은 증가량끼리 묶어 UPDATE ... WHERE id IN (...)
+        Map<Integer, List<Long>> idsByDelta = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Object, Object> e : entries.entrySet()) {
+            try {
+                Long id = Long.valueOf(String.valueOf(e.getKey()));
+                int delta = toInt(e.getValue());
+                if (delta <= 0) continue;
+                idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(id);
+                total += delta;
+            } catch (NumberFormatException ex) {
+                log.warn("[VIEWS] 잘못된 버퍼 항목 무시: {}={}", e.getKey(), e.getValue());
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        tx.executeWithoutResult(status -> idsByDelta.forEach((delta, ids) -> {
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK) {
+                apply(target, ids.subList(from, Math.min(from + UPDATE_CHUNK, ids.size())), delta);
+            }
+        }));
+        redis.delete(target.flushingKey);
+        flushTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        flushedCounter.get(target).increment(total);
+
+        log.debug("[VIEWS] {} 조회수 반영: 대상 {}건, +{} ({} UPDATE)", target, entries.size(), total, idsByDelta.size());
+    }
+
+    private void apply(Target target, Collection<Long> ids, int delta) {
+        switch (target) {
+            case ITEM -> itemRepository.addViewCount(ids, delta);
+            case POST -> postRepository.addViewCount(ids, delta);
+        }
+    }
+
+    private static int toInt(Object value) {
+        if (value == null) return 0;
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
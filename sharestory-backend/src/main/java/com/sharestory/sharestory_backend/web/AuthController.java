@@ -1,9 +1,11 @@
 package com.sharestory.sharestory_backend.web;
 
 
+import com.sharestory.sharestory_backend.domain.User;
 import com.sharestory.sharestory_backend.repo.RefreshTokenRepository;
 import com.sharestory.sharestory_backend.security.CookieUtil;
 import com.sharestory.sharestory_backend.security.JwtService;
+import com.sharestory.sharestory_backend.security.PrincipalCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ import java.util.Map;
 public class AuthController {
     private final JwtService jwt;
     private final RefreshTokenRepository refreshRepo;
+    private final PrincipalCache principalCache;
 
     @Value("${app.cookie.domain}") String COOKIE_DOMAIN;
     @Value("${app.cookie.secure:false}") boolean COOKIE_SECURE;
@@ -39,29 +42,73 @@ public class AuthController {
 
         Long userId;
         try {
-            var claims = jwt.parse(refresh).getBody();
+            userId = verifyRefresh(refresh);
+        } catch (RefreshRejectedException e) {
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
+        }
+
+        // 새 Access 토큰 발급 (현재 role / nickname / 토큰 버전 반영)
+        User user = principalCache.get(userId).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error","user_not_found"));
+        }
+        String access = jwt.createAccessToken(user);
+        CookieUtil.addCookie(res, "ACCESS_TOKEN", access, 1800, COOKIE_DOMAIN, COOKIE_SECURE, COOKIE_SAME_SITE);
+        return ResponseEntity.ok(Map.of("ok", true));
+    }
+
+    /** 🔒 모든 기기에서 로그아웃: 토큰 버전 +1 (발급된 access token 무효화) + refresh token 삭제 */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(HttpServletRequest req, HttpServletResponse res) {
+        String refresh = CookieUtil.getCookie(req, "REFRESH_TOKEN");
+        if (refresh == null) {
+            return ResponseEntity.status(401).body(Map.of("error","no_refresh"));
+        }
+
+        Long userId;
+        try {
+            userId = verifyRefresh(refresh);
+        } catch (RefreshRejectedException e) {
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
+        }
+
+        principalCache.revoke(userId);
+        refreshRepo.findByUserId(userId).ifPresent(refreshRepo::delete);
+
+        CookieUtil.clearCookie(res, "ACCESS_TOKEN", COOKIE_DOMAIN, COOKIE_SECURE, COOKIE_SAME_SITE);
+        CookieUtil.clearCookie(res, "REFRESH_TOKEN", COOKIE_DOMAIN, COOKIE_SECURE, COOKIE_SAME_SITE);
+        return ResponseEntity.ok(Map.of("ok", true));
+    }
+
+    /** refresh token 검증 → userId (거부 사유는 RefreshRejectedException 메시지) */
+    private Long verifyRefresh(String refresh) {
+        Long userId;
+        try {
+            var claims = jwt.verify(refresh);
             if (!"refresh".equals(claims.get("type"))) throw new RuntimeException("not_refresh_token");
             userId = Long.valueOf(claims.getSubject());
         } catch (ExpiredJwtException e) {
             // ✅ Refresh 토큰 만료 → 새 토큰 발급 금지
-            return ResponseEntity.status(401).body(Map.of("error","refresh_expired"));
+            throw new RefreshRejectedException("refresh_expired");
         } catch (Exception e) {
-            return ResponseEntity.status(401).body(Map.of("error","invalid_refresh"));
+            throw new RefreshRejectedException("invalid_refresh");
         }
 
         // ✅ DB 검증
         var saved = refreshRepo.findByUserId(userId).orElse(null);
         if (saved == null || !saved.getTokenHash().equals(sha256(refresh))) {
-            return ResponseEntity.status(401).body(Map.of("error","refresh_not_found"));
+            throw new RefreshRejectedException("refresh_not_found");
         }
         if (saved.getExpiresAt().isBefore(Instant.now())) {
-            return ResponseEntity.status(401).body(Map.of("error","refresh_db_expired"));
+            throw new RefreshRejectedException("refresh_db_expired");
         }
+        return userId;
+    }
 
-        // 새 Access 토큰 발급
-        String access = jwt.createAccessToken(userId, "ROLE_USER");
-        CookieUtil.addCookie(res, "ACCESS_TOKEN", access, 1800, COOKIE_DOMAIN, COOKIE_SECURE, COOKIE_SAME_SITE);
-        return ResponseEntity.ok(Map.of("ok", true));
+    private static class RefreshRejectedException extends RuntimeException {
+        RefreshRejectedException(String error) {
+            super(error);
+        }
     }
 
     private static String sha256(String s) {
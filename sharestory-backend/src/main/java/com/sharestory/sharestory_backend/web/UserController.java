@@ -30,7 +30,7 @@ public class UserController {
 
             Map<String, Object> result = new HashMap<>();
             result.put("id", user.getId());
-            result.put("email", user.getEmail());
+            result.put("email", u.getEmail());
             result.put("nickname", user.getNickname());
             result.put("role", user.getRole());
             result.put("myLatitude", u.getMyLatitude());
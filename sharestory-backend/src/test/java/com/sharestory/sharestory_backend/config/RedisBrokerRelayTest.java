@@ -0,0 +1,138 @@
+package com.sharestory.sharestory_backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 노드 2대 브로커 중계 테스트 (localhost:6379 Redis 필요, 없으면 건너뜀)
+ * - A 노드가 발행한 /sub 메시지가 B 노드 brokerChannel 에 발행 순서대로 도착
+ * - 자기 노드가 발행한 메시지는 다시 주입하지 않음
+ */
+class RedisBrokerRelayTest {
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate redis;
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory("localhost", 6379);
+        factory.afterPropertiesSet();
+        try {
+            factory.getConnection().ping();
+        } catch (Exception e) {
+            factory.destroy();
+            factory = null;
+            assumeTrue(false, "Redis(localhost:6379) 없음 → 건너뜀");
+        }
+        redis = new StringRedisTemplate(factory);
+        redis.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        containers.forEach(c -> {
+            try {
+                c.destroy();
+            } catch (Exception ignored) {
+                // 테스트 종료 정리
+            }
+        });
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+        if (factory != null) factory.destroy();
+    }
+
+    @Test
+    void relaysMessagesToOtherNodeInPublishOrder() throws Exception {
+        String channel = "ws:broker:test:" + UUID.randomUUID();
+        BlockingQueue<Message<?>> receivedByA = new LinkedBlockingQueue<>();
+        BlockingQueue<Message<?>> receivedByB = new LinkedBlockingQueue<>();
+        RedisBrokerRelay nodeA = node(channel, receivedByA);
+        node(channel, receivedByB);
+
+        // 구독이 붙을 때까지 probe 발행
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (receivedByB.poll(100, TimeUnit.MILLISECONDS) == null) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            nodeA.preSend(stompMessage("/sub/probe", "probe"), null);
+        }
+        Thread.sleep(200);
+        receivedByB.clear();
+
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            nodeA.preSend(stompMessage("/sub/chat/1", String.valueOf(i)), null);
+        }
+
+        for (int i = 0; i < count; i++) {
+            Message<?> message = receivedByB.poll(5, TimeUnit.SECONDS);
+            assertThat(message).as("message %d", i).isNotNull();
+            assertThat(new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)).isEqualTo(String.valueOf(i));
+            assertThat(SimpMessageHeaderAccessor.wrap(message).getDestination()).isEqualTo("/sub/chat/1");
+        }
+        assertThat(receivedByA).isEmpty();
+    }
+
+    @Test
+    void skipsDestinationsOutsidePrefixes() throws Exception {
+        String channel = "ws:broker:test:" + UUID.randomUUID();
+        BlockingQueue<Message<?>> receivedByB = new LinkedBlockingQueue<>();
+        RedisBrokerRelay nodeA = node(channel, new LinkedBlockingQueue<>());
+        node(channel, receivedByB);
+        Thread.sleep(500);
+
+        nodeA.preSend(stompMessage("/queue/private-user123", "x"), null);
+        assertThat(receivedByB.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private RedisBrokerRelay node(String channel, BlockingQueue<Message<?>> sink) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        executors.add(executor);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.setTaskExecutor(executor);
+        container.afterPropertiesSet();
+        containers.add(container);
+
+        MessageChannel brokerChannel = (message, timeout) -> sink.add(message);
+        RedisBrokerRelay relay = new RedisBrokerRelay(redis, new ObjectMapper(), brokerChannel, container,
+                new SimpleMeterRegistry(), channel, List.of("/sub/", "/user/"));
+        container.start();
+        return relay;
+    }
+
+    private static Message<byte[]> stompMessage(String destination, String body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,83 @@
+package com.sharestory.sharestory_backend.config;
+
+import com.sharestory.sharestory_backend.domain.User;
+import com.sharestory.sharestory_backend.security.JwtService;
+import com.sharestory.sharestory_backend.security.PrincipalCache;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StompAuthInterceptorTest {
+
+    private JwtService jwtService;
+    private PrincipalCache principalCache;
+    private StompAuthInterceptor interceptor;
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        principalCache = mock(PrincipalCache.class);
+        interceptor = new StompAuthInterceptor(jwtService, principalCache);
+
+        claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("7");
+        when(jwtService.verify("token")).thenReturn(claims);
+    }
+
+    @Test
+    void connectWithCurrentTokenVersionSetsPrincipal() {
+        when(jwtService.getTokenVersion(claims)).thenReturn(3);
+        when(principalCache.get(7L)).thenReturn(Optional.of(user(3)));
+
+        Message<?> result = interceptor.preSend(connect("token"), null);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+        assertThat(accessor.getUser()).isNotNull();
+        assertThat(accessor.getUser().getName()).isEqualTo("7");
+    }
+
+    @Test
+    void connectWithRevokedTokenIsRejected() {
+        when(jwtService.getTokenVersion(claims)).thenReturn(2);
+        when(principalCache.get(7L)).thenReturn(Optional.of(user(3)));
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(connect("token"), null));
+    }
+
+    @Test
+    void connectForUnknownUserIsRejected() {
+        when(jwtService.getTokenVersion(claims)).thenReturn(0);
+        when(principalCache.get(7L)).thenReturn(Optional.empty());
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(connect("token"), null));
+    }
+
+    private static User user(int tokenVersion) {
+        return User.builder().id(7L).tokenVersion(tokenVersion).build();
+    }
+
+    private static Message<byte[]> connect(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("ACCESS_TOKEN", token);
+        accessor.setSessionAttributes(attributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
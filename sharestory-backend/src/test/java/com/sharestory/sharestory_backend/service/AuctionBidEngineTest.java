@@ -0,0 +1,341 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBidReservation;
+import com.sharestory.sharestory_backend.domain.AuctionItem;
+import com.sharestory.sharestory_backend.dto.AuctionStatus;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import com.sharestory.sharestory_backend.repo.AuctionBidReservationRepository;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuctionBidEngine 입찰 경로 (호가창 AuctionBookStore 는 mock)
+ * - 수락: 선차감 → 호가창 반영 → writer 적재
+ * - 검증 거절은 포인트를 건드리지 않고, 수락 단계 거절은 선차감 환불
+ * - 호가창이 없으면 저장 대기분 반영 후 DB 로 적재하고 한 번 재시도, 저장 실패 입찰은 환불 + 호가창 버림
+ * - fence: 닫기 → 트랜잭션 없으면 바로 버림, 저장 대기분이 남으면 시간 초과 예외
+ * - soft close: 마감 window 안의 입찰만 연장, 연장된 종료 시각은 바로 DB 반영, closeIfDue 는 연장됐으면 닫지 않음
+ */
+class AuctionBidEngineTest {
+
+    private static final Long AUCTION_ID = 1L;
+    private static final Long SELLER_ID = 10L;
+    private static final Long USER_ID = 20L;
+    private static final long END_AT_MS = System.currentTimeMillis() + 3_600_000;
+
+    private AuctionItemRepository auctionItemRepository;
+    private AuctionBidRepository auctionBidRepository;
+    private UserRepository userRepository;
+    private AuctionBidReservationRepository reservationRepository;
+    private AuctionBidWriter writer;
+    private AuctionBookStore store;
+    private ChatLookupCache lookupCache;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private AuctionBidEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        auctionItemRepository = mock(AuctionItemRepository.class);
+        auctionBidRepository = mock(AuctionBidRepository.class);
+        userRepository = mock(UserRepository.class);
+        reservationRepository = mock(AuctionBidReservationRepository.class);
+        writer = mock(AuctionBidWriter.class);
+        store = mock(AuctionBookStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        lookupCache = mock(ChatLookupCache.class);
+        when(lookupCache.nickname(USER_ID, null)).thenReturn("입찰자");
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        when(userRepository.debitPoints(eq(USER_ID), anyInt())).thenReturn(1);
+        when(userRepository.findPointsById(USER_ID)).thenReturn(Optional.of(9_000));
+        when(reservationRepository.save(any(AuctionBidReservation.class)))
+                .thenReturn(AuctionBidReservation.builder().id(77L).build());
+        when(reservationRepository.release(77L)).thenReturn(1);
+
+        engine = engine(false);
+    }
+
+    @Test
+    void acceptedBidReservesPointsAndIsQueued() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(500));
+        when(store.accept(eq(AUCTION_ID), eq(USER_ID), eq(1_500), eq(500), anyLong(), anyLong(), anyLong(), eq("77")))
+                .thenReturn(accepted(List.of(USER_ID, 30L)));
+
+        AuctionBidEngine.BidResult result = engine.placeBid(AUCTION_ID, USER_ID, 1_500);
+
+        assertThat(result.currentPrice()).isEqualTo(1_500);
+        assertThat(result.leaderId()).isEqualTo(USER_ID);
+        assertThat(result.leaderName()).isEqualTo("입찰자");
+        assertThat(result.bidCount()).isEqualTo(3);
+        assertThat(result.extended()).isFalse();
+
+        // 본인 기존 입찰가(500)를 뺀 차액만 차감
+        verify(userRepository).debitPoints(USER_ID, 1_000);
+
+        ArgumentCaptor<AuctionBidWriter.AcceptedBid> queued = ArgumentCaptor.forClass(AuctionBidWriter.AcceptedBid.class);
+        verify(writer).submit(queued.capture());
+        AuctionBidWriter.AcceptedBid bid = queued.getValue();
+        assertThat(bid.reservationId()).isEqualTo(77L);
+        assertThat(bid.reserved()).isEqualTo(1_000);
+        assertThat(bid.balanceAfter()).isEqualTo(9_000);
+        assertThat(bid.outbidUserIds()).containsExactly(30L);
+
+        verify(reservationRepository, never()).release(any());
+        verify(auctionItemRepository, never()).extendEnd(any(), any());
+    }
+
+    @Test
+    void rejectedByCheckDoesNotTouchPoints() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), anyInt(), anyLong()))
+                .thenReturn(outcome(AuctionBookStore.Status.TOO_LOW, "1100"));
+
+        assertThatThrownBy(() -> engine.placeBid(AUCTION_ID, USER_ID, 1_050))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("입찰 금액은 최소 1100원 이상이어야 합니다.");
+
+        when(store.check(eq(AUCTION_ID), eq(SELLER_ID), anyInt(), anyLong()))
+                .thenReturn(outcome(AuctionBookStore.Status.SELF, null));
+        assertThatThrownBy(() -> engine.placeBid(AUCTION_ID, SELLER_ID, 2_000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("자신의 상품에는 입찰할 수 없습니다.");
+
+        verifyNoInteractions(userRepository, reservationRepository);
+        verify(writer, never()).submit(any());
+        verify(store, never()).accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any());
+        assertThat(meterRegistry.counter("auction.engine.rejected").count()).isEqualTo(2);
+    }
+
+    @Test
+    void conflictOnAcceptRefundsReservation() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(0));
+        when(store.accept(eq(AUCTION_ID), eq(USER_ID), eq(1_500), eq(0), anyLong(), anyLong(), anyLong(), eq("77")))
+                .thenReturn(outcome(AuctionBookStore.Status.CONFLICT, null));
+
+        assertThatThrownBy(() -> engine.placeBid(AUCTION_ID, USER_ID, 1_500))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("동시에 진행 중인 입찰이 있습니다. 다시 시도해주세요.");
+
+        verify(userRepository).debitPoints(USER_ID, 1_500);
+        verify(reservationRepository).release(77L);
+        verify(userRepository).creditPoints(USER_ID, 1_500);
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    void refundIsSkippedWhenReservationAlreadyReleased() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(0));
+        when(store.accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(outcome(AuctionBookStore.Status.ENDED, null));
+        when(reservationRepository.release(77L)).thenReturn(0);
+
+        assertThatThrownBy(() -> engine.placeBid(AUCTION_ID, USER_ID, 1_500))
+                .hasMessage("이미 종료된 경매입니다.");
+
+        verify(userRepository, never()).creditPoints(any(), anyInt());
+    }
+
+    @Test
+    void insufficientPointsIsRejectedBeforeAccept() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(0));
+        when(userRepository.debitPoints(USER_ID, 1_500)).thenReturn(0);
+
+        assertThatThrownBy(() -> engine.placeBid(AUCTION_ID, USER_ID, 1_500))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("보유 포인트가 부족합니다.");
+
+        verify(reservationRepository, never()).save(any());
+        verify(store, never()).accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void missingBookIsLoadedFromDbAndRetriedOnce() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong()))
+                .thenReturn(outcome(AuctionBookStore.Status.MISSING, null))
+                .thenReturn(check(0));
+        when(store.accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(accepted(List.of(USER_ID)));
+        when(store.generation(AUCTION_ID)).thenReturn("g1");
+        when(store.init(eq(AUCTION_ID), eq("g1"), any())).thenReturn(true);
+        when(auctionItemRepository.findById(AUCTION_ID)).thenReturn(Optional.of(AuctionItem.builder()
+                .id(AUCTION_ID).title("경매").sellerId(SELLER_ID).bidUnit(100).currentPrice(1_000)
+                .endDateTime(LocalDateTime.now().plusHours(1)).status(AuctionStatus.ONGOING).build()));
+        when(auctionBidRepository.findByAuctionItemId(AUCTION_ID)).thenReturn(List.of());
+
+        engine.placeBid(AUCTION_ID, USER_ID, 1_500);
+
+        ArgumentCaptor<AuctionBookStore.Snapshot> snapshot = ArgumentCaptor.forClass(AuctionBookStore.Snapshot.class);
+        verify(store).init(eq(AUCTION_ID), eq("g1"), snapshot.capture());
+        assertThat(snapshot.getValue().currentPrice()).isEqualTo(1_000);
+        assertThat(snapshot.getValue().sellerId()).isEqualTo(SELLER_ID);
+        assertThat(snapshot.getValue().closed()).isFalse();
+        verify(store, times(2)).check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong());
+        verify(writer).submit(any());
+    }
+
+    @Test
+    void fenceClosesBookAndEvictsWithoutTransaction() {
+        when(store.close(AUCTION_ID, -1)).thenReturn(new AuctionBookStore.CloseOutcome(true, END_AT_MS, 0, true));
+        when(store.pending(AUCTION_ID)).thenReturn(2L, 1L, 0L);
+
+        engine.fence(AUCTION_ID);
+
+        verify(store).evict(AUCTION_ID);
+        verify(store, never()).reopen(any());
+        verify(store, times(3)).pending(AUCTION_ID);
+    }
+
+    @Test
+    void fenceTimesOutWhilePersistIsPending() {
+        when(store.close(AUCTION_ID, -1)).thenReturn(new AuctionBookStore.CloseOutcome(true, END_AT_MS, 1, true));
+        when(store.pending(AUCTION_ID)).thenReturn(1L);
+
+        assertThatThrownBy(() -> engine.fence(AUCTION_ID))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("입찰 반영이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void persistFailureRefundsAndDiscardsBook() {
+        ArgumentCaptor<Consumer<AuctionBidWriter.AcceptedBid>> handler = ArgumentCaptor.forClass(Consumer.class);
+        verify(writer).onFailure(handler.capture());
+
+        handler.getValue().accept(new AuctionBidWriter.AcceptedBid(77L, AUCTION_ID, "경매", USER_ID, "입찰자",
+                1_500, 500, 9_000, LocalDateTime.now(), LocalDateTime.now().plusHours(1), List.of()));
+
+        verify(reservationRepository).release(77L);
+        verify(userRepository).creditPoints(USER_ID, 1_000);
+        verify(store).discard(AUCTION_ID);
+    }
+
+    @Test
+    void reloadWaitsForPendingBidsBeforeReadingDb() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong()))
+                .thenReturn(outcome(AuctionBookStore.Status.MISSING, null))
+                .thenReturn(check(0));
+        when(store.accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(accepted(List.of(USER_ID)));
+        when(store.pending(AUCTION_ID)).thenReturn(1L, 0L);
+        when(store.generation(AUCTION_ID)).thenReturn("g1");
+        when(store.init(eq(AUCTION_ID), eq("g1"), any())).thenReturn(true);
+        when(auctionItemRepository.findById(AUCTION_ID)).thenReturn(Optional.of(AuctionItem.builder()
+                .id(AUCTION_ID).title("경매").sellerId(SELLER_ID).bidUnit(100).currentPrice(1_000)
+                .endDateTime(LocalDateTime.now().plusHours(1)).status(AuctionStatus.ONGOING).build()));
+        when(auctionBidRepository.findByAuctionItemId(AUCTION_ID)).thenReturn(List.of());
+
+        engine.placeBid(AUCTION_ID, USER_ID, 1_500);
+
+        // 저장 대기 입찰이 DB 에 반영된 뒤에 세대/스냅샷 조회
+        InOrder inOrder = inOrder(store, auctionItemRepository);
+        inOrder.verify(store, times(2)).pending(AUCTION_ID);
+        inOrder.verify(store).generation(AUCTION_ID);
+        inOrder.verify(auctionItemRepository).findById(AUCTION_ID);
+        inOrder.verify(store).init(eq(AUCTION_ID), eq("g1"), any());
+    }
+
+    @Test
+    void softCloseExtendsOnlyBidsInsideTheWindow() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0, 0);
+        AuctionBidEngine softClose = engine(true);
+
+        assertThat(softClose.softCloseEnd(now.plusSeconds(10), now)).isEqualTo(now.plusSeconds(40));
+        assertThat(softClose.softCloseEnd(now.plusSeconds(30), now)).isEqualTo(now.plusSeconds(60));
+        assertThat(softClose.softCloseEnd(now.plusSeconds(31), now)).isNull();
+        assertThat(softClose.softCloseEnd(now, now)).isNull();
+        assertThat(softClose.softCloseEnd(null, now)).isNull();
+        assertThat(engine.softCloseEnd(now.plusSeconds(10), now)).isNull();
+    }
+
+    @Test
+    void extendedBidPersistsNewEndImmediately() {
+        AuctionBidEngine softClose = engine(true);
+        long extendedEndMs = END_AT_MS + 30_000;
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(0));
+        when(store.accept(eq(AUCTION_ID), eq(USER_ID), eq(1_500), eq(0), anyLong(), eq(30_000L), eq(30_000L), eq("77")))
+                .thenReturn(new AuctionBookStore.Outcome(AuctionBookStore.Status.OK, 0, "경매", 1,
+                        extendedEndMs, true, List.of(USER_ID)));
+
+        AuctionBidEngine.BidResult result = softClose.placeBid(AUCTION_ID, USER_ID, 1_500);
+
+        LocalDateTime extendedEnd = LocalDateTime.ofInstant(Instant.ofEpochMilli(extendedEndMs), ZoneId.systemDefault());
+        assertThat(result.extended()).isTrue();
+        assertThat(result.endAt()).isEqualTo(extendedEnd);
+        verify(auctionItemRepository).extendEnd(AUCTION_ID, extendedEnd);
+        verify(writer).submit(argThat(bid -> bid.endAt().equals(extendedEnd)));
+    }
+
+    @Test
+    void softCloseDisabledPassesNoWindowToBook() {
+        when(store.check(eq(AUCTION_ID), eq(USER_ID), eq(1_500), anyLong())).thenReturn(check(0));
+        when(store.accept(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyLong(), any()))
+                .thenReturn(accepted(List.of(USER_ID)));
+
+        engine.placeBid(AUCTION_ID, USER_ID, 1_500);
+
+        verify(store).accept(eq(AUCTION_ID), eq(USER_ID), eq(1_500), eq(0), anyLong(), eq(0L), anyLong(), eq("77"));
+    }
+
+    @Test
+    void closeIfDueReturnsExtendedEndWithoutClosing() {
+        long extendedEndMs = System.currentTimeMillis() + 30_000;
+        when(store.close(eq(AUCTION_ID), anyLong()))
+                .thenReturn(new AuctionBookStore.CloseOutcome(false, extendedEndMs, 0, false));
+
+        LocalDateTime end = engine.closeIfDue(AUCTION_ID);
+
+        assertThat(end).isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(extendedEndMs), ZoneId.systemDefault()));
+        verify(store, never()).evict(any());
+        verify(store, never()).pending(any());
+    }
+
+    @Test
+    void closeIfDueFencesWhenDeadlinePassed() {
+        when(store.close(eq(AUCTION_ID), anyLong()))
+                .thenReturn(new AuctionBookStore.CloseOutcome(true, System.currentTimeMillis() - 1, 0, true));
+        when(store.pending(AUCTION_ID)).thenReturn(0L);
+
+        assertThat(engine.closeIfDue(AUCTION_ID)).isNull();
+        verify(store).pending(AUCTION_ID);
+        verify(store).evict(AUCTION_ID);
+    }
+
+    private AuctionBidEngine engine(boolean softClose) {
+        return new AuctionBidEngine(auctionItemRepository, auctionBidRepository, userRepository,
+                reservationRepository, lookupCache, writer, store, transactionManager, meterRegistry,
+                true, 50, softClose, 30, 30);
+    }
+
+    private static AuctionBookStore.Outcome outcome(AuctionBookStore.Status status, String detail) {
+        return new AuctionBookStore.Outcome(status, 0, detail, 0, 0, false, List.of());
+    }
+
+    private static AuctionBookStore.Outcome check(int previousBid) {
+        return new AuctionBookStore.Outcome(AuctionBookStore.Status.OK, previousBid, null, 0, 0, false, List.of());
+    }
+
+    private static AuctionBookStore.Outcome accepted(List<Long> bidders) {
+        return new AuctionBookStore.Outcome(AuctionBookStore.Status.OK, 0, "경매", 3, END_AT_MS, false, bidders);
+    }
+}
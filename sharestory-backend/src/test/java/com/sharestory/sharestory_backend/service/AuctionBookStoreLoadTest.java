@@ -0,0 +1,225 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 공유 호가창 부하 테스트 (localhost:6379 Redis 필요, 없으면 건너뜀)
+ * - 인스턴스 2대를 AuctionBookStore 2개로 흉내 내고 여러 스레드가 동시에 입찰
+ * - 수락 순서(bidCount)대로 현재가가 입찰 단위 이상씩 증가, 최고 입찰자 1명, 사용자별 차감 합 = 최종 입찰가
+ * - 정해진 시간 동안 check + accept 를 반복해 초당 수락 건수 출력
+ */
+class AuctionBookStoreLoadTest {
+
+    private static final int BID_UNIT = 100;
+    private static final int START_PRICE = 1_000;
+    private static final long SELLER_ID = 1L;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate redis;
+    private AuctionBookStore nodeA;
+    private AuctionBookStore nodeB;
+    private Long auctionId;
+
+    record Accepted(long userId, int bidPrice, int previousBid, int bidCount) {}
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory("localhost", 6379);
+        factory.afterPropertiesSet();
+        try {
+            factory.getConnection().ping();
+        } catch (Exception e) {
+            factory.destroy();
+            assumeTrue(false, "Redis(localhost:6379) 없음 → 건너뜀");
+        }
+        redis = new StringRedisTemplate(factory);
+        redis.afterPropertiesSet();
+        nodeA = new AuctionBookStore(redis, 600);
+        nodeB = new AuctionBookStore(redis, 600);
+        auctionId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE / 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redis != null) {
+            String key = "auction:book:{" + auctionId + "}";
+            redis.delete(List.of(key, key + ":bids", key + ":pending", key + ":gen"));
+        }
+        if (factory != null) factory.destroy();
+    }
+
+    @Test
+    void concurrentBidsFromTwoNodesHaveSingleLeaderAndMonotonicPrice() throws Exception {
+        long endAtMs = System.currentTimeMillis() + 3_600_000;
+        assertThat(nodeA.init(auctionId, nodeA.generation(auctionId), snapshot(endAtMs, false))).isTrue();
+
+        int users = 16;
+        int attemptsPerUser = 200;
+        Queue<Accepted> accepted = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            long userId = 100L + u;
+            AuctionBookStore node = u % 2 == 0 ? nodeA : nodeB;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerUser; i++) {
+                    int price = currentPrice() + BID_UNIT * ThreadLocalRandom.current().nextInt(1, 4);
+                    long now = System.currentTimeMillis();
+                    AuctionBookStore.Outcome check = node.check(auctionId, userId, price, now);
+                    if (check.status() != AuctionBookStore.Status.OK) continue;
+                    String token = userId + ":" + i;
+                    AuctionBookStore.Outcome outcome = node.accept(auctionId, userId, price, check.previousBid(),
+                            now, 0, 0, token);
+                    if (outcome.status() == AuctionBookStore.Status.OK) {
+                        accepted.add(new Accepted(userId, price, check.previousBid(), outcome.bidCount()));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        List<Accepted> ordered = accepted.stream().sorted(Comparator.comparingInt(Accepted::bidCount)).toList();
+        assertThat(ordered).isNotEmpty();
+
+        // 수락 순서 = 1..n 연속, 가격은 입찰 단위 이상씩 증가
+        int previousPrice = START_PRICE;
+        for (int i = 0; i < ordered.size(); i++) {
+            Accepted a = ordered.get(i);
+            assertThat(a.bidCount()).isEqualTo(i + 1);
+            assertThat(a.bidPrice()).isGreaterThanOrEqualTo(previousPrice + BID_UNIT);
+            previousPrice = a.bidPrice();
+        }
+
+        // 최고 입찰자 1명 = 마지막 수락
+        Accepted last = ordered.get(ordered.size() - 1);
+        String key = "auction:book:{" + auctionId + "}";
+        assertThat(redis.opsForHash().get(key, "leader")).isEqualTo(String.valueOf(last.userId()));
+        assertThat(redis.opsForHash().get(key, "price")).isEqualTo(String.valueOf(last.bidPrice()));
+        assertThat(redis.opsForHash().get(key, "count")).isEqualTo(String.valueOf(ordered.size()));
+
+        // 사용자별 차감 합 = 최종 본인 입찰가 (같은 기존 입찰가로 두 번 차감된 입찰 없음)
+        Map<Long, Integer> debited = new HashMap<>();
+        Map<Long, Integer> finalBid = new HashMap<>();
+        for (Accepted a : ordered) {
+            debited.merge(a.userId(), a.bidPrice() - a.previousBid(), Integer::sum);
+            finalBid.put(a.userId(), a.bidPrice());
+        }
+        finalBid.forEach((userId, price) -> {
+            assertThat(debited.get(userId)).isEqualTo(price);
+            assertThat(redis.opsForHash().get(key + ":bids", String.valueOf(userId))).isEqualTo(String.valueOf(price));
+        });
+
+        // 저장 대기 토큰 = 수락 건수
+        assertThat(nodeB.pending(auctionId)).isEqualTo(ordered.size());
+    }
+
+    @Test
+    void timedRunReportsAcceptedBidsPerSecond() throws Exception {
+        assertThat(nodeA.init(auctionId, nodeA.generation(auctionId),
+                snapshot(System.currentTimeMillis() + 3_600_000, false))).isTrue();
+
+        int users = 16;
+        long durationMs = 3_000;
+        LongAdder attempts = new LongAdder();
+        LongAdder acceptedBids = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            long userId = 100L + u;
+            AuctionBookStore node = u % 2 == 0 ? nodeA : nodeB;
+            futures.add(pool.submit(() -> {
+                start.await();
+                long stopAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+                for (int i = 0; System.nanoTime() < stopAt; i++) {
+                    attempts.increment();
+                    int price = currentPrice() + BID_UNIT;
+                    long now = System.currentTimeMillis();
+                    AuctionBookStore.Outcome check = node.check(auctionId, userId, price, now);
+                    if (check.status() != AuctionBookStore.Status.OK) continue;
+                    AuctionBookStore.Outcome outcome = node.accept(auctionId, userId, price, check.previousBid(),
+                            now, 0, 0, userId + ":" + i);
+                    if (outcome.status() == AuctionBookStore.Status.OK) acceptedBids.increment();
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%n[BENCH] 공유 호가창 (스레드 %d, 노드 2, %.1fs) 수락 %d건 = %.0f bids/s, 시도 %.0f/s%n",
+                users, seconds, acceptedBids.sum(), acceptedBids.sum() / seconds, attempts.sum() / seconds);
+
+        assertThat(acceptedBids.sum()).isPositive();
+        assertThat(redis.opsForHash().get("auction:book:{" + auctionId + "}", "count"))
+                .isEqualTo(String.valueOf(acceptedBids.sum()));
+    }
+
+    @Test
+    void discardKeepsClosedBookUntilReopenDeletesIt() {
+        assertThat(nodeA.init(auctionId, nodeA.generation(auctionId),
+                snapshot(System.currentTimeMillis() + 60_000, false))).isTrue();
+        nodeA.close(auctionId, -1);
+
+        // 종료 처리 중 저장 실패 → 닫힌 상태 유지 (다시 적재돼 입찰이 수락되지 않음)
+        nodeB.discard(auctionId);
+        assertThat(nodeB.check(auctionId, 200L, START_PRICE + BID_UNIT, System.currentTimeMillis()).status())
+                .isEqualTo(AuctionBookStore.Status.CLOSED);
+
+        // 롤백으로 다시 열면 버린 호가창은 삭제 → 다음 입찰은 DB 에서 적재
+        nodeA.reopen(auctionId);
+        assertThat(nodeB.check(auctionId, 200L, START_PRICE + BID_UNIT, System.currentTimeMillis()).status())
+                .isEqualTo(AuctionBookStore.Status.MISSING);
+    }
+
+    @Test
+    void closeWithoutBookLeavesClosedPlaceholder() {
+        AuctionBookStore.CloseOutcome closed = nodeA.close(auctionId, -1);
+        assertThat(closed.due()).isTrue();
+        assertThat(closed.wasOpen()).isFalse();
+
+        // 닫는 동안 다른 노드가 DB 에서 적재해도 닫힌 상태 유지
+        assertThat(nodeB.init(auctionId, nodeB.generation(auctionId),
+                snapshot(System.currentTimeMillis() + 60_000, false))).isTrue();
+        assertThat(nodeB.check(auctionId, 200L, START_PRICE + BID_UNIT, System.currentTimeMillis()).status())
+                .isEqualTo(AuctionBookStore.Status.CLOSED);
+    }
+
+    @Test
+    void initWithStaleGenerationIsRejected() {
+        String generation = nodeA.generation(auctionId);
+        nodeB.evict(auctionId);
+        assertThat(nodeA.init(auctionId, generation, snapshot(System.currentTimeMillis() + 60_000, false))).isFalse();
+        assertThat(nodeA.init(auctionId, nodeA.generation(auctionId),
+                snapshot(System.currentTimeMillis() + 60_000, false))).isTrue();
+    }
+
+    private int currentPrice() {
+        Object price = redis.opsForHash().get("auction:book:{" + auctionId + "}", "price");
+        return price != null ? Integer.parseInt(String.valueOf(price)) : START_PRICE;
+    }
+
+    private AuctionBookStore.Snapshot snapshot(long endAtMs, boolean closed) {
+        return new AuctionBookStore.Snapshot("테스트 경매", SELLER_ID, BID_UNIT, null,
+                START_PRICE, 0, null, endAtMs, closed, Map.of());
+    }
+}
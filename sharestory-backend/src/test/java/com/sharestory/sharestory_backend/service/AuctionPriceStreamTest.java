@@ -0,0 +1,139 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.domain.AuctionItem;
+import com.sharestory.sharestory_backend.dto.AuctionPriceMessage;
+import com.sharestory.sharestory_backend.dto.AuctionStatus;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import com.sharestory.sharestory_backend.repo.AuctionItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuctionPriceStream
+ * - 한 전송 주기 안의 입찰은 경매당 최신 시세 1건으로 합쳐 전송
+ * - 늦게 도착한 이전 시세 / 종료 후 진행 중 시세로 덮어쓰지 않음
+ * - 스냅샷은 캐시 미스만 DB 조회, 상태 변경은 커밋 후 반영
+ */
+class AuctionPriceStreamTest {
+
+    private static final long COALESCE_MS = 300;
+
+    private AuctionItemRepository auctionItemRepository;
+    private AuctionBidRepository auctionBidRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AuctionPriceStream stream;
+
+    @BeforeEach
+    void setUp() {
+        auctionItemRepository = mock(AuctionItemRepository.class);
+        auctionBidRepository = mock(AuctionBidRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        stream = new AuctionPriceStream(auctionItemRepository, auctionBidRepository, messagingTemplate,
+                meterRegistry, COALESCE_MS, 100, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void burstOfBidsIsCoalescedToLatestPrice() throws Exception {
+        LocalDateTime endAt = LocalDateTime.now().plusMinutes(10);
+        for (int i = 1; i <= 50; i++) {
+            stream.onBid(1L, 1_000 + i * 100, i, "입찰자" + i, endAt);
+        }
+        stream.onBid(2L, 5_000, 1, "다른 경매", endAt);
+
+        verify(messagingTemplate, timeout(2_000)).convertAndSend(eq("/sub/auction/2"), any(Object.class));
+        Thread.sleep(COALESCE_MS * 2);
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq("/sub/auction/1"), sent.capture());
+        // 50건이 전송 주기 경계에 걸쳐도 최대 2건
+        assertThat(sent.getAllValues()).hasSizeLessThanOrEqualTo(2);
+        AuctionPriceMessage last = (AuctionPriceMessage) sent.getAllValues().get(sent.getAllValues().size() - 1);
+        assertThat(last.getCurrentPrice()).isEqualTo(6_000);
+        assertThat(last.getBidCount()).isEqualTo(50);
+        assertThat(last.getLeaderNickname()).isEqualTo("입찰자50");
+        assertThat(last.getRemainingMs()).isPositive();
+
+        assertThat(meterRegistry.counter("auction.price.stream", "result", "published").count()).isEqualTo(51);
+    }
+
+    @Test
+    void staleOrReopeningUpdatesDoNotOverwrite() {
+        LocalDateTime endAt = LocalDateTime.now().plusMinutes(10);
+        stream.onBid(1L, 2_000, 5, "최신", endAt);
+        stream.onBid(1L, 1_500, 4, "이전", endAt);
+
+        AuctionPriceMessage latest = stream.snapshot(1L).orElseThrow();
+        assertThat(latest.getBidCount()).isEqualTo(5);
+        assertThat(latest.getLeaderNickname()).isEqualTo("최신");
+
+        stream.onChange(item(1L, 2_000, 5, AuctionStatus.FINISHED), "최신");
+        stream.onBid(1L, 2_100, 6, "종료 후", endAt);
+
+        AuctionPriceMessage snapshot = stream.snapshot(1L).orElseThrow();
+        assertThat(snapshot.getStatus()).isEqualTo(AuctionStatus.FINISHED);
+        assertThat(snapshot.getRemainingMs()).isZero();
+        verifyNoInteractions(auctionItemRepository);
+    }
+
+    @Test
+    void snapshotLoadsFromDbOnlyOnMiss() {
+        when(auctionItemRepository.findById(1L)).thenReturn(Optional.of(item(1L, 3_000, 7, AuctionStatus.ONGOING)));
+        when(auctionBidRepository.findTopByAuctionItemIdOrderByBidPriceDesc(1L))
+                .thenReturn(Optional.of(AuctionBid.builder().bidderName("선두").bidPrice(3_000).build()));
+        when(auctionItemRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(stream.snapshot(1L).orElseThrow().getLeaderNickname()).isEqualTo("선두");
+        assertThat(stream.snapshot(1L)).isPresent();
+        verify(auctionItemRepository, times(1)).findById(1L);
+
+        assertThat(stream.snapshot(2L)).isEmpty();
+    }
+
+    @Test
+    void changeIsPublishedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        stream.onChange(item(1L, 3_000, 7, AuctionStatus.FINISHED), "낙찰자");
+        assertThat(meterRegistry.counter("auction.price.stream", "result", "published").count()).isZero();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(meterRegistry.counter("auction.price.stream", "result", "published").count()).isEqualTo(1);
+        verify(messagingTemplate, timeout(2_000)).convertAndSend(eq("/sub/auction/1"), any(Object.class));
+    }
+
+    private static AuctionItem item(Long id, int currentPrice, int bidCount, AuctionStatus status) {
+        return AuctionItem.builder()
+                .id(id)
+                .currentPrice(currentPrice)
+                .bidCount(bidCount)
+                .status(status)
+                .endDateTime(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+}
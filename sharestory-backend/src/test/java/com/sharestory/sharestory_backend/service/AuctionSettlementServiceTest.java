@@ -0,0 +1,193 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.AuctionBid;
+import com.sharestory.sharestory_backend.repo.AuctionBidRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuctionSettlementService 멱등 환불
+ * - auction_refund 에 이미 키가 있는 사용자와 낙찰자는 건너뛰고, 나머지만 키 기록 + 포인트 환불 + 내역 기록
+ * - 모두 환불된 경매를 다시 정산하면 아무것도 쓰지 않음
+ * - chunk-size 단위로 나눠 반영, 알림은 커밋 후 1회
+ */
+class AuctionSettlementServiceTest {
+
+    private static final Long AUCTION_ID = 1L;
+    private static final Long WINNER_ID = 100L;
+
+    /** JDBC 로 실행된 multi-row INSERT (파라미터 index → 값) */
+    private record Statement(String sql, Map<Integer, Object> params) {}
+
+    private AuctionBidRepository auctionBidRepository;
+    private NotificationService notificationService;
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Statement> inserts = new ArrayList<>();
+    private final List<List<Map.Entry<Long, Integer>>> credits = new ArrayList<>();
+    private final Map<Long, Integer> points = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        auctionBidRepository = mock(AuctionBidRepository.class);
+        notificationService = mock(NotificationService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(inv -> {
+            Map<Integer, Object> params = new HashMap<>();
+            PreparedStatement ps = mock(PreparedStatement.class, call -> {
+                if (call.getMethod().getName().startsWith("set")) params.put(call.getArgument(0), call.getArgument(1));
+                return null;
+            });
+            String[] sql = new String[1];
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenAnswer(p -> {
+                sql[0] = p.getArgument(0);
+                return ps;
+            });
+            ((PreparedStatementCreator) inv.getArgument(0)).createPreparedStatement(connection);
+            inserts.add(new Statement(sql[0], params));
+            return 1;
+        });
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    credits.add(new ArrayList<>((Collection<Map.Entry<Long, Integer>>) inv.getArgument(1)));
+                    return new int[0][];
+                });
+
+        // 환불 후 잔액 IN 조회 → 있는 사용자만 행으로 전달
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Object id : (Object[]) inv.getRawArguments()[2]) {
+                Integer balance = points.get((Long) id);
+                if (balance == null) continue;
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn((Long) id);
+                when(rs.getInt(2)).thenReturn(balance);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void alreadyRefundedUsersAndWinnerAreSkipped() {
+        bids(bid(WINNER_ID, 5_000), bid(2L, 4_000), bid(3L, 3_000), bid(4L, 2_000));
+        refunded(3L);
+        points.putAll(Map.of(2L, 14_000, 4L, 12_000));
+
+        AuctionSettlementService.Settlement settlement = service(500)
+                .refundLosers(AUCTION_ID, WINNER_ID, "환불", null, null);
+
+        assertThat(settlement.refundedUserIds()).containsExactly(2L, 4L);
+        assertThat(settlement.refundedAmount()).isEqualTo(6_000);
+
+        // 멱등 키 → 환불 → 내역 순서, 이미 키가 있는 3번은 어디에도 없음
+        assertThat(inserts).hasSize(2);
+        Statement keys = inserts.get(0);
+        assertThat(keys.sql()).startsWith("INSERT INTO auction_refund").contains("(?, ?, ?, ?, ?), (?, ?, ?, ?, ?)");
+        assertThat(keys.params()).containsEntry(1, AUCTION_ID).containsEntry(2, 2L).containsEntry(3, 4_000)
+                .containsEntry(7, 4L).containsEntry(8, 2_000);
+        assertThat(credits).singleElement().satisfies(chunk ->
+                assertThat(chunk).containsExactly(Map.entry(2L, 4_000), Map.entry(4L, 2_000)));
+
+        Statement histories = inserts.get(1);
+        assertThat(histories.sql()).startsWith("INSERT INTO point_history");
+        assertThat(histories.params()).containsEntry(1, 2L).containsEntry(3, 14_000)
+                .containsEntry(7, 4L).containsEntry(9, 12_000);
+    }
+
+    @Test
+    void secondSettlementOfSameAuctionWritesNothing() {
+        bids(bid(WINNER_ID, 5_000), bid(2L, 4_000), bid(3L, 3_000));
+        refunded(2L, 3L);
+
+        AuctionSettlementService.Settlement settlement = service(500)
+                .refundLosers(AUCTION_ID, WINNER_ID, "환불", "AUCTION_END", "경매 종료");
+
+        assertThat(settlement.refundedUserIds()).isEmpty();
+        assertThat(settlement.refundedAmount()).isZero();
+        assertThat(inserts).isEmpty();
+        assertThat(credits).isEmpty();
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void refundsAreAppliedInChunks() {
+        bids(bid(1L, 1_000), bid(2L, 2_000), bid(3L, 3_000), bid(4L, 4_000), bid(5L, 5_000));
+        for (long id = 1; id <= 5; id++) points.put(id, 10_000);
+
+        AuctionSettlementService.Settlement settlement = service(2)
+                .refundLosers(AUCTION_ID, null, "환불", null, null);
+
+        assertThat(settlement.refundedUserIds()).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(settlement.refundedAmount()).isEqualTo(15_000);
+        assertThat(credits).extracting(List::size).containsExactly(2, 2, 1);
+        // chunk 마다 멱등 키 + 내역 INSERT
+        assertThat(inserts).extracting(s -> s.sql().substring(0, 25))
+                .containsExactly("INSERT INTO auction_refun", "INSERT INTO point_history",
+                        "INSERT INTO auction_refun", "INSERT INTO point_history",
+                        "INSERT INTO auction_refun", "INSERT INTO point_history");
+    }
+
+    @Test
+    void missingUserIsCreditedButNotReportedAndNotifyWaitsForCommit() {
+        bids(bid(2L, 4_000), bid(3L, 3_000));
+        points.put(2L, 9_000);
+
+        TransactionSynchronizationManager.initSynchronization();
+        AuctionSettlementService.Settlement settlement = service(500)
+                .refundLosers(AUCTION_ID, WINNER_ID, "환불", "AUCTION_END", "경매 종료");
+
+        assertThat(settlement.refundedUserIds()).containsExactly(2L);
+        verifyNoInteractions(notificationService);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(notificationService).sendBulkNotification(List.of(2L), "AUCTION_END", "경매 종료", AUCTION_ID);
+    }
+
+    private AuctionSettlementService service(int chunkSize) {
+        return new AuctionSettlementService(auctionBidRepository, notificationService, jdbcTemplate,
+                new SimpleMeterRegistry(), chunkSize);
+    }
+
+    private void bids(AuctionBid... bids) {
+        when(auctionBidRepository.findByAuctionItemId(AUCTION_ID)).thenReturn(List.of(bids));
+    }
+
+    private void refunded(Long... userIds) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(AUCTION_ID))).thenReturn(List.of(userIds));
+    }
+
+    private static AuctionBid bid(Long userId, int bidPrice) {
+        return AuctionBid.builder().auctionItemId(AUCTION_ID).userId(userId).bidPrice(bidPrice).build();
+    }
+}
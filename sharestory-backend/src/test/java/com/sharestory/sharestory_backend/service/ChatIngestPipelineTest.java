@@ -0,0 +1,167 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.ChatRoom;
+import com.sharestory.sharestory_backend.dto.ChatMessageDto;
+import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChatIngestPipeline 레인 순서
+ * - 방마다 다른 스레드에서 동시에 접수해도 방 안에서는 접수 순서 = 저장 id 순서 = 브로드캐스트 순서
+ * - 여러 메시지가 multi-row INSERT 한 번으로 묶임
+ * - 없는 방의 메시지는 폐기되고 나머지는 그대로 전달
+ */
+class ChatIngestPipelineTest {
+
+    private static final int ROOMS = 8;
+    private static final int MESSAGES_PER_ROOM = 300;
+
+    private ChatLookupCache lookupCache;
+    private JdbcTemplate jdbcTemplate;
+    private SimpMessagingTemplate messagingTemplate;
+    private ChatUnreadCounter unreadCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private ChatIngestPipeline pipeline;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, List<ChatMessageDto>> broadcasts = new ConcurrentHashMap<>();
+    private final Queue<Integer> insertSizes = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+        when(chatRoomRepository.getReferenceById(anyLong())).thenAnswer(inv ->
+                ChatRoom.builder().id(inv.getArgument(0)).build());
+
+        lookupCache = mock(ChatLookupCache.class);
+        when(lookupCache.rooms(anyCollection())).thenAnswer(inv -> {
+            Map<Long, ChatLookupCache.RoomMembers> members = new HashMap<>();
+            for (Object id : (Collection<?>) inv.getArgument(0)) {
+                Long roomId = (Long) id;
+                if (roomId <= ROOMS) members.put(roomId, new ChatLookupCache.RoomMembers(roomId, 100 + roomId, 200 + roomId));
+            }
+            return members;
+        });
+        when(lookupCache.nicknames(anyCollection())).thenReturn(Map.of());
+
+        // multi-row INSERT → 행 수만큼 증가하는 id 발급
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(GeneratedKeyHolder.class))).thenAnswer(inv -> {
+            Connection connection = mock(Connection.class);
+            String[] sql = new String[1];
+            when(connection.prepareStatement(anyString(), anyInt())).thenAnswer(p -> {
+                sql[0] = p.getArgument(0);
+                return mock(PreparedStatement.class);
+            });
+            ((PreparedStatementCreator) inv.getArgument(0)).createPreparedStatement(connection);
+
+            int rows = sql[0].split("\\(\\?, \\?, \\?, \\?, \\?, \\?\\)", -1).length - 1;
+            insertSizes.add(rows);
+            GeneratedKeyHolder keys = inv.getArgument(1);
+            for (int i = 0; i < rows; i++) {
+                keys.getKeyList().add(Map.of("GENERATED_KEY", ids.incrementAndGet()));
+            }
+            return rows;
+        });
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(inv -> {
+            String destination = inv.getArgument(0);
+            if (destination.startsWith("/sub/chat/room/")) {
+                ChatMessageDto payload = inv.getArgument(1);
+                broadcasts.computeIfAbsent(payload.getRoomId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(payload);
+            }
+            return null;
+        }).when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        unreadCounter = mock(ChatUnreadCounter.class);
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new ChatIngestPipeline(chatRoomRepository, lookupCache, jdbcTemplate, transactionManager,
+                messagingTemplate, unreadCounter, mock(FcmService.class), meterRegistry,
+                true, 4, 10_000, 50, 2, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void messagesInSameRoomKeepSubmitOrder() throws Exception {
+        pipeline.start();
+
+        ExecutorService submitters = Executors.newFixedThreadPool(ROOMS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            long room = roomId;
+            futures.add(submitters.submit(() -> {
+                start.await();
+                for (int i = 0; i < MESSAGES_PER_ROOM; i++) {
+                    pipeline.submit(message(room, 100 + room, String.valueOf(i)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        submitters.shutdown();
+        pipeline.stop();
+
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            List<ChatMessageDto> sent = broadcasts.get(roomId);
+            assertThat(sent).as("room %d", roomId).hasSize(MESSAGES_PER_ROOM);
+            for (int i = 0; i < MESSAGES_PER_ROOM; i++) {
+                assertThat(sent.get(i).getContent()).isEqualTo(String.valueOf(i));
+                if (i > 0) assertThat(sent.get(i).getId()).isGreaterThan(sent.get(i - 1).getId());
+            }
+        }
+
+        // 묶음 저장: INSERT 횟수 < 메시지 수, 묶음 크기 ≤ batch-size
+        assertThat(insertSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(ROOMS * MESSAGES_PER_ROOM);
+        assertThat(insertSizes.size()).isLessThan(ROOMS * MESSAGES_PER_ROOM);
+        assertThat(insertSizes).allSatisfy(size -> assertThat(size).isBetween(1, 50));
+    }
+
+    @Test
+    void messageForMissingRoomIsDroppedAndOthersDelivered() {
+        pipeline.submit(message(1L, 101L, "before"));
+        pipeline.submit(message(999L, 1L, "lost"));
+        pipeline.submit(message(1L, 201L, "after"));
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(broadcasts.get(1L)).extracting(ChatMessageDto::getContent).containsExactly("before", "after");
+        assertThat(broadcasts).doesNotContainKey(999L);
+        assertThat(meterRegistry.counter("chat.ingest.failed").count()).isEqualTo(1);
+        // 구매자(101)가 보낸 메시지 → 판매자(201) 안읽은 수, 판매자가 보낸 메시지 → 구매자
+        verify(unreadCounter).increment(201L, 1L, 1);
+        verify(unreadCounter).increment(101L, 1L, 1);
+    }
+
+    private static ChatMessageDto message(Long roomId, Long senderId, String content) {
+        return ChatMessageDto.builder().roomId(roomId).senderId(senderId).content(content).build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.ChatRoom;
+import com.sharestory.sharestory_backend.domain.User;
+import com.sharestory.sharestory_backend.repo.ChatRoomRepository;
+import com.sharestory.sharestory_backend.repo.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChatLookupCache
+ * - 참여자/닉네임은 미스만 DB 조회, 없는 방·닉네임 없는 사용자는 캐시하지 않음
+ * - 무효화는 커밋 후 로컬 반영 + Redis 채널 전파, 다른 인스턴스 메시지로도 무효화
+ */
+class ChatLookupCacheTest {
+
+    private ChatRoomRepository chatRoomRepository;
+    private UserRepository userRepository;
+    private StringRedisTemplate redis;
+    private ChatLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        chatRoomRepository = mock(ChatRoomRepository.class);
+        userRepository = mock(UserRepository.class);
+        redis = mock(StringRedisTemplate.class);
+        cache = new ChatLookupCache(chatRoomRepository, userRepository, redis,
+                mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry(), 100, 100, 600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void roomIsLoadedOnceAndMissingRoomIsNotCached() {
+        when(chatRoomRepository.findById(1L)).thenReturn(Optional.of(room(1L, 10L, 20L)));
+        when(chatRoomRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.room(1L)).contains(new ChatLookupCache.RoomMembers(1L, 10L, 20L));
+        assertThat(cache.room(1L)).isPresent();
+        verify(chatRoomRepository, times(1)).findById(1L);
+
+        assertThat(cache.room(2L)).isEmpty();
+        assertThat(cache.room(2L)).isEmpty();
+        verify(chatRoomRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void roomsFetchesOnlyMisses() {
+        when(chatRoomRepository.findById(1L)).thenReturn(Optional.of(room(1L, 10L, 20L)));
+        cache.room(1L);
+        when(chatRoomRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(room(2L, 11L, 21L), room(3L, 12L, 22L)));
+
+        Map<Long, ChatLookupCache.RoomMembers> members = cache.rooms(List.of(1L, 2L, 3L, 2L));
+
+        assertThat(members).containsOnlyKeys(1L, 2L, 3L);
+        verify(chatRoomRepository).findAllById(List.of(2L, 3L));
+
+        cache.rooms(List.of(1L, 2L, 3L));
+        verify(chatRoomRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void nicknamesFetchMissesInOneQuery() {
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(user(1L, "판매자"), user(2L, null)));
+
+        assertThat(cache.nicknames(List.of(1L, 2L))).containsExactly(Map.entry(1L, "판매자"));
+        assertThat(cache.nickname(1L, "알 수 없음")).isEqualTo("판매자");
+        assertThat(cache.nickname(2L, "알 수 없음")).isEqualTo("알 수 없음");
+
+        // 1번은 캐시, 닉네임 없는 2번만 다시 조회
+        verify(userRepository, times(2)).findAllById(anyList());
+    }
+
+    @Test
+    void evictionWaitsForCommitAndIsBroadcast() {
+        when(chatRoomRepository.findById(1L)).thenReturn(Optional.of(room(1L, 10L, 20L)));
+        cache.room(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictRoom(1L);
+        cache.room(1L);
+        verify(chatRoomRepository, times(1)).findById(1L);
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        verify(redis).convertAndSend("cache:chat:evict", "room:1");
+        cache.room(1L);
+        verify(chatRoomRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictionFromOtherInstanceInvalidatesLocalEntry() {
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(user(1L, "이전")));
+        assertThat(cache.nickname(1L, "-")).isEqualTo("이전");
+
+        when(userRepository.findAllById(anyList())).thenReturn(List.of(user(1L, "변경")));
+        cache.onMessage(new DefaultMessage("cache:chat:evict".getBytes(StandardCharsets.UTF_8),
+                "user:1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.nickname(1L, "-")).isEqualTo("변경");
+    }
+
+    private static ChatRoom room(Long id, Long buyerId, Long sellerId) {
+        return ChatRoom.builder().id(id).buyerId(buyerId).sellerId(sellerId).build();
+    }
+
+    private static User user(Long id, String nickname) {
+        return User.builder().id(id).nickname(nickname).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.dto.ChatMessageDto;
+import com.sharestory.sharestory_backend.dto.SliceResponse;
+import com.sharestory.sharestory_backend.repo.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * ChatService 메시지 조회 권한
+ * - 채팅방 구매자/판매자만 메시지 목록/페이지 조회 가능, 그 외 사용자는 메시지를 읽기 전에 거절
+ */
+class ChatServiceTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final Long BUYER_ID = 10L;
+    private static final Long SELLER_ID = 20L;
+    private static final Long STRANGER_ID = 30L;
+
+    private ChatMessageRepository chatMessageRepository;
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        chatMessageRepository = mock(ChatMessageRepository.class);
+        ChatLookupCache lookupCache = mock(ChatLookupCache.class);
+        when(lookupCache.requireRoom(ROOM_ID)).thenReturn(new ChatLookupCache.RoomMembers(ROOM_ID, BUYER_ID, SELLER_ID));
+
+        chatService = new ChatService(mock(ChatRoomRepository.class), chatMessageRepository,
+                mock(ItemRepository.class), mock(ChatReadMarkRepository.class), mock(FcmService.class),
+                mock(SimpMessagingTemplate.class), mock(AuctionItemRepository.class),
+                mock(ChatUnreadCounter.class), lookupCache);
+    }
+
+    @Test
+    void nonMemberCannotPageRoomHistory() {
+        assertThatThrownBy(() -> chatService.getMessagesBefore(ROOM_ID, STRANGER_ID, null, 30))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> chatService.getMessagesBefore(ROOM_ID, STRANGER_ID, 100L, 30))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> chatService.getMessages(ROOM_ID, STRANGER_ID))
+                .isInstanceOf(SecurityException.class);
+        assertThatThrownBy(() -> chatService.getMessagesBefore(ROOM_ID, null, null, 30))
+                .isInstanceOf(SecurityException.class);
+
+        verifyNoInteractions(chatMessageRepository);
+    }
+
+    @Test
+    void membersCanPageRoomHistory() {
+        when(chatMessageRepository.findLatestSlice(eq(ROOM_ID), any())).thenReturn(new SliceImpl<>(List.of()));
+
+        SliceResponse<ChatMessageDto> buyerPage = chatService.getMessagesBefore(ROOM_ID, BUYER_ID, null, 30);
+        SliceResponse<ChatMessageDto> sellerPage = chatService.getMessagesBefore(ROOM_ID, SELLER_ID, null, 30);
+
+        assertThat(buyerPage.getItems()).isEmpty();
+        assertThat(sellerPage.isHasNext()).isFalse();
+        verify(chatMessageRepository, times(2)).findLatestSlice(eq(ROOM_ID), any());
+    }
+}
@@ -0,0 +1,107 @@
+package com.sharestory.sharestory_backend.service;
+
+import com.sharestory.sharestory_backend.domain.FcmToken;
+import com.sharestory.sharestory_backend.repo.FcmTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * FcmDispatcher → LoggingFcmGateway
+ * - 워커 시작 전에 쌓인 요청은 한 묶음으로 처리 (같은 내용 multicast 1회, 서로 다른 내용 sendEach 1회)
+ * - 무효 토큰은 묶음 끝에 한 번에 삭제
+ */
+class FcmDispatcherTest {
+
+    private static final FcmGateway.Payload CHAT = new FcmGateway.Payload("새 메시지", "안녕하세요", Map.of(), true);
+
+    private LoggingFcmGateway gateway;
+    private FcmTokenRepository tokenRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private FcmDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        gateway = spy(new LoggingFcmGateway());
+        tokenRepo = mock(FcmTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        dispatcher = new FcmDispatcher(gateway, tokenRepo, mock(StringRedisTemplate.class), transactionManager,
+                meterRegistry, 1, 1000, 500, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void queuedJobsAreSentAsOneBatch() {
+        when(tokenRepo.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token(1L, "t1"), token(2L, "t2"), token(3L, "t3a"), token(3L, "t3b")));
+
+        dispatcher.toUser(1L, CHAT, null);
+        dispatcher.toUser(2L, CHAT, null);
+        dispatcher.toUser(3L, CHAT, null);
+        dispatcher.toToken("direct-1", new FcmGateway.Payload("입찰", "상위 입찰 발생", Map.of(), true));
+        dispatcher.toToken("direct-2", new FcmGateway.Payload("낙찰", "경매 종료", Map.of(), true));
+        dispatcher.start();
+
+        ArgumentCaptor<List<String>> multicast = ArgumentCaptor.forClass(List.class);
+        verify(gateway, timeout(2_000)).sendMulticast(eq(CHAT), multicast.capture());
+        assertThat(multicast.getValue()).containsExactlyInAnyOrder("t1", "t2", "t3a", "t3b");
+
+        ArgumentCaptor<List<FcmGateway.Push>> each = ArgumentCaptor.forClass(List.class);
+        verify(gateway, timeout(2_000)).sendEach(each.capture());
+        assertThat(each.getValue()).extracting(FcmGateway.Push::token).containsExactly("direct-1", "direct-2");
+
+        dispatcher.stop();
+        verify(tokenRepo, times(1)).findByUserIdIn(anyCollection());
+        verify(gateway, times(1)).sendMulticast(any(), anyList());
+        verify(gateway, times(1)).sendEach(anyList());
+        assertThat(meterRegistry.summary("fcm.dispatch.batch").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("fcm.dispatch.sent").count()).isEqualTo(6);
+        verify(tokenRepo, never()).deleteByTokenIn(anyCollection());
+    }
+
+    @Test
+    void invalidTokensAreDeletedOnce() {
+        String invalidA = LoggingFcmGateway.INVALID_PREFIX + "a";
+        String invalidB = LoggingFcmGateway.INVALID_PREFIX + "b";
+        when(tokenRepo.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token(1L, "ok-1"), token(1L, invalidA), token(2L, invalidB)));
+        when(tokenRepo.deleteByTokenIn(anyCollection())).thenReturn(2);
+
+        dispatcher.toUser(1L, CHAT, null);
+        dispatcher.toUser(2L, CHAT, null);
+        dispatcher.start();
+
+        ArgumentCaptor<Collection<String>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(tokenRepo, timeout(2_000)).deleteByTokenIn(deleted.capture());
+        assertThat(deleted.getValue()).containsExactlyInAnyOrder(invalidA, invalidB);
+
+        dispatcher.stop();
+        assertThat(meterRegistry.counter("fcm.dispatch.sent").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("fcm.dispatch.failed").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("fcm.dispatch.invalid-token").count()).isEqualTo(2);
+    }
+
+    private static FcmToken token(Long userId, String token) {
+        return FcmToken.builder().userId(userId).token(token).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * RedisHllViewTracker 조회자별 중복 제거 (localhost:6379 Redis 필요, 없으면 건너뜀)
+ * - 창 안에서 같은 조회자의 재조회는 몇 번이든 집계하지 않음
+ * - 직전 창에 본 조회자도 중복, 처음 보는 조회자는 다른 조회자 수와 무관하게 집계
+ */
+class RedisHllViewTrackerTest {
+
+    // 테스트 중 창이 바뀌지 않도록 긴 창 사용
+    private static final long WINDOW_SECONDS = 3600;
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate redis;
+    private RedisHllViewTracker tracker;
+    private Long targetId;
+    private String prefix;
+    private long window;
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory("localhost", 6379);
+        factory.afterPropertiesSet();
+        try {
+            factory.getConnection().ping();
+        } catch (Exception e) {
+            factory.destroy();
+            assumeTrue(false, "Redis(localhost:6379) 없음 → 건너뜀");
+        }
+        redis = new StringRedisTemplate(factory);
+        redis.afterPropertiesSet();
+        tracker = new RedisHllViewTracker(redis, WINDOW_SECONDS);
+        targetId = ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE / 2);
+        prefix = "uv:{test:" + targetId + "}:";
+        window = System.currentTimeMillis() / 1000 / WINDOW_SECONDS;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redis != null) redis.delete(List.of(prefix + window, prefix + (window - 1)));
+        if (factory != null) factory.destroy();
+    }
+
+    @Test
+    void repeatViewInsideWindowIsNotCounted() {
+        assertThat(tracker.firstView("test", targetId, "user:1")).isTrue();
+        for (int i = 0; i < 20; i++) {
+            assertThat(tracker.firstView("test", targetId, "user:1")).isFalse();
+        }
+    }
+
+    @Test
+    void viewerSeenInPreviousWindowIsNotCountedAgain() {
+        redis.opsForHyperLogLog().add(prefix + (window - 1), "user:1");
+
+        assertThat(tracker.firstView("test", targetId, "user:1")).isFalse();
+        assertThat(tracker.firstView("test", targetId, "user:1")).isFalse();
+        assertThat(tracker.firstView("test", targetId, "user:2")).isTrue();
+        assertThat(tracker.firstView("test", targetId, "user:2")).isFalse();
+    }
+
+    @Test
+    void newViewersAreCountedAfterRepeats() {
+        // 조회자 100명 (user:0~99) 은 HLL 레지스터 충돌 없음
+        int counted = 0;
+        for (int viewer = 0; viewer < 100; viewer++) {
+            if (tracker.firstView("test", targetId, "user:" + viewer)) counted++;
+            // 앞서 본 조회자의 재조회가 뒤의 새 조회자 판정에 영향 없음
+            assertThat(tracker.firstView("test", targetId, "user:0")).isFalse();
+        }
+        assertThat(counted).isEqualTo(100);
+    }
+
+    @Test
+    void missingPreviousWindowIsNotCreated() {
+        tracker.firstView("test", targetId, "user:1");
+
+        assertThat(redis.hasKey(prefix + (window - 1))).isFalse();
+        assertThat(redis.getExpire(prefix + window)).isPositive();
+    }
+}
@@ -0,0 +1,107 @@
+package com.sharestory.sharestory_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimingWheel (tick 10ms, 칸 8개, 3 level → level 0: 8 tick, level 1: 64 tick, level 2: 512 tick)
+ * - 상위 level 에 놓인 항목이 cascade 로 내려와 정확히 마감 tick 에 만료
+ * - 최상위 범위를 넘는 항목도 여러 바퀴 뒤 정확히 만료
+ * - 취소된 항목은 반환되지 않고 size 에서 빠짐
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final long START = 1_000_003;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 3, START);
+
+    @Test
+    void levelZeroEntryExpiresOnItsTick() {
+        wheel.schedule("a", START + 5 * TICK);
+
+        assertThat(wheel.advance(START + 4 * TICK)).isEmpty();
+        assertThat(wheel.advance(START + 5 * TICK)).extracting(TimingWheel.Timeout::task).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void upperLevelEntryCascadesDownAndExpiresOnTime() {
+        // 100 tick 뒤 → level 2 에 놓였다가 level 1 → level 0 으로 내려옴
+        long deadline = START + 100 * TICK;
+        wheel.schedule("far", deadline);
+
+        assertThat(wheel.advance(deadline - TICK)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(deadline)).extracting(TimingWheel.Timeout::task).containsExactly("far");
+    }
+
+    @Test
+    void entryDueOnCascadeBoundaryIsNotLate() {
+        // 마감 tick 이 상위 level 칸 경계 (tick % 8 == 0, tick % 64 == 0) 와 겹치는 경우
+        long startTick = START / TICK;
+        long level1Boundary = (startTick / 8 + 3) * 8;
+        long level2Boundary = (startTick / 64 + 2) * 64;
+        wheel.schedule("l1", level1Boundary * TICK);
+        wheel.schedule("l2", level2Boundary * TICK);
+
+        assertThat(wheel.advance(level1Boundary * TICK - 1)).isEmpty();
+        assertThat(wheel.advance(level1Boundary * TICK)).extracting(TimingWheel.Timeout::task).containsExactly("l1");
+        assertThat(wheel.advance(level2Boundary * TICK - 1)).isEmpty();
+        assertThat(wheel.advance(level2Boundary * TICK)).extracting(TimingWheel.Timeout::task).containsExactly("l2");
+    }
+
+    @Test
+    void entryBeyondTopRangeExpiresAfterSeveralRounds() {
+        long deadline = START + 2_000 * TICK;
+        wheel.schedule("beyond", deadline);
+
+        assertThat(wheel.advance(deadline - TICK)).isEmpty();
+        assertThat(wheel.advance(deadline)).extracting(TimingWheel.Timeout::task).containsExactly("beyond");
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        wheel.schedule("late", START - 5 * TICK);
+
+        assertThat(wheel.advance(START + TICK)).extracting(TimingWheel.Timeout::task).containsExactly("late");
+    }
+
+    @Test
+    void cancelledEntriesAreDroppedAndUncounted() {
+        TimingWheel.Timeout<String> near = wheel.schedule("near", START + 3 * TICK);
+        TimingWheel.Timeout<String> far = wheel.schedule("far", START + 300 * TICK);
+        wheel.schedule("kept", START + 300 * TICK);
+        near.cancel();
+        far.cancel();
+        assertThat(wheel.size()).isEqualTo(3);
+
+        assertThat(wheel.advance(START + 300 * TICK)).extracting(TimingWheel.Timeout::task).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomDeadlinesExpireExactlyOnTheirTick() {
+        Random random = new Random(42);
+        Map<String, Long> expectedTick = new HashMap<>();
+        long startTick = START / TICK;
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + random.nextInt(1_500 * (int) TICK);
+            wheel.schedule("t" + i, deadline);
+            expectedTick.put("t" + i, Math.max(deadline / TICK, startTick + 1));
+        }
+
+        Map<String, Long> expiredAt = new HashMap<>();
+        for (long tick = startTick + 1; tick <= startTick + 1_500; tick++) {
+            for (TimingWheel.Timeout<String> t : wheel.advance(tick * TICK)) {
+                expiredAt.put(t.task(), tick);
+            }
+        }
+
+        assertThat(expiredAt).isEqualTo(expectedTick);
+        assertThat(wheel.size()).isZero();
+    }
+}